@@ -0,0 +1,72 @@
+package com.example.projectfxv5.bench;
+
+import com.example.projectfxv5.tools.DatasetGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Generated Access databases for the benchmarks.
+ * Each fixture size is generated once into bench.fixtureDir (default
+ * target/fixtures) by {@link DatasetGenerator} with its default seed, so
+ * every run and every release measures the same data. Benchmarks that
+ * write get their own copy of it.
+ */
+final class BenchmarkFixture {
+
+    private BenchmarkFixture() {
+    }
+
+    /**
+     * Returns the fixture with the given number of sales, generating it on
+     * first use with the default counts of {@link DatasetGenerator}.
+     *
+     * @param sales The number of sales
+     * @return The fixture database; do not write to it
+     * @throws Exception if the fixture cannot be generated
+     */
+    static synchronized Path get(int sales) throws Exception {
+        Path dir = Paths.get(System.getProperty("bench.fixtureDir", "target/fixtures")).toAbsolutePath();
+        Path fixture = dir.resolve("sales-" + sales + ".accdb");
+        if (Files.exists(fixture)) {
+            return fixture;
+        }
+
+        new DatasetGenerator(DatasetGenerator.DEFAULT_SEED, sales).generate(fixture);
+        return fixture;
+    }
+
+    /**
+     * Copies a fixture for a benchmark that writes to it.
+     *
+     * @param sales The number of sales
+     * @return A fresh copy of the fixture; delete it when done
+     * @throws Exception if the fixture cannot be generated or copied
+     */
+    static Path copyOf(int sales) throws Exception {
+        Path copy = Files.createTempFile("bench-sales-" + sales + "-", ".accdb");
+        Files.copy(get(sales), copy, StandardCopyOption.REPLACE_EXISTING);
+        return copy;
+    }
+
+    /**
+     * Points the application's DAOs at a database. Must be called before the
+     * first DAO call in the JVM, as the database path is read once.
+     *
+     * @param database The database to use
+     */
+    static void use(Path database) {
+        System.setProperty("db.path", database.toString());
+    }
+
+    static void delete(Path database) {
+        try {
+            Files.deleteIfExists(database);
+        } catch (IOException e) {
+            System.err.println("Could not delete " + database + ": " + e.getMessage());
+        }
+    }
+}
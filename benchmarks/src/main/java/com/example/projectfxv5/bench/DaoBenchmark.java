@@ -0,0 +1,101 @@
+package com.example.projectfxv5.bench;
+
+import com.example.projectfxv5.DatabaseConfig;
+import com.example.projectfxv5.dao.CarDAO;
+import com.example.projectfxv5.dao.SaleDAO;
+import com.example.projectfxv5.model.Car;
+import com.example.projectfxv5.model.Sale;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-row and whole-table DAO calls against a generated database. Each
+ * fork works on its own copy of the fixture, as addSale writes to it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int sales;
+
+    private Path database;
+    private CarDAO carDAO;
+    private SaleDAO saleDAO;
+    private int cars;
+    private long nextSale;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkFixture.copyOf(sales);
+        BenchmarkFixture.use(database);
+        carDAO = new CarDAO();
+        saleDAO = new SaleDAO();
+        cars = carDAO.countCars();
+        // Seeds the ID counter, so the benchmark measures the steady state
+        saleDAO.generateNextSaleId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConfig.shutdown();
+        BenchmarkFixture.delete(database);
+    }
+
+    @Benchmark
+    public List<Car> getAllCars() throws SQLException {
+        return carDAO.getAll();
+    }
+
+    @Benchmark
+    public Car getCarById() throws SQLException {
+        return carDAO.getById(String.format("CAR%06d", 1 + ThreadLocalRandom.current().nextInt(cars)));
+    }
+
+    @Benchmark
+    public List<Sale> getAllSales() throws SQLException {
+        return saleDAO.getAll();
+    }
+
+    @Benchmark
+    public Sale getSaleById() throws SQLException {
+        return saleDAO.getById(String.format("SALE%06d", 1 + ThreadLocalRandom.current().nextInt(sales)));
+    }
+
+    @Benchmark
+    public Sale addSale() throws SQLException {
+        // IDs outside the fixture's range, so every call inserts a new row
+        Sale sale = new Sale(String.format("B%09d", ++nextSale), "CAR000001", "CUS000001", "EMP001",
+                25000, LocalDate.of(2025, 7, 1));
+        saleDAO.addSale(sale);
+        return sale;
+    }
+
+    @Benchmark
+    public String generateNextSaleId() throws SQLException {
+        return saleDAO.generateNextSaleId();
+    }
+}
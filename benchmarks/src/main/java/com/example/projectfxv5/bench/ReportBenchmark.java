@@ -0,0 +1,131 @@
+package com.example.projectfxv5.bench;
+
+import com.example.projectfxv5.DatabaseConfig;
+import com.example.projectfxv5.dao.CarDAO;
+import com.example.projectfxv5.dao.SaleDAO;
+import com.example.projectfxv5.model.Sale;
+import com.example.projectfxv5.model.SaleView;
+import com.example.projectfxv5.report.PdfReportWriter;
+import com.example.projectfxv5.report.SalesReportExporter;
+import com.example.projectfxv5.service.SalesAggregates;
+import com.example.projectfxv5.service.SalesDateIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Report assembly over the whole sales history: the TXT, CSV and PDF
+ * exports, building the sales totals, and a quarter read from the sales
+ * date index. The fixture is only read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ReportBenchmark {
+
+    private static final SalesReportExporter.Progress NO_PROGRESS = new SalesReportExporter.Progress() {
+        @Override
+        public void rowsWritten(long rowsWritten) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    @Param({"1000", "10000", "100000"})
+    public int sales;
+
+    private Path output;
+    private CarDAO carDAO;
+    private SaleDAO saleDAO;
+    private SalesDateIndex dateIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkFixture.use(BenchmarkFixture.get(sales));
+        carDAO = new CarDAO();
+        saleDAO = new SaleDAO();
+        dateIndex = new SalesDateIndex(saleDAO);
+        dateIndex.seed();
+        output = Files.createTempDirectory("bench-reports");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        DatabaseConfig.shutdown();
+        try (Stream<Path> files = Files.list(output)) {
+            files.forEach(BenchmarkFixture::delete);
+        }
+        BenchmarkFixture.delete(output);
+    }
+
+    @Benchmark
+    public long exportTxt() throws Exception {
+        return export(SalesReportExporter.Format.TXT);
+    }
+
+    @Benchmark
+    public long exportCsv() throws Exception {
+        return export(SalesReportExporter.Format.CSV);
+    }
+
+    @Benchmark
+    public int exportPdf() throws Exception {
+        // Same layout as the report window's PDF download
+        try (PdfReportWriter writer = new PdfReportWriter(output.resolve("report.pdf"), "Sales Report",
+                     new String[] {"ID", "Car", "Customer", "Employee", "Amount", "Date"},
+                     new int[] {8, 18, 15, 15, 11, 10});
+             Stream<SaleView> views = saleDAO.streamSaleViews()) {
+
+            Iterator<SaleView> rows = views.iterator();
+            while (rows.hasNext()) {
+                SaleView sale = rows.next();
+                writer.writeRow(sale.getId(), sale.getCarName(), sale.getCustomerName(), sale.getEmployeeName(),
+                        String.format("%.2f", sale.getAmount()), sale.getDate());
+            }
+            return writer.getPageCount();
+        }
+    }
+
+    @Benchmark
+    public SalesAggregates seedSalesAggregates() throws Exception {
+        SalesAggregates aggregates = new SalesAggregates(carDAO);
+        aggregates.seed();
+        return aggregates;
+    }
+
+    @Benchmark
+    public List<Sale> quarterFromDateIndex() {
+        return dateIndex.getSalesInQuarter(2024, 4);
+    }
+
+    private long export(SalesReportExporter.Format format) throws Exception {
+        try (Stream<SaleView> views = saleDAO.streamSaleViews()) {
+            return new SalesReportExporter(format).export(views, output.resolve("report." + format.getExtension()),
+                    NO_PROGRESS);
+        }
+    }
+}
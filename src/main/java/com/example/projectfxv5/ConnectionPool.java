@@ -0,0 +1,340 @@
+package com.example.projectfxv5;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of long-lived database connections.
+ * Connections handed out by {@link #borrow()} return themselves to the pool
+ * when closed, so callers keep using try-with-resources as before.
+ */
+public class ConnectionPool {
+    private final String url;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final int validationTimeoutSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    // Most recently returned connections sit at the head so the warmest one is reused first
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+    private int openConnections;
+    private boolean closed;
+
+    /**
+     * Creates a new pool. No connection is opened until the first borrow or eviction run.
+     *
+     * @param url The JDBC URL used to open physical connections
+     * @param minSize Number of connections kept open even when idle
+     * @param maxSize Maximum number of connections open at the same time
+     * @param idleTimeoutMillis How long a connection above the minimum may stay idle before it is closed
+     * @param borrowTimeoutMillis How long a caller waits for a free connection before failing
+     * @param validationTimeoutSeconds Timeout passed to {@link Connection#isValid(int)} on borrow
+     */
+    public ConnectionPool(String url, int minSize, int maxSize, long idleTimeoutMillis,
+                          long borrowTimeoutMillis, int validationTimeoutSeconds) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::maintain, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if none is idle and
+     * the pool is below its maximum size. Idle connections are validated before
+     * they are handed out.
+     *
+     * @return A pooled connection; closing it returns it to the pool
+     * @throws SQLException if no connection could be obtained within the borrow timeout
+     */
+    public Connection borrow() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            Connection physical = takeIdleOrReserveSlot(deadline);
+
+            if (physical == null) {
+                // A slot was reserved for a brand new connection
+                try {
+                    physical = DriverManager.getConnection(url);
+                } catch (SQLException e) {
+                    releaseSlot();
+                    throw e;
+                }
+                return wrap(physical);
+            }
+
+            if (isUsable(physical)) {
+                return wrap(physical);
+            }
+            discard(physical);
+        }
+    }
+
+    /**
+     * Closes every idle connection and stops the eviction thread. Connections
+     * that are still borrowed are closed as soon as they are returned.
+     */
+    public void shutdown() {
+        List<Connection> toClose = new ArrayList<>();
+
+        lock.lock();
+        try {
+            closed = true;
+            for (IdleConnection connection : idle) {
+                toClose.add(connection.connection);
+            }
+            openConnections -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        evictor.shutdownNow();
+        toClose.forEach(DatabaseConfig::closeConnection);
+    }
+
+    /**
+     * @return The number of physical connections currently open, borrowed or idle
+     */
+    public int getOpenConnections() {
+        lock.lock();
+        try {
+            return openConnections;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of connections currently waiting in the pool
+     */
+    public int getIdleConnections() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Connection takeIdleOrReserveSlot(long deadline) throws SQLException {
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new SQLException("Connection pool has been shut down");
+                }
+                IdleConnection connection = idle.pollFirst();
+                if (connection != null) {
+                    return connection.connection;
+                }
+                if (openConnections < maxSize) {
+                    openConnections++;
+                    return null;
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new SQLException("Timed out waiting for a database connection (pool size " + maxSize + ")");
+                }
+                try {
+                    available.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection", e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isUsable(Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(Connection physical) {
+        // Undo anything a caller may have left behind before the next borrower sees it
+        try {
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("Discarding pooled connection after failed reset: " + e.getMessage());
+            discard(physical);
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (!closed) {
+                idle.addFirst(new IdleConnection(physical, System.currentTimeMillis()));
+                available.signal();
+                return;
+            }
+            openConnections--;
+        } finally {
+            lock.unlock();
+        }
+        DatabaseConfig.closeConnection(physical);
+    }
+
+    private void discard(Connection physical) {
+        releaseSlot();
+        DatabaseConfig.closeConnection(physical);
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            openConnections--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes connections that have been idle for longer than the idle timeout
+     * while keeping at least {@code minSize} open, then tops the pool back up
+     * to its minimum.
+     */
+    private void maintain() {
+        List<Connection> expired = new ArrayList<>();
+        int missing;
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+            // Oldest idle connections are at the tail
+            Iterator<IdleConnection> it = idle.descendingIterator();
+            while (it.hasNext() && openConnections > minSize) {
+                IdleConnection connection = it.next();
+                if (connection.idleSince > cutoff) {
+                    break;
+                }
+                it.remove();
+                openConnections--;
+                expired.add(connection.connection);
+            }
+            missing = minSize - openConnections;
+            openConnections += Math.max(0, missing);
+        } finally {
+            lock.unlock();
+        }
+
+        expired.forEach(DatabaseConfig::closeConnection);
+
+        for (int i = 0; i < missing; i++) {
+            try {
+                release(DriverManager.getConnection(url));
+            } catch (SQLException e) {
+                System.err.println("Could not open pooled database connection: " + e.getMessage());
+                releaseSlot();
+            }
+        }
+    }
+
+    private Connection wrap(Connection physical) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new PooledConnectionHandler(physical));
+    }
+
+    /**
+     * An idle physical connection and the time it was returned to the pool.
+     */
+    private static class IdleConnection {
+        private final Connection connection;
+        private final long idleSince;
+
+        private IdleConnection(Connection connection, long idleSince) {
+            this.connection = connection;
+            this.idleSince = idleSince;
+        }
+    }
+
+    /**
+     * Forwards calls to the physical connection, turning close() into a return
+     * to the pool and refusing any further use once closed.
+     */
+    private class PooledConnectionHandler implements InvocationHandler {
+        private final Connection physical;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        private PooledConnectionHandler(Connection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(physical);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + physical;
+                default:
+                    if (returned.get()) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
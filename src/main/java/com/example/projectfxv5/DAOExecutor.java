@@ -0,0 +1,110 @@
+package com.example.projectfxv5;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+
+/**
+ * Runs DAO calls off the JavaFX Application Thread.
+ * Work is submitted to a shared executor backed by virtual threads, and
+ * results can be handed back to the UI through {@link Platform#runLater}.
+ */
+public final class DAOExecutor {
+
+    /**
+     * A unit of database work that produces a result.
+     *
+     * @param <T> The type of the result
+     */
+    @FunctionalInterface
+    public interface DatabaseTask<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * A unit of database work with no result, such as an insert or delete.
+     */
+    @FunctionalInterface
+    public interface DatabaseAction {
+        void run() throws Exception;
+    }
+
+    // Blocking JDBC calls park a virtual thread instead of tying up a platform thread
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private DAOExecutor() {
+    }
+
+    /**
+     * Runs a task in the background.
+     *
+     * @param task The database work to run
+     * @param <T> The type of the result
+     * @return A future completed with the task's result or exception
+     */
+    public static <T> CompletableFuture<T> supply(DatabaseTask<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs a task in the background and delivers its outcome on the JavaFX
+     * Application Thread.
+     *
+     * @param task The database work to run
+     * @param onSuccess Called with the result on the FX thread
+     * @param onFailure Called with the failure cause on the FX thread
+     * @param <T> The type of the result
+     */
+    public static <T> void load(DatabaseTask<T> task, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        supply(task).whenComplete((result, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                onFailure.accept(unwrap(error));
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+    }
+
+    /**
+     * Runs an action in the background and reports completion on the JavaFX
+     * Application Thread.
+     *
+     * @param action The database work to run
+     * @param onSuccess Called on the FX thread once the action has finished
+     * @param onFailure Called with the failure cause on the FX thread
+     */
+    public static void execute(DatabaseAction action, Runnable onSuccess, Consumer<Throwable> onFailure) {
+        load(() -> {
+            action.run();
+            return null;
+        }, result -> onSuccess.run(), onFailure);
+    }
+
+    /**
+     * Stops accepting new work. Called once when the application stops.
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdown();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
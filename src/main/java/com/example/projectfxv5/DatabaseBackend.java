@@ -0,0 +1,87 @@
+package com.example.projectfxv5;
+
+/**
+ * The storage engines the DAOs can run on, chosen with db.backend in
+ * config.properties. Both hold the same tables; see DatabaseSchema.
+ */
+public enum DatabaseBackend {
+
+    /**
+     * An Access .accdb file read through UCanAccess. Every connection mirrors
+     * the whole file into memory first and writes are synced back through
+     * Jackcess, so this is the slowest option but the file stays usable in Access.
+     */
+    UCANACCESS("ucanaccess", "net.ucanaccess.jdbc.UcanaccessDriver", "db.path") {
+        @Override
+        public String url(String path) {
+            return "jdbc:ucanaccess://" + path;
+        }
+    },
+
+    /**
+     * A native HSQLDB file database, opened in place without a mirror. The
+     * path is the database name without extension; HSQLDB keeps its
+     * .script, .properties and .data files next to it. Create one from the
+     * Access file with DatabaseMigrator.
+     */
+    HSQLDB("hsqldb", "org.hsqldb.jdbc.JDBCDriver", "db.hsqldb.path") {
+        @Override
+        public String url(String path) {
+            // Fail instead of silently creating an empty database on a wrong path
+            return "jdbc:hsqldb:file:" + path + ";ifexists=true";
+        }
+    };
+
+    private final String configName;
+    private final String driverClass;
+    private final String pathProperty;
+
+    DatabaseBackend(String configName, String driverClass, String pathProperty) {
+        this.configName = configName;
+        this.driverClass = driverClass;
+        this.pathProperty = pathProperty;
+    }
+
+    /**
+     * @param path The database location, as configured under {@link #getPathProperty()}
+     * @return The JDBC URL that opens the existing database at that location
+     */
+    public abstract String url(String path);
+
+    /**
+     * @return The JDBC driver class to load before connecting
+     */
+    public String getDriverClass() {
+        return driverClass;
+    }
+
+    /**
+     * @return The configuration key that holds the database location for this backend
+     */
+    public String getPathProperty() {
+        return pathProperty;
+    }
+
+    /**
+     * @return The value that selects this backend in db.backend
+     */
+    public String getConfigName() {
+        return configName;
+    }
+
+    /**
+     * Looks up a backend by its db.backend value, ignoring case.
+     *
+     * @param name The configured value, e.g. "hsqldb"
+     * @return The matching backend
+     * @throws IllegalArgumentException if no backend has that name
+     */
+    public static DatabaseBackend fromConfigName(String name) {
+        for (DatabaseBackend backend : values()) {
+            if (backend.configName.equalsIgnoreCase(name)) {
+                return backend;
+            }
+        }
+        throw new IllegalArgumentException("Unknown database backend: " + name);
+    }
+}
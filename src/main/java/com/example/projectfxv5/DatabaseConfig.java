@@ -1,52 +1,136 @@
 package com.example.projectfxv5;
 
+import com.example.projectfxv5.dao.DaoMetrics;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
 import java.util.Properties;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * Database configuration and connection management class.
- * Provides centralized database connection handling.
+ * Provides centralized database connection handling backed by a
+ * {@link ConnectionPool}, so each query reuses a warm connection instead of
+ * making UCanAccess mirror the whole database again.
+ * The storage engine is chosen with db.backend; see {@link DatabaseBackend}.
+ * Settings come from config.properties; a JVM system property of the same
+ * name (e.g. -Ddb.path=...) takes precedence, so tools and benchmarks can
+ * point the DAOs at another database without editing the file.
  */
 public class DatabaseConfig {
     private static final String DEFAULT_DB_PATH = "C:/Users/qsami/Desktop/AutomotiveInventory.accdb";
+    private static final String DEFAULT_HSQLDB_PATH = "database/AutomotiveInventory";
     private static final String CONFIG_FILE = "config.properties";
+    // UCanAccess connection options that can be set as db.ucanaccess.<option>
+    private static final List<String> UCANACCESS_OPTIONS = List.of(
+            "memory", "mirrorFolder", "keepMirror", "skipIndexes", "immediatelyReleaseResources");
+    private static final Properties config = new Properties();
+    private static DatabaseBackend backend;
     private static String dbPath;
-    
+    private static ConnectionPool pool;
+
     static {
         // Load configuration from properties file if available
         try (InputStream input = DatabaseConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
             if (input != null) {
-                Properties prop = new Properties();
-                prop.load(input);
-                dbPath = prop.getProperty("db.path", DEFAULT_DB_PATH);
-            } else {
-                dbPath = DEFAULT_DB_PATH;
+                config.load(input);
             }
         } catch (IOException ex) {
             System.err.println("Could not load configuration file. Using default database path.");
-            dbPath = DEFAULT_DB_PATH;
         }
+        String backendName = getProperty("db.backend", DatabaseBackend.UCANACCESS.getConfigName());
+        try {
+            backend = DatabaseBackend.fromConfigName(backendName);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid value for db.backend: " + backendName + ". Using ucanaccess.");
+            backend = DatabaseBackend.UCANACCESS;
+        }
+        dbPath = getDatabasePath(backend);
+    }
+
+    /**
+     * @return The JDBC URL the connection pool opens, including any
+     *         db.ucanaccess.* options when running on UCanAccess
+     */
+    public static String getConnectionUrl() {
+        String url = backend.url(dbPath);
+        if (backend == DatabaseBackend.UCANACCESS) {
+            StringBuilder sb = new StringBuilder(url);
+            for (String option : UCANACCESS_OPTIONS) {
+                String value = getProperty("db.ucanaccess." + option, null);
+                if (value != null) {
+                    sb.append(';').append(option).append('=').append(value);
+                }
+            }
+            url = sb.toString();
+        }
+        return url;
     }
-    
+
     /**
-     * Get a connection to the database.
-     * 
-     * @return A Connection object or null if connection fails
+     * @return The storage engine the DAOs run on
+     */
+    public static DatabaseBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * @param backend A storage engine
+     * @return The configured location of that engine's database
+     */
+    public static String getDatabasePath(DatabaseBackend backend) {
+        return getProperty(backend.getPathProperty(),
+                backend == DatabaseBackend.HSQLDB ? DEFAULT_HSQLDB_PATH : DEFAULT_DB_PATH);
+    }
+
+    /**
+     * Get a connection to the database. The connection comes from the shared
+     * pool; closing it returns it to the pool rather than closing it.
+     *
+     * @return A pooled Connection object
      * @throws SQLException if a database access error occurs
      * @throws ClassNotFoundException if the database driver cannot be loaded
      */
     public static Connection getConnection() throws SQLException, ClassNotFoundException {
-        Class.forName("net.ucanaccess.jdbc.UcanaccessDriver");
-        return DriverManager.getConnection("jdbc:ucanaccess://" + dbPath);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Connection connection = getPool().borrow();
+            failed = false;
+            return connection;
+        } finally {
+            DaoMetrics.recordConnectionAcquire(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Closes all pooled connections. Called once when the application stops.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            if (backend == DatabaseBackend.HSQLDB) {
+                // Checkpoints the database so the next start need not replay the change log
+                try (Connection conn = pool.borrow();
+                     Statement stmt = conn.createStatement()) {
+                    stmt.execute("SHUTDOWN");
+                } catch (SQLException e) {
+                    System.err.println("Error shutting down the database: " + e.getMessage());
+                }
+            }
+            pool.shutdown();
+            pool = null;
+        }
     }
-    
+
     /**
      * Safely close a database connection.
-     * 
+     *
      * @param connection The connection to close
      */
     public static void closeConnection(Connection connection) {
@@ -58,4 +142,75 @@ public class DatabaseConfig {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads a setting from the system properties or, failing that, from the
+     * configuration file.
+     *
+     * @param key The property name
+     * @param defaultValue The value to use when the property is missing
+     * @return The configured value or the default
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = config.getProperty(key);
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Reads an integer setting from the system properties or, failing that,
+     * from the configuration file.
+     *
+     * @param key The property name
+     * @param defaultValue The value to use when the property is missing or invalid
+     * @return The configured value or the default
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value + ". Using " + defaultValue + ".");
+            return defaultValue;
+        }
+    }
+
+    private static synchronized ConnectionPool getPool() throws ClassNotFoundException {
+        if (pool == null) {
+            Class.forName(backend.getDriverClass());
+            if (backend == DatabaseBackend.UCANACCESS) {
+                createMirrorFolders();
+            }
+            pool = new ConnectionPool(
+                    getConnectionUrl(),
+                    getIntProperty("db.pool.minSize", 1),
+                    getIntProperty("db.pool.maxSize", 4),
+                    getIntProperty("db.pool.idleTimeoutSeconds", 300) * 1000L,
+                    getIntProperty("db.pool.borrowTimeoutSeconds", 30) * 1000L,
+                    getIntProperty("db.pool.validationTimeoutSeconds", 2));
+        }
+        return pool;
+    }
+
+    // UCanAccess fails to connect when the folder for a file-based mirror is missing
+    private static void createMirrorFolders() {
+        String mirrorFolder = getProperty("db.ucanaccess.mirrorFolder", null);
+        String keepMirror = getProperty("db.ucanaccess.keepMirror", null);
+        try {
+            if (mirrorFolder != null) {
+                Files.createDirectories(Paths.get(mirrorFolder));
+            }
+            Path keepMirrorFolder = keepMirror != null ? Paths.get(keepMirror).toAbsolutePath().getParent() : null;
+            if (keepMirrorFolder != null) {
+                Files.createDirectories(keepMirrorFolder);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not create the UCanAccess mirror folder: " + e.getMessage());
+        }
+    }
+}
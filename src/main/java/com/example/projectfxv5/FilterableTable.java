@@ -0,0 +1,144 @@
+package com.example.projectfxv5;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+
+/**
+ * Backs a TableView with an in-memory list that can be sorted by clicking a
+ * column header and narrowed down with one filter field per column.
+ * Rows are replaced in one {@link #setAll} call, so loading thousands of rows
+ * triggers a single change notification, and the table only creates cells
+ * for the rows on screen.
+ *
+ * @param <T> The row type
+ */
+public class FilterableTable<T> {
+
+    /**
+     * A filter field and the text of the column it filters.
+     */
+    private final class ColumnFilter {
+        final TextField field;
+        final Function<T, String> text;
+
+        ColumnFilter(TextField field, Function<T, String> text) {
+            this.field = field;
+            this.text = text;
+        }
+    }
+
+    private final TableView<T> table;
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private final FilteredList<T> filtered = new FilteredList<>(items);
+    private final List<ColumnFilter> filters = new ArrayList<>();
+    private final HBox filterBar = new HBox(10);
+    private Predicate<? super T> filter;
+
+    /**
+     * Binds the table to the filtered, sorted view of the rows.
+     *
+     * @param table The table to fill
+     */
+    public FilterableTable(TableView<T> table) {
+        this.table = table;
+        SortedList<T> sorted = new SortedList<>(filtered);
+        sorted.comparatorProperty().bind(table.comparatorProperty());
+        table.setItems(sorted);
+    }
+
+    /**
+     * Adds a filter field for a column. A row is shown if the column's text
+     * contains what was typed, ignoring case.
+     *
+     * @param column The column to filter
+     * @param text Returns the text of the column for a row
+     * @return This table, for chaining
+     */
+    public FilterableTable<T> filterable(TableColumn<T, ?> column, Function<T, String> text) {
+        TextField field = new TextField();
+        field.setPromptText("Filter " + column.getText());
+        field.textProperty().addListener((obs, oldText, newText) -> applyFilters());
+        HBox.setHgrow(field, Priority.ALWAYS);
+
+        filters.add(new ColumnFilter(field, text));
+        filterBar.getChildren().add(field);
+        return this;
+    }
+
+    /**
+     * @return The table the rows are shown in
+     */
+    public TableView<T> getTable() {
+        return table;
+    }
+
+    /**
+     * @return The row of filter fields, to be placed above the table
+     */
+    public HBox getFilterBar() {
+        return filterBar;
+    }
+
+    /**
+     * Sets a filter applied on top of the column filters, e.g. one computed
+     * by a search index.
+     *
+     * @param filter Accepts the rows to show, or null to show every row the column filters accept
+     */
+    public void setFilter(Predicate<? super T> filter) {
+        this.filter = filter;
+        applyFilters();
+    }
+
+    /**
+     * Replaces all rows. The current filters and sort order stay in effect.
+     *
+     * @param rows The new rows
+     */
+    public void setAll(Collection<? extends T> rows) {
+        items.setAll(rows);
+    }
+
+    private void applyFilters() {
+        List<Predicate<? super T>> active = new ArrayList<>();
+        if (filter != null) {
+            active.add(filter);
+        }
+        for (ColumnFilter filter : filters) {
+            String typed = filter.field.getText().trim().toLowerCase(Locale.ROOT);
+            if (!typed.isEmpty()) {
+                active.add(row -> {
+                    String value = filter.text.apply(row);
+                    return value != null && value.toLowerCase(Locale.ROOT).contains(typed);
+                });
+            }
+        }
+
+        if (active.isEmpty()) {
+            filtered.setPredicate(null);
+        } else {
+            filtered.setPredicate(row -> {
+                for (Predicate<? super T> predicate : active) {
+                    if (!predicate.test(row)) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+        }
+    }
+}
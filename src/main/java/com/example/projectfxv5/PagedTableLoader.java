@@ -0,0 +1,167 @@
+package com.example.projectfxv5;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.example.projectfxv5.dao.Page;
+import com.example.projectfxv5.dao.Sort;
+
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+
+/**
+ * Fills a TableView one page at a time.
+ * The first page is fetched straight away and the next one as soon as a row
+ * near the end of the loaded items is shown, so large tables open quickly and
+ * only the part the user has scrolled through is held in memory. Clicking a
+ * sortable column header re-queries the database in that order instead of
+ * sorting the loaded rows.
+ *
+ * @param <T> The row type
+ */
+public final class PagedTableLoader<T> {
+
+    /**
+     * Fetches one page from the database.
+     *
+     * @param <T> The row type
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        Page<T> fetch(Page.Key after, int limit, Sort sort) throws Exception;
+    }
+
+    // Start fetching the next page when a row this close to the end is shown
+    private static final int PREFETCH_ROWS = 20;
+
+    private final TableView<T> table;
+    private final int pageSize;
+    private PageFetcher<T> fetcher;
+    private final String emptyText;
+    private final Consumer<Throwable> onFailure;
+    private final Map<TableColumn<T, ?>, String> sortColumns = new HashMap<>();
+
+    private Sort sort = Sort.byId();
+    private Page.Key nextKey;
+    private boolean loading;
+    private boolean finished;
+    // Bumped on reload so pages of an earlier query are dropped when they arrive
+    private int generation;
+
+    /**
+     * Creates a loader. Call {@link #reload()} to fetch the first page.
+     *
+     * @param table The table to fill
+     * @param pageSize The number of rows fetched per page
+     * @param fetcher Fetches one page
+     * @param emptyText Placeholder shown when there are no rows
+     * @param onFailure Called on the FX thread if a page cannot be fetched
+     */
+    public PagedTableLoader(TableView<T> table, int pageSize, PageFetcher<T> fetcher,
+                            String emptyText, Consumer<Throwable> onFailure) {
+        this.table = table;
+        this.pageSize = pageSize;
+        this.fetcher = fetcher;
+        this.emptyText = emptyText;
+        this.onFailure = onFailure;
+
+        table.setRowFactory(tv -> new TableRow<>() {
+            @Override
+            public void updateIndex(int index) {
+                super.updateIndex(index);
+                if (index >= 0 && index >= table.getItems().size() - PREFETCH_ROWS) {
+                    loadNextPage();
+                }
+            }
+        });
+
+        table.setSortPolicy(tv -> {
+            Sort requested = Sort.byId();
+            if (!table.getSortOrder().isEmpty()) {
+                TableColumn<T, ?> column = table.getSortOrder().get(0);
+                requested = Sort.by(sortColumns.get(column));
+                if (column.getSortType() == TableColumn.SortType.DESCENDING) {
+                    requested = requested.descending();
+                }
+            }
+            if (!requested.equals(sort)) {
+                sort = requested;
+                reload();
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Lets a column header sort the table by a DAO sort column. Columns that
+     * are not registered cannot be sorted.
+     *
+     * @param column The table column
+     * @param property The sort column name accepted by the DAO's getPage
+     * @return This loader
+     */
+    public PagedTableLoader<T> sortable(TableColumn<T, ?> column, String property) {
+        sortColumns.put(column, property);
+        return this;
+    }
+
+    /**
+     * Switches the table to another query, e.g. the same rows narrowed to a
+     * period, and fetches its first page.
+     *
+     * @param fetcher Fetches one page of the new query
+     */
+    public void reload(PageFetcher<T> fetcher) {
+        this.fetcher = fetcher;
+        reload();
+    }
+
+    /**
+     * Clears the table and fetches the first page again.
+     */
+    public void reload() {
+        for (TableColumn<T, ?> column : table.getColumns()) {
+            column.setSortable(sortColumns.containsKey(column));
+        }
+
+        generation++;
+        table.getItems().clear();
+        nextKey = null;
+        finished = false;
+        loading = false;
+        table.setPlaceholder(new Label("Loading..."));
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (loading || finished) {
+            return;
+        }
+        loading = true;
+
+        int requested = generation;
+        Page.Key after = nextKey;
+        Sort order = sort;
+        PageFetcher<T> query = fetcher;
+        DAOExecutor.load(() -> query.fetch(after, pageSize, order), page -> {
+            if (requested != generation) {
+                return;
+            }
+            loading = false;
+            nextKey = page.getNextKey();
+            finished = !page.hasMore();
+            table.setPlaceholder(new Label(emptyText));
+            table.getItems().addAll(page.getItems());
+        }, e -> {
+            if (requested != generation) {
+                return;
+            }
+            loading = false;
+            finished = true;
+            onFailure.accept(e);
+        });
+    }
+}
@@ -1,23 +1,49 @@
 package com.example.projectfxv5;
 
 import java.io.InputStream;
-import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import com.example.projectfxv5.dao.CachingDAO;
+import com.example.projectfxv5.dao.DaoMetrics;
 import com.example.projectfxv5.dao.CarDAO;
 import com.example.projectfxv5.dao.CustomerDAO;
 import com.example.projectfxv5.dao.EmployeeDAO;
+import com.example.projectfxv5.dao.Page;
 import com.example.projectfxv5.dao.SaleDAO;
+import com.example.projectfxv5.dao.Sort;
+import com.example.projectfxv5.dao.TimedCarDAO;
+import com.example.projectfxv5.dao.TimedDAO;
+import com.example.projectfxv5.dao.TimedSaleDAO;
 import com.example.projectfxv5.dao.UserDAO;
+import com.example.projectfxv5.importer.CsvImporter;
 import com.example.projectfxv5.model.Car;
 import com.example.projectfxv5.model.Customer;
 import com.example.projectfxv5.model.Employee;
+import com.example.projectfxv5.model.EmployeeCommission;
 import com.example.projectfxv5.model.Sale;
+import com.example.projectfxv5.model.SaleView;
 import com.example.projectfxv5.model.User;
+import com.example.projectfxv5.report.PdfReportWriter;
+import com.example.projectfxv5.report.SalesReportExporter;
+import com.example.projectfxv5.service.CarFilter;
+import com.example.projectfxv5.service.CommissionService;
+import com.example.projectfxv5.service.CustomerSearchIndex;
+import com.example.projectfxv5.service.DashboardMetrics;
+import com.example.projectfxv5.service.InventoryFilterIndex;
+import com.example.projectfxv5.service.MetricsSnapshot;
+import com.example.projectfxv5.service.SalesAggregates;
+import com.example.projectfxv5.service.SalesDateIndex;
+import com.example.projectfxv5.service.Totals;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -60,6 +86,41 @@ public class Projectv5 extends Application {
     private final CustomerDAO customerDAO = new CustomerDAO();
     private final SaleDAO saleDAO = new SaleDAO();
     private final UserDAO userDAO = new UserDAO();
+    private final CommissionService commissionService = new CommissionService();
+
+    // The entity DAOs as seen by the caches, indexes and screens; every call,
+    // including the car and sale queries beyond the DAO interface, is timed
+    // and shows up in DaoMetrics
+    private final TimedCarDAO timedCars = new TimedCarDAO(carDAO);
+    private final TimedDAO<Customer, String> timedCustomers = new TimedDAO<>(customerDAO, "Customer");
+    private final TimedDAO<Employee, String> timedEmployees = new TimedDAO<>(employeeDAO, "Employee");
+    private final TimedSaleDAO timedSales = new TimedSaleDAO(saleDAO);
+
+    // Size-bounded caches in front of the entity DAOs. Lookups and writes go
+    // through them so repeat lookups skip the database and cached rows stay current.
+    private final int cacheSize = DatabaseConfig.getIntProperty("cache.maxEntries", 1000);
+    private final CachingDAO<Car, String> carCache = new CachingDAO<>(timedCars, Car::getId, cacheSize);
+    private final CachingDAO<Customer, String> customerCache = new CachingDAO<>(timedCustomers, Customer::getId, cacheSize);
+    private final CachingDAO<Employee, String> employeeCache = new CachingDAO<>(timedEmployees, Employee::getId, cacheSize);
+
+    // Running sales totals per employee, day and model
+    private final SalesAggregates salesAggregates = new SalesAggregates(carCache);
+
+    // Sales in date order for month and quarter reports
+    private final SalesDateIndex salesDateIndex = new SalesDateIndex(timedSales);
+
+    // Customer lookup by name, phone or email while a buyer waits at the desk
+    private final CustomerSearchIndex customerSearch = new CustomerSearchIndex(timedCustomers);
+
+    // Stock filters by price, mileage, weight, color, type and model
+    private final InventoryFilterIndex inventoryIndex = new InventoryFilterIndex(timedCars);
+
+    // Dashboard figures, recomputed in the background on a schedule
+    private final DashboardMetrics dashboardMetrics = new DashboardMetrics(timedCars, employeeCache, salesAggregates,
+            DatabaseConfig.getIntProperty("dashboard.refresh.seconds", 60));
+
+    // Rows fetched per page by the paginated sales report table
+    private final int pageSize = DatabaseConfig.getIntProperty("ui.pageSize", 100);
 
     /**
      * Helper method to load images from resources. Handles resource loading and
@@ -91,9 +152,46 @@ public class Projectv5 extends Application {
      */
     @Override
     public void start(Stage primaryStage) {
+        // Build the sales totals while the user logs in; SaleDAO keeps them current afterwards
+        saleDAO.addListener(salesAggregates);
+        DAOExecutor.execute(salesAggregates::seed, () -> { }, e -> {
+            System.err.println("Failed to load sales totals: " + e.getMessage());
+            e.printStackTrace();
+        });
+        saleDAO.addListener(salesDateIndex);
+        DAOExecutor.execute(salesDateIndex::seed, () -> { }, e -> {
+            System.err.println("Failed to build the sales date index: " + e.getMessage());
+            e.printStackTrace();
+        });
+        customerDAO.addListener(customerSearch);
+        DAOExecutor.execute(customerSearch::seed, () -> { }, e -> {
+            System.err.println("Failed to build the customer search index: " + e.getMessage());
+            e.printStackTrace();
+        });
+        carDAO.addListener(inventoryIndex);
+        DAOExecutor.execute(inventoryIndex::seed, () -> { }, e -> {
+            System.err.println("Failed to build the inventory filter index: " + e.getMessage());
+            e.printStackTrace();
+        });
+        dashboardMetrics.start();
+        DaoMetrics.registerMBean();
+        DaoMetrics.startReporting(DatabaseConfig.getIntProperty("metrics.log.seconds", 300));
+
         showLoginWindow(primaryStage);
     }
 
+    /**
+     * JavaFX application exit point. Releases the pooled database
+     * connections before the JVM shuts down.
+     */
+    @Override
+    public void stop() {
+        dashboardMetrics.stop();
+        DaoMetrics.stopReporting();
+        DAOExecutor.shutdown();
+        DatabaseConfig.shutdown();
+    }
+
     /**
      * Displays the login window. This is the first screen users see before
      * accessing the main dashboard.
@@ -229,8 +327,10 @@ public class Projectv5 extends Application {
                 return;
             }
 
-            try {
-                User user = userDAO.getUserByUsername(username);
+            // Look the user up in the background so the window stays responsive
+            loginButton.setDisable(true);
+            DAOExecutor.load(() -> userDAO.getUserByUsername(username), user -> {
+                loginButton.setDisable(false);
                 if (user == null || !user.getPassword().equals(password)) {
                     errorLabel.setText("Invalid username or password");
                     errorLabel.setVisible(true);
@@ -243,10 +343,11 @@ public class Projectv5 extends Application {
                     fadeOut.setOnFinished(event -> showMainDashboard(primaryStage));
                     fadeOut.play();
                 }
-            } catch (Exception ex) {
+            }, ex -> {
+                loginButton.setDisable(false);
                 errorLabel.setText("Database error: " + ex.getMessage());
                 errorLabel.setVisible(true);
-            }
+            });
         });
 
         // Add keyboard event handler for Enter key
@@ -310,23 +411,31 @@ public class Projectv5 extends Application {
                     return;
                 }
 
-                try {
+                regSubmit.setDisable(true);
+                DAOExecutor.load(() -> {
                     // Check if user already exists
                     if (userDAO.getUserByUsername(username) != null) {
+                        return false;
+                    }
+                    // Add user to DB
+                    userDAO.addUser(username, password);
+                    return true;
+                }, registered -> {
+                    regSubmit.setDisable(false);
+                    if (!registered) {
                         regError.setText("Username already exists.");
                         regError.setVisible(true);
                         return;
                     }
-                    // Add user to DB
-                    userDAO.addUser(username, password);
                     Alert alert = new Alert(Alert.AlertType.INFORMATION, "Registration successful! You can now log in.");
                     alert.showAndWait();
                     // Restore login form
                     mainLayout.setCenter(loginForm);
-                } catch (Exception ex) {
+                }, ex -> {
+                    regSubmit.setDisable(false);
                     regError.setText("Registration failed: " + ex.getMessage());
                     regError.setVisible(true);
-                }
+                });
             });
 
             regCancel.setOnAction(ev -> {
@@ -398,7 +507,7 @@ public class Projectv5 extends Application {
         Label subtitle = new Label("Japanese automotive excellence since 2017");
         subtitle.getStyleClass().add("dashboard-subtitle");
 
-        header.getChildren().addAll(title, subtitle);
+        header.getChildren().addAll(title, subtitle, createKpiTiles());
         mainLayout.setTop(header);
 
         // Menu buttons in a grid
@@ -450,6 +559,86 @@ public class Projectv5 extends Application {
         primaryStage.show();
     }
 
+    /**
+     * Creates the row of KPI tiles shown on the dashboard. The tiles show the
+     * last snapshot computed by the background refresher and follow every new
+     * one while they are on screen, so the dashboard never waits on the database.
+     *
+     * @return The tile row
+     */
+    private HBox createKpiTiles() {
+        Label stockValue = new Label();
+        Label stockDetail = new Label();
+        Label unsoldValue = new Label();
+        Label unsoldDetail = new Label();
+        Label todayValue = new Label();
+        Label todayDetail = new Label();
+        Label monthValue = new Label();
+        Label monthDetail = new Label();
+        Label topSellerValue = new Label();
+        Label topSellerDetail = new Label();
+
+        HBox tiles = new HBox(10,
+                createKpiTile("Cars in Stock", stockValue, stockDetail),
+                createKpiTile("Unsold Stock Value", unsoldValue, unsoldDetail),
+                createKpiTile("Sales Today", todayValue, todayDetail),
+                createKpiTile("Sales This Month", monthValue, monthDetail),
+                createKpiTile("Top Seller", topSellerValue, topSellerDetail));
+        tiles.setAlignment(Pos.CENTER);
+
+        Consumer<MetricsSnapshot> show = snapshot -> {
+            if (snapshot == null) {
+                for (Label value : List.of(stockValue, unsoldValue, todayValue, monthValue, topSellerValue)) {
+                    value.setText("—");
+                }
+                stockDetail.setText("Loading...");
+                return;
+            }
+
+            stockValue.setText(String.valueOf(snapshot.getStockCount()));
+            stockDetail.setText(snapshot.getUnsoldCount() + " unsold");
+            unsoldValue.setText(String.format("Rs.%,.2f", snapshot.getUnsoldValue()));
+            unsoldDetail.setText("As of " + snapshot.getComputedAt().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
+            showSalesTotals(todayValue, todayDetail, snapshot.getSalesToday());
+            showSalesTotals(monthValue, monthDetail, snapshot.getSalesThisMonth());
+
+            if (snapshot.getTopSellerName() != null) {
+                topSellerValue.setText(snapshot.getTopSellerName());
+                topSellerDetail.setText(String.format("Rs.%,.2f", snapshot.getTopSellerTotals().getSum()));
+            } else {
+                topSellerValue.setText("—");
+                topSellerDetail.setText("");
+            }
+        };
+
+        show.accept(dashboardMetrics.getLatest());
+        // Only the tiles on screen are updated; opening the dashboard again replaces them
+        dashboardMetrics.setListener(snapshot -> Platform.runLater(() -> show.accept(snapshot)));
+        return tiles;
+    }
+
+    private VBox createKpiTile(String title, Label value, Label detail) {
+        Label titleLabel = new Label(title);
+        titleLabel.getStyleClass().add("kpi-title");
+        value.getStyleClass().add("kpi-value");
+        detail.getStyleClass().add("kpi-detail");
+
+        VBox tile = new VBox(titleLabel, value, detail);
+        tile.getStyleClass().add("kpi-tile");
+        tile.setPrefWidth(150);
+        return tile;
+    }
+
+    private void showSalesTotals(Label value, Label detail, Totals totals) {
+        if (totals == null) {
+            value.setText("—");
+            detail.setText("Loading...");
+        } else {
+            value.setText(String.format("Rs.%,.2f", totals.getSum()));
+            detail.setText(totals.getCount() + (totals.getCount() == 1 ? " sale" : " sales"));
+        }
+    }
+
     /**
      * Creates a styled dashboard button with an icon and text.
      *
@@ -550,10 +739,13 @@ public class Projectv5 extends Application {
         Button sellCar = new Button("Sell Car");
         sellCar.getStyleClass().add("action-button");
 
+        Button importCars = new Button("Import CSV");
+        importCars.getStyleClass().add("action-button");
+
         Button showAllCars = new Button("Show All Cars");
         showAllCars.getStyleClass().add("success-button");
 
-        actionButtons.getChildren().addAll(addCar, deleteCar, sellCar, showAllCars);
+        actionButtons.getChildren().addAll(addCar, deleteCar, sellCar, importCars, showAllCars);
 
         // Text area for displaying cars
         TextArea stockArea = new TextArea();
@@ -585,44 +777,26 @@ public class Projectv5 extends Application {
             // Create form fields
             TextField saleIdField = new TextField();
             saleIdField.setEditable(false); // Make the field non-editable as it will be auto-generated
+            saleIdField.setPromptText("Generating...");
 
-            // Auto-generate the sale ID
-            try {
-                String nextSaleId = saleDAO.generateNextSaleId();
-                saleIdField.setText(nextSaleId);
-            } catch (SQLException ex) {
+            // Auto-generate the sale ID in the background
+            DAOExecutor.load(saleDAO::generateNextSaleId, saleIdField::setText, ex -> {
                 System.err.println("Error generating sale ID: " + ex.getMessage());
                 ex.printStackTrace();
-            }
+            });
 
             ComboBox<String> carComboBox = new ComboBox<>();
             ComboBox<String> customerComboBox = new ComboBox<>();
             ComboBox<String> employeeComboBox = new ComboBox<>();
             TextField amountField = new TextField();
 
-            // Get lists of cars, customers, and employees for validation and dropdowns
-            try {
-                List<Car> availableCars = carDAO.getAllCars();
-                for (Car car : availableCars) {
-                    carComboBox.getItems().add(car.getId() + " - " + car.getModel() + " " + car.getVariant());
-                }
-
-                List<Customer> customers = customerDAO.getAllCustomers();
-                for (Customer customer : customers) {
-                    customerComboBox.getItems().add(customer.getId() + " - " + customer.getName());
-                }
-
-                List<Employee> employees = employeeDAO.getAllEmployees();
-                for (Employee employee : employees) {
-                    employeeComboBox.getItems().add(employee.getId() + " - " + employee.getName());
-                }
-            } catch (SQLException ex) {
-                Alert alert = new Alert(Alert.AlertType.ERROR);
-                alert.setTitle("Database Error");
-                alert.setHeaderText("Error Loading Data");
-                alert.setContentText("Could not load data from database: " + ex.getMessage());
-                alert.showAndWait();
-            }
+            // Load unsold cars, customers, and employees for the dropdowns in the background
+            loadComboBox(carComboBox, timedCars::getUnsoldCars,
+                    car -> car.getId() + " - " + car.getModel() + " " + car.getVariant());
+            loadComboBox(customerComboBox, customerCache::getAll,
+                    customer -> customer.getId() + " - " + customer.getName());
+            loadComboBox(employeeComboBox, employeeCache::getAll,
+                    employee -> employee.getId() + " - " + employee.getName());
 
             // Add form fields to the grid
             form.addRow(0, new Label("Sale ID:"), saleIdField);
@@ -634,45 +808,62 @@ public class Projectv5 extends Application {
             Button saveBtn = new Button("Complete Sale");
 
             saveBtn.setOnAction(ev -> {
-                try {
-                    // Validate form fields
-                    if (carComboBox.getValue() == null
-                            || customerComboBox.getValue() == null
-                            || employeeComboBox.getValue() == null
-                            || amountField.getText().isEmpty()) {
+                // Validate form fields
+                if (carComboBox.getValue() == null
+                        || customerComboBox.getValue() == null
+                        || employeeComboBox.getValue() == null
+                        || amountField.getText().isEmpty()
+                        || saleIdField.getText().isEmpty()) {
 
-                        Alert alert = new Alert(Alert.AlertType.ERROR);
-                        alert.setTitle("Validation Error");
-                        alert.setHeaderText("Missing Information");
-                        alert.setContentText("Please fill in all fields to complete the sale.");
-                        alert.showAndWait();
-                        return;
-                    }
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Validation Error");
+                    alert.setHeaderText("Missing Information");
+                    alert.setContentText("Please fill in all fields to complete the sale.");
+                    alert.showAndWait();
+                    return;
+                }
 
-                    // Extract IDs from the selected values
-                    String carId = carComboBox.getValue().split(" - ")[0];
-                    String customerId = customerComboBox.getValue().split(" - ")[0];
-                    String employeeId = employeeComboBox.getValue().split(" - ")[0];
+                // Extract IDs from the selected values
+                String carId = carComboBox.getValue().split(" - ")[0];
+                String customerId = customerComboBox.getValue().split(" - ")[0];
+                String employeeId = employeeComboBox.getValue().split(" - ")[0];
 
-                    // Get current date
-                    LocalDate currentDate = LocalDate.now();
-                    String formattedDate = currentDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
+                // Get current date
+                LocalDate currentDate = LocalDate.now();
 
-                    // Create a new Sale object from form data
-                    Sale sale = new Sale(
+                // Create a new Sale object from form data
+                Sale sale;
+                try {
+                    sale = new Sale(
                             saleIdField.getText(),
                             carId,
                             customerId,
                             employeeId,
                             Double.parseDouble(amountField.getText()),
-                            formattedDate
+                            currentDate
                     );
+                } catch (NumberFormatException ex) {
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Error");
+                    alert.setHeaderText("Sale Error");
+                    alert.setContentText("Error completing sale: " + ex.getMessage());
+                    alert.showAndWait();
+                    return;
+                }
 
-                    // Save the sale to the database
-                    try {
-                        saleDAO.addSale(sale);
-                    } catch (SQLException ex) {
-                        throw new RuntimeException("Database error while saving sale: " + ex.getMessage(), ex);
+                // Save the sale to the database in the background, unless the car
+                // was sold from another window since the list was loaded
+                saveBtn.setDisable(true);
+                DAOExecutor.load(() -> timedSales.addSaleIfUnsold(sale), saved -> {
+                    saveBtn.setDisable(false);
+                    if (!saved) {
+                        Alert alert = new Alert(Alert.AlertType.ERROR);
+                        alert.setTitle("Validation Error");
+                        alert.setHeaderText("Car Already Sold");
+                        alert.setContentText("Vehicle " + carComboBox.getValue() + " has already been sold.");
+                        alert.showAndWait();
+                        carComboBox.getItems().remove(carComboBox.getValue());
+                        return;
                     }
 
                     // Show success message
@@ -688,14 +879,14 @@ public class Projectv5 extends Application {
 
                     // Refresh the car list to reflect the changes
                     showAllCars.fire();
-
-                } catch (Exception ex) {
+                }, ex -> {
+                    saveBtn.setDisable(false);
                     Alert alert = new Alert(Alert.AlertType.ERROR);
                     alert.setTitle("Error");
                     alert.setHeaderText("Sale Error");
-                    alert.setContentText("Error completing sale: " + ex.getMessage());
+                    alert.setContentText("Error completing sale: Database error while saving sale: " + ex.getMessage());
                     alert.showAndWait();
-                }
+                });
             });
 
             HBox buttonBox = new HBox(10);
@@ -750,9 +941,10 @@ public class Projectv5 extends Application {
             Button saveBtn = new Button("Save");
 
             saveBtn.setOnAction(ev -> {
+                Car car;
                 try {
                     // Create a new Car object from form data
-                    Car car = new Car(
+                    car = new Car(
                             idField.getText(),
                             modelField.getText(),
                             variantField.getText(),
@@ -764,19 +956,21 @@ public class Projectv5 extends Application {
                             numberPlateField.getText(),
                             chassisField.getText()
                     );
-
-                    // Use the DAO to add the car to the database
-                    carDAO.add(car);
-                    addStage.close();
                 } catch (NumberFormatException ex) {
                     Alert alert = new Alert(Alert.AlertType.ERROR,
                             "Please enter valid numeric values for Price, Mileage, and Weight.");
                     alert.showAndWait();
-                } catch (Exception ex) {
+                    return;
+                }
+
+                // Use the DAO to add the car to the database in the background
+                saveBtn.setDisable(true);
+                DAOExecutor.execute(() -> carCache.add(car), addStage::close, ex -> {
+                    saveBtn.setDisable(false);
                     ex.printStackTrace();
                     Alert alert = new Alert(Alert.AlertType.ERROR, "Error saving car: " + ex.getMessage());
                     alert.showAndWait();
-                }
+                });
             });
 
             // Apply CSS to form
@@ -802,13 +996,14 @@ public class Projectv5 extends Application {
             addStage.show();
         });
 
+        importCars.setOnAction(e -> importCsv(primaryStage, CsvImporter.forCars(carCache), "cars", () -> { }));
+
         deleteCar.setOnAction(e -> {
             TextInputDialog dialog = new TextInputDialog();
             dialog.setHeaderText("Enter Car ID to Delete:");
             dialog.showAndWait().ifPresent(carId -> {
-                try {
-                    // Use the DAO to delete the car
-                    int affected = carDAO.delete(carId);
+                // Use the DAO to delete the car in the background
+                DAOExecutor.load(() -> carCache.delete(carId), affected -> {
                     if (affected == 0) {
                         Alert alert = new Alert(Alert.AlertType.INFORMATION, "No car found with ID: " + carId);
                         alert.showAndWait();
@@ -816,11 +1011,11 @@ public class Projectv5 extends Application {
                         Alert alert = new Alert(Alert.AlertType.INFORMATION, "Car deleted successfully.");
                         alert.showAndWait();
                     }
-                } catch (Exception ex) {
+                }, ex -> {
                     ex.printStackTrace();
                     Alert alert = new Alert(Alert.AlertType.ERROR, "Error deleting car: " + ex.getMessage());
                     alert.showAndWait();
-                }
+                });
             });
         });
 
@@ -866,20 +1061,34 @@ public class Projectv5 extends Application {
 
             carTable.getColumns().addAll(idCol, modelCol, variantCol, priceCol, mileageCol, colorCol, typeCol, weightCol, numberPlateCol, chassisCol);
 
-            // Load data
-            try {
-                List<Car> cars = carDAO.getAll();
-                carTable.getItems().setAll(cars);
-            } catch (Exception ex) {
+            // Every keystroke in the filters re-evaluates the inventory index and
+            // narrows the in-memory rows; clicking a header sorts them
+            FilterableTable<Car> cars = new FilterableTable<>(carTable)
+                    .filterable(idCol, Car::getId)
+                    .filterable(variantCol, Car::getVariant)
+                    .filterable(numberPlateCol, Car::getNumberPlate)
+                    .filterable(chassisCol, Car::getChassisNumber);
+            GridPane filterGrid = createInventoryFilters(filter -> cars.setFilter(inventoryIndex.predicate(filter)));
+            carTable.setPlaceholder(new Label("Loading cars..."));
+
+            DAOExecutor.load(() -> {
+                inventoryIndex.ensureSeeded();
+                return inventoryIndex.getAll();
+            }, rows -> {
+                carTable.setPlaceholder(new Label(rows.isEmpty()
+                        ? "No cars found in the database."
+                        : "No cars match the filters."));
+                cars.setAll(rows);
+            }, ex -> {
                 ex.printStackTrace();
+                tableStage.close();
                 Alert alert = new Alert(Alert.AlertType.ERROR, "Error loading cars: " + ex.getMessage());
                 alert.showAndWait();
-                return;
-            }
+            });
 
-            VBox vbox = new VBox(carTable);
+            VBox vbox = new VBox(10, filterGrid, cars.getFilterBar(), carTable);
             vbox.setPadding(new Insets(15));
-            Scene tableScene = new Scene(vbox, 1000, 700);
+            Scene tableScene = new Scene(vbox, 1000, 800);
             String tableCss = getClass().getResource("/com/example/projectfxv5/css/styles.css").toExternalForm();
             tableScene.getStylesheets().add(tableCss);
 
@@ -888,6 +1097,94 @@ public class Projectv5 extends Application {
         });
     }
 
+    /**
+     * Creates the stock filter controls: lowest and highest price, mileage and
+     * weight, and any number of colors, types and models. The colors, types
+     * and models offered are the ones in stock. Every change builds a new
+     * filter and hands it over straight away.
+     *
+     * @param onChange Called on the FX thread with the filter after every change
+     * @return The filter controls
+     */
+    private GridPane createInventoryFilters(Consumer<CarFilter> onChange) {
+        TextField minPrice = new TextField();
+        TextField maxPrice = new TextField();
+        TextField minMileage = new TextField();
+        TextField maxMileage = new TextField();
+        TextField minWeight = new TextField();
+        TextField maxWeight = new TextField();
+        for (TextField field : List.of(minPrice, maxPrice, minMileage, maxMileage, minWeight, maxWeight)) {
+            field.setPrefColumnCount(8);
+        }
+        minPrice.setPromptText("Min price");
+        maxPrice.setPromptText("Max price");
+        minMileage.setPromptText("Min mileage");
+        maxMileage.setPromptText("Max mileage");
+        minWeight.setPromptText("Min weight");
+        maxWeight.setPromptText("Max weight");
+
+        org.controlsfx.control.CheckComboBox<String> colors = new org.controlsfx.control.CheckComboBox<>();
+        org.controlsfx.control.CheckComboBox<String> types = new org.controlsfx.control.CheckComboBox<>();
+        org.controlsfx.control.CheckComboBox<String> models = new org.controlsfx.control.CheckComboBox<>();
+        colors.setTitle("Any color");
+        types.setTitle("Any type");
+        models.setTitle("Any model");
+        // Offered once the index holds the stock, so no value is left out
+        DAOExecutor.load(() -> {
+            inventoryIndex.ensureSeeded();
+            return List.of(inventoryIndex.getColors(), inventoryIndex.getTypes(), inventoryIndex.getModels());
+        }, values -> {
+            colors.getItems().setAll(values.get(0));
+            types.getItems().setAll(values.get(1));
+            models.getItems().setAll(values.get(2));
+        }, ex -> ex.printStackTrace());
+
+        Runnable update = () -> onChange.accept(CarFilter.ANY
+                .withPrice(parseBound(minPrice), parseBound(maxPrice))
+                .withMileage(parseBound(minMileage), parseBound(maxMileage))
+                .withWeight(parseBound(minWeight), parseBound(maxWeight))
+                .withColors(colors.getCheckModel().getCheckedItems())
+                .withTypes(types.getCheckModel().getCheckedItems())
+                .withModels(models.getCheckModel().getCheckedItems()));
+
+        for (TextField field : List.of(minPrice, maxPrice, minMileage, maxMileage, minWeight, maxWeight)) {
+            field.textProperty().addListener((obs, oldText, newText) -> update.run());
+        }
+        for (org.controlsfx.control.CheckComboBox<String> box : List.of(colors, types, models)) {
+            box.getCheckModel().getCheckedItems().addListener(
+                    (javafx.collections.ListChangeListener<String>) change -> update.run());
+        }
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(10);
+        grid.addRow(0, new Label("Price:"), minPrice, maxPrice, new Label("Color:"), colors);
+        grid.addRow(1, new Label("Mileage:"), minMileage, maxMileage, new Label("Type:"), types);
+        grid.addRow(2, new Label("Weight:"), minWeight, maxWeight, new Label("Model:"), models);
+        return grid;
+    }
+
+    /**
+     * Reads a range bound from a filter field. The field is marked while its
+     * text is not a number, and the bound is left open.
+     *
+     * @param field The field to read
+     * @return The bound, or null if the field is empty or not a number
+     */
+    private Double parseBound(TextField field) {
+        String text = field.getText().trim();
+        field.getStyleClass().remove("error-text");
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            field.getStyleClass().add("error-text");
+            return null;
+        }
+    }
+
     /**
      * Displays the employee data window. Shows a list of all employees with
      * their details and provides a form to add new employees.
@@ -954,6 +1251,9 @@ public class Projectv5 extends Application {
         Button addButton = new Button("Add Employee");
         addButton.getStyleClass().add("action-button");
 
+        Button importButton = new Button("Import CSV");
+        importButton.getStyleClass().add("action-button");
+
         // Add form elements to grid
         formGrid.add(idLabel, 0, 0);
         formGrid.add(idField, 1, 0);
@@ -961,19 +1261,40 @@ public class Projectv5 extends Application {
         formGrid.add(nameField, 1, 1);
         formGrid.add(salaryLabel, 0, 2);
         formGrid.add(salaryField, 1, 2);
-        formGrid.add(addButton, 1, 3);
+        formGrid.add(new HBox(10, addButton, importButton), 1, 3);
 
         // Status label for feedback
         Label statusLabel = new Label("");
         statusLabel.getStyleClass().add("status-label");
 
-        // Text area for displaying employees
+        // Sortable, filterable table for displaying employees
         Label employeeListLabel = new Label("Employee Details:");
         employeeListLabel.getStyleClass().add("section-header");
 
-        TextArea area = new TextArea();
-        area.setEditable(false);
-        area.setPrefHeight(300);
+        TableView<Employee> employeeTable = new TableView<>();
+        employeeTable.setPrefHeight(300);
+
+        TableColumn<Employee, String> employeeIdColumn = new TableColumn<>("ID");
+        employeeIdColumn.setCellValueFactory(data
+                -> new javafx.beans.property.SimpleStringProperty(data.getValue().getId()));
+
+        TableColumn<Employee, String> employeeNameColumn = new TableColumn<>("Name");
+        employeeNameColumn.setCellValueFactory(data
+                -> new javafx.beans.property.SimpleStringProperty(data.getValue().getName()));
+
+        TableColumn<Employee, Double> salaryColumn = new TableColumn<>("Salary");
+        salaryColumn.setCellValueFactory(data
+                -> new javafx.beans.property.SimpleDoubleProperty(data.getValue().getSalary()).asObject());
+
+        TableColumn<Employee, Double> rateColumn = new TableColumn<>("Commission Rate");
+        rateColumn.setCellValueFactory(data
+                -> new javafx.beans.property.SimpleDoubleProperty(data.getValue().getCommissionRate()).asObject());
+
+        employeeTable.getColumns().addAll(List.of(employeeIdColumn, employeeNameColumn, salaryColumn, rateColumn));
+
+        FilterableTable<Employee> employees = new FilterableTable<>(employeeTable)
+                .filterable(employeeIdColumn, Employee::getId)
+                .filterable(employeeNameColumn, Employee::getName);
 
         // Add button action
         addButton.setOnAction(e -> {
@@ -999,20 +1320,28 @@ public class Projectv5 extends Application {
                     return;
                 }
 
-                // Create and add employee
+                // Create and add employee in the background
                 Employee newEmployee = new Employee(id, name, salary);
-                employeeDAO.add(newEmployee);
-
-                // Clear form and update status
-                idField.clear();
-                nameField.clear();
-                salaryField.clear();
-
-                statusLabel.setText("Employee added successfully!");
-                statusLabel.getStyleClass().remove("error-text");
-
-                // Refresh employee list
-                refreshEmployeeList(area);
+                addButton.setDisable(true);
+                DAOExecutor.execute(() -> employeeCache.add(newEmployee), () -> {
+                    addButton.setDisable(false);
+
+                    // Clear form and update status
+                    idField.clear();
+                    nameField.clear();
+                    salaryField.clear();
+
+                    statusLabel.setText("Employee added successfully!");
+                    statusLabel.getStyleClass().remove("error-text");
+
+                    // Refresh employee list
+                    refreshEmployeeList(employees);
+                }, ex -> {
+                    addButton.setDisable(false);
+                    ex.printStackTrace();
+                    statusLabel.setText("Error adding employee: " + ex.getMessage());
+                    statusLabel.getStyleClass().add("error-text");
+                });
 
             } catch (Exception ex) {
                 ex.printStackTrace();
@@ -1021,16 +1350,20 @@ public class Projectv5 extends Application {
             }
         });
 
+        // Bulk import from a CSV file
+        importButton.setOnAction(e -> importCsv(primaryStage, CsvImporter.forEmployees(employeeCache), "employees",
+                () -> refreshEmployeeList(employees)));
+
         // Add all components to content
         content.getChildren().addAll(
                 addEmployeeLabel, formGrid, statusLabel,
-                new Separator(), employeeListLabel, area
+                new Separator(), employeeListLabel, employees.getFilterBar(), employeeTable
         );
 
         mainLayout.setCenter(content);
 
         // Initial load of employee list
-        refreshEmployeeList(area);
+        refreshEmployeeList(employees);
 
         // Set the scene
         scene.setRoot(mainLayout);
@@ -1039,34 +1372,24 @@ public class Projectv5 extends Application {
     }
 
     /**
-     * Helper method to refresh the employee list in the text area.
+     * Helper method to refresh the employee table. All rows are loaded in the
+     * background and handed to the table in one update.
      *
-     * @param area The TextArea to update with employee data
+     * @param employees The table to update with employee data
      */
-    private void refreshEmployeeList(TextArea area) {
-        try {
-            // Clear existing content
-            area.clear();
-
-            // Use the DAO to get all employees
-            List<Employee> employees = employeeDAO.getAll();
-
-            if (employees.isEmpty()) {
-                area.setText("No employees found in the database.");
-            } else {
-                // Display each employee in the text area
-                for (Employee employee : employees) {
-                    area.appendText("- Employee:\n"
-                            + "ID: " + employee.getId() + "\n"
-                            + "Name: " + employee.getName() + "\n"
-                            + "Salary: " + employee.getSalary() + "\n\n"
-                            + "----------------------------------------\n\n");
-                }
-            }
-        } catch (Exception e) {
+    private void refreshEmployeeList(FilterableTable<Employee> employees) {
+        employees.getTable().setPlaceholder(new Label("Loading employees..."));
+
+        // Use the DAO to get all employees in the background
+        DAOExecutor.load(employeeCache::getAll, rows -> {
+            employees.getTable().setPlaceholder(new Label(rows.isEmpty()
+                    ? "No employees found in the database."
+                    : "No employees match the filters."));
+            employees.setAll(rows);
+        }, e -> {
             e.printStackTrace();
-            area.setText("Failed to load employee data: " + e.getMessage());
-        }
+            employees.getTable().setPlaceholder(new Label("Failed to load employee data: " + e.getMessage()));
+        });
     }
 
     /**
@@ -1138,6 +1461,9 @@ public class Projectv5 extends Application {
         Button addButton = new Button("Add Customer");
         addButton.getStyleClass().add("action-button");
 
+        Button importButton = new Button("Import CSV");
+        importButton.getStyleClass().add("action-button");
+
         // Add form elements to grid
         formGrid.add(idLabel, 0, 0);
         formGrid.add(idField, 1, 0);
@@ -1147,19 +1473,42 @@ public class Projectv5 extends Application {
         formGrid.add(phoneField, 1, 2);
         formGrid.add(emailLabel, 0, 3);
         formGrid.add(emailField, 1, 3);
-        formGrid.add(addButton, 1, 4);
+        formGrid.add(new HBox(10, addButton, importButton), 1, 4);
 
         // Status label for feedback
         Label statusLabel = new Label("");
         statusLabel.getStyleClass().add("status-label");
 
-        // Text area for displaying customers
+        // Sortable, filterable table for displaying customers
         Label customerListLabel = new Label("Customer Details:");
         customerListLabel.getStyleClass().add("section-header");
 
-        TextArea area = new TextArea();
-        area.setEditable(false);
-        area.setPrefHeight(300);
+        TableView<Customer> customerTable = new TableView<>();
+        customerTable.setPrefHeight(300);
+
+        TableColumn<Customer, String> customerIdColumn = new TableColumn<>("ID");
+        customerIdColumn.setCellValueFactory(data
+                -> new javafx.beans.property.SimpleStringProperty(data.getValue().getId()));
+
+        TableColumn<Customer, String> customerNameColumn = new TableColumn<>("Name");
+        customerNameColumn.setCellValueFactory(data
+                -> new javafx.beans.property.SimpleStringProperty(data.getValue().getName()));
+
+        TableColumn<Customer, String> phoneColumn = new TableColumn<>("Phone");
+        phoneColumn.setCellValueFactory(data
+                -> new javafx.beans.property.SimpleStringProperty(data.getValue().getPhone()));
+
+        TableColumn<Customer, String> emailColumn = new TableColumn<>("Email");
+        emailColumn.setCellValueFactory(data
+                -> new javafx.beans.property.SimpleStringProperty(data.getValue().getEmail()));
+
+        customerTable.getColumns().addAll(List.of(customerIdColumn, customerNameColumn, phoneColumn, emailColumn));
+
+        FilterableTable<Customer> customers = new FilterableTable<>(customerTable)
+                .filterable(customerIdColumn, Customer::getId)
+                .filterable(customerNameColumn, Customer::getName)
+                .filterable(phoneColumn, Customer::getPhone)
+                .filterable(emailColumn, Customer::getEmail);
 
         // Add button action
         addButton.setOnAction(e -> {
@@ -1176,21 +1525,29 @@ public class Projectv5 extends Application {
                     return;
                 }
 
-                // Create and add customer
+                // Create and add customer in the background
                 Customer newCustomer = new Customer(id, name, phone, email);
-                customerDAO.add(newCustomer);
-
-                // Clear form and update status
-                idField.clear();
-                nameField.clear();
-                phoneField.clear();
-                emailField.clear();
-
-                statusLabel.setText("Customer added successfully!");
-                statusLabel.getStyleClass().remove("error-text");
-
-                // Refresh customer list
-                refreshCustomerList(area);
+                addButton.setDisable(true);
+                DAOExecutor.execute(() -> customerCache.add(newCustomer), () -> {
+                    addButton.setDisable(false);
+
+                    // Clear form and update status
+                    idField.clear();
+                    nameField.clear();
+                    phoneField.clear();
+                    emailField.clear();
+
+                    statusLabel.setText("Customer added successfully!");
+                    statusLabel.getStyleClass().remove("error-text");
+
+                    // Refresh customer list
+                    refreshCustomerList(customers);
+                }, ex -> {
+                    addButton.setDisable(false);
+                    ex.printStackTrace();
+                    statusLabel.setText("Error adding customer: " + ex.getMessage());
+                    statusLabel.getStyleClass().add("error-text");
+                });
 
             } catch (Exception ex) {
                 ex.printStackTrace();
@@ -1199,16 +1556,21 @@ public class Projectv5 extends Application {
             }
         });
 
+        // Bulk import from a CSV file
+        importButton.setOnAction(e -> importCsv(primaryStage, CsvImporter.forCustomers(customerCache), "customers",
+                () -> refreshCustomerList(customers)));
+
         // Add all components to content
         content.getChildren().addAll(
                 addCustomerLabel, formGrid, statusLabel,
-                new Separator(), customerListLabel, area
+                new Separator(), createCustomerSearch(customerTable), customerListLabel,
+                customers.getFilterBar(), customerTable
         );
 
         mainLayout.setCenter(content);
 
         // Initial load of customer list
-        refreshCustomerList(area);
+        refreshCustomerList(customers);
 
         // Set the scene
         scene.setRoot(mainLayout);
@@ -1217,35 +1579,85 @@ public class Projectv5 extends Application {
     }
 
     /**
-     * Helper method to refresh the customer list in the text area.
+     * Creates the search-as-you-type box of the customer window. Every
+     * keystroke queries the in-memory search index, so results appear without
+     * a database round trip; picking a result selects it in the customer table.
      *
-     * @param area The TextArea to update with customer data
+     * @param customerTable The table to select picked customers in
+     * @return The search box with its result list
      */
-    private void refreshCustomerList(TextArea area) {
-        try {
-            // Clear existing content
-            area.clear();
+    private VBox createCustomerSearch(TableView<Customer> customerTable) {
+        Label searchLabel = new Label("Find Customer:");
+        searchLabel.getStyleClass().add("section-header");
+
+        TextField searchField = new TextField();
+        searchField.setPromptText("Name, phone, email or ID");
+
+        javafx.scene.control.ListView<Customer> results = new javafx.scene.control.ListView<>();
+        results.setPrefHeight(150);
+        results.setVisible(false);
+        results.setManaged(false);
+        results.setCellFactory(list -> new javafx.scene.control.ListCell<>() {
+            @Override
+            protected void updateItem(Customer customer, boolean empty) {
+                super.updateItem(customer, empty);
+                setText(empty || customer == null ? null : customer.getName() + "  |  " + customer.getPhone()
+                        + "  |  " + customer.getEmail() + "  (" + customer.getId() + ")");
+            }
+        });
 
-            // Use the DAO to get all customers
-            List<Customer> customers = customerDAO.getAll();
+        searchField.textProperty().addListener((obs, oldText, newText) -> {
+            boolean searching = !newText.isBlank();
+            results.setVisible(searching);
+            results.setManaged(searching);
+            if (!searching) {
+                return;
+            }
+            if (!customerSearch.isSeeded()) {
+                results.getItems().clear();
+                results.setPlaceholder(new Label("The search index is still loading..."));
+                return;
+            }
+            results.setPlaceholder(new Label("No matching customers."));
+            results.getItems().setAll(customerSearch.search(newText, 50));
+        });
 
-            if (customers.isEmpty()) {
-                area.setText("No customers found in the database.");
-            } else {
-                // Display each customer in the text area
-                for (Customer customer : customers) {
-                    area.appendText("- Customer:\n"
-                            + "ID: " + customer.getId() + "\n"
-                            + "Name: " + customer.getName() + "\n"
-                            + "Phone: " + customer.getPhone() + "\n"
-                            + "Email: " + customer.getEmail() + "\n\n"
-                            + "----------------------------------------\n\n");
+        // Show the picked customer in the table
+        results.getSelectionModel().selectedItemProperty().addListener((obs, oldCustomer, customer) -> {
+            if (customer == null) {
+                return;
+            }
+            for (Customer row : customerTable.getItems()) {
+                if (row.getId().equals(customer.getId())) {
+                    customerTable.getSelectionModel().select(row);
+                    customerTable.scrollTo(row);
+                    break;
                 }
             }
-        } catch (Exception e) {
+        });
+
+        return new VBox(10, searchLabel, searchField, results);
+    }
+
+    /**
+     * Helper method to refresh the customer table. All rows are loaded in the
+     * background and handed to the table in one update.
+     *
+     * @param customers The table to update with customer data
+     */
+    private void refreshCustomerList(FilterableTable<Customer> customers) {
+        customers.getTable().setPlaceholder(new Label("Loading customers..."));
+
+        // Use the DAO to get all customers in the background
+        DAOExecutor.load(customerCache::getAll, rows -> {
+            customers.getTable().setPlaceholder(new Label(rows.isEmpty()
+                    ? "No customers found in the database."
+                    : "No customers match the filters."));
+            customers.setAll(rows);
+        }, e -> {
             e.printStackTrace();
-            area.setText("Failed to load customer data: " + e.getMessage());
-        }
+            customers.getTable().setPlaceholder(new Label("Failed to load customer data: " + e.getMessage()));
+        });
     }
 
     /**
@@ -1367,43 +1779,27 @@ public class Projectv5 extends Application {
         recentSalesLabel.getStyleClass().add("section-header");
         recentSalesSection.getChildren().add(recentSalesLabel);
 
-        // Table for recent sales
-        TableView<Sale> salesTable = new TableView<>();
+        // Table for recent sales, bound to pre-resolved sale views
+        TableView<SaleView> salesTable = new TableView<>();
         salesTable.setPrefHeight(300);
 
         // Define columns
-        TableColumn<Sale, String> idColumn = new TableColumn<>("ID");
+        TableColumn<SaleView, String> idColumn = new TableColumn<>("ID");
         idColumn.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getId()));
 
-        TableColumn<Sale, String> carColumn = new TableColumn<>("Car");
-        carColumn.setCellValueFactory(data -> {
-            try {
-                Car car = carDAO.getById(data.getValue().getCarId());
-                return new javafx.beans.property.SimpleStringProperty(
-                        car != null ? car.getModel() + " " + car.getVariant() : data.getValue().getCarId());
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty(data.getValue().getCarId());
-            }
-        });
+        TableColumn<SaleView, String> carColumn = new TableColumn<>("Car");
+        carColumn.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getCarName()));
 
-        TableColumn<Sale, String> customerColumn = new TableColumn<>("Customer");
-        customerColumn.setCellValueFactory(data -> {
-            try {
-                Customer customer = customerDAO.getById(data.getValue().getCustomerId());
-                return new javafx.beans.property.SimpleStringProperty(
-                        customer != null ? customer.getName() : data.getValue().getCustomerId());
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty(data.getValue().getCustomerId());
-            }
-        });
+        TableColumn<SaleView, String> customerColumn = new TableColumn<>("Customer");
+        customerColumn.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getCustomerName()));
 
-        TableColumn<Sale, Double> amountColumn = new TableColumn<>("Amount");
+        TableColumn<SaleView, Double> amountColumn = new TableColumn<>("Amount");
         amountColumn.setCellValueFactory(data
                 -> new javafx.beans.property.SimpleDoubleProperty(data.getValue().getAmount()).asObject());
 
-        TableColumn<Sale, String> dateColumn = new TableColumn<>("Date");
+        TableColumn<SaleView, LocalDate> dateColumn = new TableColumn<>("Date");
         dateColumn.setCellValueFactory(data
-                -> new javafx.beans.property.SimpleStringProperty(data.getValue().getDate()));
+                -> new javafx.beans.property.SimpleObjectProperty<>(data.getValue().getDate()));
 
         // Add columns to table
         salesTable.getColumns().addAll(idColumn, carColumn, customerColumn, amountColumn, dateColumn);
@@ -1419,127 +1815,118 @@ public class Projectv5 extends Application {
         contentScrollPane.setFitToHeight(true);
         mainLayout.setCenter(contentScrollPane);
 
-        try {
-            // Populate car combo box
-            List<Car> availableCars = carDAO.getAll();
-            for (Car car : availableCars) {
-                // Only show cars that haven't been sold yet
-                boolean isSold = false;
-                try {
-                    List<Sale> sales = saleDAO.getAll();
-                    for (Sale sale : sales) {
-                        if (sale.getCarId().equals(car.getId())) {
-                            isSold = true;
-                            break;
-                        }
-                    }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-
-                if (!isSold) {
-                    carComboBox.getItems().add(car.getId() + " - " + car.getModel() + " " + car.getVariant());
-                }
-            }
+        // Populate the combo boxes and the recent sales table in the background
+        loadComboBox(carComboBox, timedCars::getUnsoldCars,
+                car -> car.getId() + " - " + car.getModel() + " " + car.getVariant());
+        loadComboBox(customerComboBox, customerCache::getAll,
+                customer -> customer.getId() + " - " + customer.getName());
+        loadComboBox(employeeComboBox, employeeCache::getAll,
+                employee -> employee.getId() + " - " + employee.getName());
+
+        salesTable.setPlaceholder(new Label("Loading sales..."));
+        DAOExecutor.load(timedSales::getAllSaleViews, recentSales -> {
+            salesTable.setPlaceholder(new Label("No sales found in the database."));
+            salesTable.getItems().addAll(0, recentSales);
+        }, e -> {
+            e.printStackTrace();
+            salesTable.setPlaceholder(new Label("Failed to load sales."));
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setHeaderText(null);
+            alert.setContentText("Failed to load data: " + e.getMessage());
+            alert.showAndWait();
+        });
 
-            // Populate customer combo box
-            List<Customer> customers = customerDAO.getAll();
-            for (Customer customer : customers) {
-                customerComboBox.getItems().add(customer.getId() + " - " + customer.getName());
-            }
+        // Create sale button action
+        createSaleBtn.setOnAction(e -> {
+            // Validate inputs
+            if (carComboBox.getValue() == null || customerComboBox.getValue() == null
+                    || employeeComboBox.getValue() == null || amountField.getText().isEmpty()
+                    || datePicker.getValue() == null) {
 
-            // Populate employee combo box
-            List<Employee> employees = employeeDAO.getAll();
-            for (Employee employee : employees) {
-                employeeComboBox.getItems().add(employee.getId() + " - " + employee.getName());
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Input Error");
+                alert.setHeaderText(null);
+                alert.setContentText("Please fill in all fields to create a sale.");
+                alert.showAndWait();
+                return;
             }
 
-            // Populate recent sales table
-            List<Sale> recentSales = saleDAO.getAll();
-            salesTable.getItems().addAll(recentSales);
-
-            // Create sale button action
-            createSaleBtn.setOnAction(e -> {
-                try {
-                    // Validate inputs
-                    if (carComboBox.getValue() == null || customerComboBox.getValue() == null
-                            || employeeComboBox.getValue() == null || amountField.getText().isEmpty()
-                            || datePicker.getValue() == null) {
-
-                        Alert alert = new Alert(Alert.AlertType.ERROR);
-                        alert.setTitle("Input Error");
-                        alert.setHeaderText(null);
-                        alert.setContentText("Please fill in all fields to create a sale.");
-                        alert.showAndWait();
-                        return;
-                    }
-
-                    // Extract IDs from combo box selections
-                    String carId = carComboBox.getValue().split(" - ")[0];
-                    String customerId = customerComboBox.getValue().split(" - ")[0];
-                    String employeeId = employeeComboBox.getValue().split(" - ")[0];
-
-                    // Parse amount
-                    double amount;
-                    try {
-                        amount = Double.parseDouble(amountField.getText());
-                    } catch (NumberFormatException ex) {
-                        Alert alert = new Alert(Alert.AlertType.ERROR);
-                        alert.setTitle("Input Error");
-                        alert.setHeaderText(null);
-                        alert.setContentText("Please enter a valid amount.");
-                        alert.showAndWait();
-                        return;
-                    }
-
-                    // Format date
-                    String date = datePicker.getValue().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-
-                    // Generate sale ID
-                    String saleId = "SALE" + String.format("%03d", saleDAO.getAll().size() + 1);
-
-                    // Create and save the sale
-                    Sale newSale = new Sale(saleId, carId, customerId, employeeId, amount, date);
-                    saleDAO.add(newSale);
-
-                    // Update the table
-                    salesTable.getItems().add(newSale);
-
-                    // Remove the sold car from the combo box
-                    carComboBox.getItems().removeIf(item -> item.startsWith(carId + " - "));
+            // Extract IDs from combo box selections
+            String carId = carComboBox.getValue().split(" - ")[0];
+            String customerId = customerComboBox.getValue().split(" - ")[0];
+            String employeeId = employeeComboBox.getValue().split(" - ")[0];
 
-                    // Clear form
-                    carComboBox.setValue(null);
-                    customerComboBox.setValue(null);
-                    employeeComboBox.setValue(null);
-                    amountField.clear();
-                    datePicker.setValue(LocalDate.now());
-
-                    // Show success message
-                    Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                    alert.setTitle("Success");
-                    alert.setHeaderText(null);
-                    alert.setContentText("Sale created successfully!");
-                    alert.showAndWait();
+            // Parse amount
+            double amount;
+            try {
+                amount = Double.parseDouble(amountField.getText());
+            } catch (NumberFormatException ex) {
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Input Error");
+                alert.setHeaderText(null);
+                alert.setContentText("Please enter a valid amount.");
+                alert.showAndWait();
+                return;
+            }
 
-                } catch (Exception ex) {
-                    ex.printStackTrace();
+            LocalDate date = datePicker.getValue();
+
+            // Names already shown in the combo boxes, used for the new table row
+            String carName = carComboBox.getValue().split(" - ", 2)[1];
+            String customerName = customerComboBox.getValue().split(" - ", 2)[1];
+            String employeeName = employeeComboBox.getValue().split(" - ", 2)[1];
+
+            // Create and save the sale in the background, unless the car was
+            // sold from another window since the list was loaded
+            createSaleBtn.setDisable(true);
+            DAOExecutor.load(() -> {
+                // Generate sale ID
+                String saleId = saleDAO.generateNextSaleId();
+
+                Sale newSale = new Sale(saleId, carId, customerId, employeeId, amount, date);
+                return timedSales.addSaleIfUnsold(newSale) ? newSale : null;
+            }, newSale -> {
+                createSaleBtn.setDisable(false);
+                if (newSale == null) {
                     Alert alert = new Alert(Alert.AlertType.ERROR);
-                    alert.setTitle("Error");
+                    alert.setTitle("Input Error");
                     alert.setHeaderText(null);
-                    alert.setContentText("Failed to create sale: " + ex.getMessage());
+                    alert.setContentText("This car has already been sold.");
                     alert.showAndWait();
+                    carComboBox.getItems().remove(carComboBox.getValue());
+                    return;
                 }
-            });
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setTitle("Error");
-            alert.setHeaderText(null);
-            alert.setContentText("Failed to load data: " + e.getMessage());
-            alert.showAndWait();
-        }
+                // Update the table
+                salesTable.getItems().add(new SaleView(newSale, carName, customerName, employeeName));
+
+                // Remove the sold car from the combo box
+                carComboBox.getItems().removeIf(item -> item.startsWith(carId + " - "));
+
+                // Clear form
+                carComboBox.setValue(null);
+                customerComboBox.setValue(null);
+                employeeComboBox.setValue(null);
+                amountField.clear();
+                datePicker.setValue(LocalDate.now());
+
+                // Show success message
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Success");
+                alert.setHeaderText(null);
+                alert.setContentText("Sale created successfully!");
+                alert.showAndWait();
+            }, ex -> {
+                createSaleBtn.setDisable(false);
+                ex.printStackTrace();
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Error");
+                alert.setHeaderText(null);
+                alert.setContentText("Failed to create sale: " + ex.getMessage());
+                alert.showAndWait();
+            });
+        });
 
         // Set the scene
         scene.setRoot(mainLayout);
@@ -1548,119 +1935,227 @@ public class Projectv5 extends Application {
     }
 
     /**
-     * Saves the sales report as a text file.
+     * Lets the user pick a CSV file and imports it in the background. When the
+     * import finishes a summary with throughput and rejected rows is shown.
      *
-     * @param content The content to save
+     * @param owner The window the file chooser belongs to
+     * @param importer The importer for the entity type
+     * @param what The plural entity name used in messages, e.g. "cars"
+     * @param onImported Called on the FX thread after a successful import
+     * @param <T> The entity type
      */
-    private void saveSalesReportAsTxt(String content) {
-        try {
-            javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
-            fileChooser.setTitle("Save Sales Report");
-            fileChooser.getExtensionFilters().add(
-                    new javafx.stage.FileChooser.ExtensionFilter("Text Files", "*.txt"));
-            fileChooser.setInitialFileName("sales_report.txt");
+    private <T> void importCsv(Stage owner, CsvImporter<T> importer, String what, Runnable onImported) {
+        javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
+        fileChooser.setTitle("Import " + what + " from CSV");
+        fileChooser.getExtensionFilters().add(
+                new javafx.stage.FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+
+        java.io.File file = fileChooser.showOpenDialog(owner);
+        if (file == null) {
+            return;
+        }
 
-            java.io.File file = fileChooser.showSaveDialog(null);
+        Alert progress = new Alert(Alert.AlertType.INFORMATION, "Importing " + file.getName() + "...");
+        progress.setHeaderText(null);
+        progress.getButtonTypes().clear();
+        progress.show();
+
+        DAOExecutor.load(() -> importer.importFile(file.toPath()), report -> {
+            closeProgress(progress);
+            Alert alert = new Alert(report.getRejected() == 0 ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING);
+            alert.setTitle("Import Finished");
+            alert.setHeaderText("Imported " + report.getImported() + " " + what);
+            alert.setContentText(report.toSummary(20));
+            alert.showAndWait();
+            onImported.run();
+        }, ex -> {
+            closeProgress(progress);
+            ex.printStackTrace();
+            Alert alert = new Alert(Alert.AlertType.ERROR, "Error importing " + what + ": " + ex.getMessage());
+            alert.showAndWait();
+        });
+    }
 
-            if (file != null) {
-                java.io.FileWriter fileWriter = new java.io.FileWriter(file);
-                fileWriter.write(content);
-                fileWriter.close();
+    private void closeProgress(Alert progress) {
+        // An alert without buttons can only be closed once it has one
+        progress.getButtonTypes().add(javafx.scene.control.ButtonType.CLOSE);
+        progress.close();
+    }
 
-                // Show success message
-                javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
-                        javafx.scene.control.Alert.AlertType.INFORMATION);
-                alert.setTitle("Success");
-                alert.setHeaderText(null);
-                alert.setContentText("Sales report saved successfully as TXT file!");
-                alert.showAndWait();
+    /**
+     * Fills a combo box in the background. The combo box shows a loading
+     * prompt until the items arrive.
+     *
+     * @param comboBox The combo box to fill
+     * @param task The DAO call that returns the entities to list
+     * @param label Turns an entity into the "ID - name" text shown in the combo box
+     * @param <T> The entity type
+     */
+    private <T> void loadComboBox(ComboBox<String> comboBox, DAOExecutor.DatabaseTask<List<T>> task,
+                                  java.util.function.Function<T, String> label) {
+        comboBox.setPromptText("Loading...");
+        DAOExecutor.load(task, items -> {
+            comboBox.setPromptText(null);
+            for (T item : items) {
+                comboBox.getItems().add(label.apply(item));
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+        }, ex -> {
+            comboBox.setPromptText("Unavailable");
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Database Error");
+            alert.setHeaderText("Error Loading Data");
+            alert.setContentText("Could not load data from database: " + ex.getMessage());
+            alert.showAndWait();
+        });
+    }
+
+    /**
+     * Saves the sales report as a text or CSV file. The sales are streamed
+     * from the database into the file by a background task, while a dialog
+     * shows the progress and lets the user cancel the export.
+     *
+     * @param format The file format to write
+     * @param period The first and last day of the report, or null for all sales
+     */
+    private void exportSalesReport(SalesReportExporter.Format format, LocalDate[] period) {
+        javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
+        fileChooser.setTitle("Save Sales Report");
+        fileChooser.getExtensionFilters().add(new javafx.stage.FileChooser.ExtensionFilter(
+                format.getDescription(), "*." + format.getExtension()));
+        fileChooser.setInitialFileName(reportFileName(period, format.getExtension()));
+
+        java.io.File file = fileChooser.showSaveDialog(null);
+        if (file == null) {
+            return;
+        }
+
+        javafx.concurrent.Task<Long> task = new javafx.concurrent.Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                // The exporter's Progress has its own isCancelled, so ask the task by name
+                javafx.concurrent.Task<Long> exportTask = this;
+                updateMessage("Counting sales...");
+                long total = period == null ? timedSales.countSales() : periodSaleCount(period[0], period[1]);
+                try (java.util.stream.Stream<SaleView> sales = reportSales(period)) {
+                    return new SalesReportExporter(format).export(sales, file.toPath(),
+                            new SalesReportExporter.Progress() {
+                                @Override
+                                public void rowsWritten(long rowsWritten) {
+                                    updateProgress(rowsWritten, Math.max(total, rowsWritten));
+                                    updateMessage("Written " + rowsWritten + " of " + total + " sales");
+                                }
+
+                                @Override
+                                public boolean isCancelled() {
+                                    return exportTask.isCancelled();
+                                }
+                            });
+                }
+            }
+        };
+
+        // Progress dialog; closing it in any way cancels the export
+        javafx.scene.control.ProgressBar progressBar = new javafx.scene.control.ProgressBar();
+        progressBar.setPrefWidth(300);
+        progressBar.progressProperty().bind(task.progressProperty());
+        Label progressLabel = new Label();
+        progressLabel.textProperty().bind(task.messageProperty());
+
+        Alert progress = new Alert(Alert.AlertType.INFORMATION);
+        progress.setTitle("Exporting Sales Report");
+        progress.setHeaderText("Saving " + file.getName());
+        progress.getDialogPane().setContent(new VBox(10, progressBar, progressLabel));
+        progress.getButtonTypes().setAll(javafx.scene.control.ButtonType.CANCEL);
+        progress.setOnHidden(e -> task.cancel());
+
+        task.setOnSucceeded(e -> {
+            progress.close();
+            // Show success message
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Success");
+            alert.setHeaderText(null);
+            alert.setContentText("Sales report saved successfully as " + format + " file ("
+                    + task.getValue() + " sales)!");
+            alert.showAndWait();
+        });
+        task.setOnFailed(e -> {
+            progress.close();
+            Throwable error = task.getException();
+            error.printStackTrace();
 
             // Show error message
-            javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
-                    javafx.scene.control.Alert.AlertType.ERROR);
+            Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setTitle("Error");
             alert.setHeaderText(null);
-            alert.setContentText("Failed to save sales report: " + e.getMessage());
+            alert.setContentText("Failed to save sales report: " + error.getMessage());
             alert.showAndWait();
-        }
+        });
+
+        progress.show();
+        DAOExecutor.supply(() -> {
+            task.run();
+            return null;
+        });
     }
 
     /**
-     * Saves the sales report as a PDF file.
+     * Saves the sales report as a PDF file. The sales are streamed from the
+     * database into a paginating writer in the background, so large reports
+     * span as many pages as they need without being held in memory.
      *
-     * @param content The content to save
+     * @param period The first and last day of the report, or null for all sales
      */
-    private void saveSalesReportAsPdf(String content) {
-        try {
-            javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
-            fileChooser.setTitle("Save Sales Report");
-            fileChooser.getExtensionFilters().add(
-                    new javafx.stage.FileChooser.ExtensionFilter("PDF Files", "*.pdf"));
-            fileChooser.setInitialFileName("sales_report.pdf");
-
-            java.io.File file = fileChooser.showSaveDialog(null);
-
-            if (file != null) {
-                // Create a new PDF document
-                org.apache.pdfbox.pdmodel.PDDocument document = new org.apache.pdfbox.pdmodel.PDDocument();
-                org.apache.pdfbox.pdmodel.PDPage page = new org.apache.pdfbox.pdmodel.PDPage();
-                document.addPage(page);
-
-                // Create a content stream for adding content to the page
-                org.apache.pdfbox.pdmodel.PDPageContentStream contentStream
-                        = new org.apache.pdfbox.pdmodel.PDPageContentStream(document, page);
-
-                // Set font and font size
-                contentStream.setFont(org.apache.pdfbox.pdmodel.font.PDType1Font.COURIER, 12);
-
-                // Start text
-                contentStream.beginText();
-                contentStream.newLineAtOffset(50, 700);
-
-                // Add title
-                contentStream.setFont(org.apache.pdfbox.pdmodel.font.PDType1Font.COURIER_BOLD, 16);
-                contentStream.showText("Sales Report");
-                contentStream.newLineAtOffset(0, -20);
-
-                // Add content line by line
-                contentStream.setFont(org.apache.pdfbox.pdmodel.font.PDType1Font.COURIER, 10);
-                float leading = 12;
-
-                String[] lines = content.split("\n");
-                for (String line : lines) {
-                    contentStream.showText(line);
-                    contentStream.newLineAtOffset(0, -leading);
-                }
-
-                // End text
-                contentStream.endText();
-                contentStream.close();
-
-                // Save the document
-                document.save(file);
-                document.close();
+    private void saveSalesReportAsPdf(LocalDate[] period) {
+        javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
+        fileChooser.setTitle("Save Sales Report");
+        fileChooser.getExtensionFilters().add(
+                new javafx.stage.FileChooser.ExtensionFilter("PDF Files", "*.pdf"));
+        fileChooser.setInitialFileName(reportFileName(period, "pdf"));
+
+        java.io.File file = fileChooser.showSaveDialog(null);
+        if (file == null) {
+            return;
+        }
 
-                // Show success message
-                javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
-                        javafx.scene.control.Alert.AlertType.INFORMATION);
-                alert.setTitle("Success");
-                alert.setHeaderText(null);
-                alert.setContentText("Sales report saved successfully as PDF file!");
-                alert.showAndWait();
-            }
-        } catch (Exception e) {
+        DAOExecutor.execute(() -> writeSalesReportAsPdf(file, period), () -> {
+            // Show success message
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Success");
+            alert.setHeaderText(null);
+            alert.setContentText("Sales report saved successfully as PDF file!");
+            alert.showAndWait();
+        }, e -> {
             e.printStackTrace();
 
             // Show error message
-            javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
-                    javafx.scene.control.Alert.AlertType.ERROR);
+            Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setTitle("Error");
             alert.setHeaderText(null);
             alert.setContentText("Failed to save sales report: " + e.getMessage());
             alert.showAndWait();
+        });
+    }
+
+    /**
+     * Writes the sales report to a PDF file one sale at a time.
+     *
+     * @param file The file to write
+     * @param period The first and last day of the report, or null for all sales
+     * @throws Exception if the sales cannot be read or the file cannot be written
+     */
+    private void writeSalesReportAsPdf(java.io.File file, LocalDate[] period) throws Exception {
+        String title = period == null ? "Sales Report" : "Sales Report " + period[0] + " to " + period[1];
+        try (PdfReportWriter writer = new PdfReportWriter(file.toPath(), title,
+                     new String[] {"ID", "Car", "Customer", "Employee", "Amount", "Date"},
+                     new int[] {8, 18, 15, 15, 11, 10});
+             java.util.stream.Stream<SaleView> sales = reportSales(period)) {
+
+            java.util.Iterator<SaleView> rows = sales.iterator();
+            while (rows.hasNext()) {
+                SaleView sale = rows.next();
+                writer.writeRow(sale.getId(), sale.getCarName(), sale.getCustomerName(), sale.getEmployeeName(),
+                        String.format("%.2f", sale.getAmount()), sale.getDate());
+            }
         }
     }
 
@@ -1704,160 +2199,98 @@ public class Projectv5 extends Application {
         header.getChildren().addAll(backBtn, title);
         mainLayout.setTop(header);
 
-        // TableView for displaying sales
-        TableView<Sale> salesTable = new TableView<>();
+        // TableView for displaying sales, bound to pre-resolved sale views
+        TableView<SaleView> salesTable = new TableView<>();
         salesTable.setPrefHeight(700);
 
         // Define columns
-        TableColumn<Sale, String> idColumn = new TableColumn<>("ID");
+        TableColumn<SaleView, String> idColumn = new TableColumn<>("ID");
         idColumn.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getId()));
 
-        TableColumn<Sale, String> carColumn = new TableColumn<>("Car");
-        carColumn.setCellValueFactory(data -> {
-            try {
-                Car car = carDAO.getById(data.getValue().getCarId());
-                return new javafx.beans.property.SimpleStringProperty(
-                        car != null ? car.getModel() + " " + car.getVariant() : data.getValue().getCarId());
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty(data.getValue().getCarId());
-            }
-        });
+        TableColumn<SaleView, String> carColumn = new TableColumn<>("Car");
+        carColumn.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getCarName()));
 
-        TableColumn<Sale, String> customerColumn = new TableColumn<>("Customer");
-        customerColumn.setCellValueFactory(data -> {
-            try {
-                Customer customer = customerDAO.getById(data.getValue().getCustomerId());
-                return new javafx.beans.property.SimpleStringProperty(
-                        customer != null ? customer.getName() : data.getValue().getCustomerId());
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty(data.getValue().getCustomerId());
-            }
-        });
+        TableColumn<SaleView, String> customerColumn = new TableColumn<>("Customer");
+        customerColumn.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getCustomerName()));
 
-        TableColumn<Sale, String> employeeColumn = new TableColumn<>("Employee");
-        employeeColumn.setCellValueFactory(data -> {
-            try {
-                Employee employee = employeeDAO.getById(data.getValue().getEmployeeId());
-                return new javafx.beans.property.SimpleStringProperty(
-                        employee != null ? employee.getName() : data.getValue().getEmployeeId());
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty(data.getValue().getEmployeeId());
-            }
-        });
+        TableColumn<SaleView, String> employeeColumn = new TableColumn<>("Employee");
+        employeeColumn.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getEmployeeName()));
 
-        TableColumn<Sale, Double> amountColumn = new TableColumn<>("Amount");
+        TableColumn<SaleView, Double> amountColumn = new TableColumn<>("Amount");
         amountColumn.setCellValueFactory(data
                 -> new javafx.beans.property.SimpleDoubleProperty(data.getValue().getAmount()).asObject());
 
-        TableColumn<Sale, String> dateColumn = new TableColumn<>("Date");
+        TableColumn<SaleView, LocalDate> dateColumn = new TableColumn<>("Date");
         dateColumn.setCellValueFactory(data
-                -> new javafx.beans.property.SimpleStringProperty(data.getValue().getDate()));
+                -> new javafx.beans.property.SimpleObjectProperty<>(data.getValue().getDate()));
 
         salesTable.getColumns().addAll(idColumn, carColumn, customerColumn, employeeColumn, amountColumn, dateColumn);
 
-        // Populate table
-        try {
-            List<Sale> sales = saleDAO.getAll();
-            salesTable.getItems().addAll(sales);
-        } catch (Exception e) {
+        // Populate table page by page from the joined sale view as the user scrolls
+        PagedTableLoader<SaleView> loader = new PagedTableLoader<>(salesTable, pageSize, timedSales::getSaleViewPage,
+                "No sales found.", e -> {
             e.printStackTrace();
-        }
+            salesTable.setPlaceholder(new Label("Failed to load sales: " + e.getMessage()));
+        })
+                .sortable(idColumn, "id")
+                .sortable(amountColumn, "amount")
+                .sortable(dateColumn, "date");
+        loader.reload();
+
+        // A month or quarter is read from the sales date index, so only the
+        // sales in that period are looked at
+        ComboBox<String> periodBox = new ComboBox<>();
+        periodBox.getItems().addAll("All sales", "This month", "Last month", "This quarter", "Last quarter");
+        periodBox.setValue("All sales");
+        Label periodTotals = new Label();
+        periodBox.setOnAction(e -> {
+            LocalDate[] period = reportPeriod(periodBox.getValue());
+            if (period == null) {
+                periodTotals.setText("");
+                loader.reload(timedSales::getSaleViewPage);
+                return;
+            }
+
+            loader.reload((after, limit, sort) -> {
+                List<SaleView> views = toSaleViews(periodSales(period[0], period[1]));
+                views.sort(saleViewOrder(sort));
+                return new Page<>(views, null);
+            });
+            periodTotals.setText("Loading...");
+            DAOExecutor.load(() -> {
+                salesDateIndex.ensureSeeded();
+                return salesDateIndex.getTotalsBetween(period[0], period[1]);
+            }, totals -> periodTotals.setText(String.format("%s to %s: %d sales, Rs.%.2f",
+                    period[0], period[1], totals.getCount(), totals.getSum())), ex -> {
+                ex.printStackTrace();
+                periodTotals.setText("");
+            });
+        });
 
         // Download report button
         HBox buttonBox = new HBox(10);
         buttonBox.setAlignment(Pos.CENTER_RIGHT);
+        HBox periodRow = new HBox(10, new Label("Period:"), periodBox, periodTotals);
+        periodRow.setAlignment(Pos.CENTER_LEFT);
+        HBox.setHgrow(periodRow, javafx.scene.layout.Priority.ALWAYS);
+        buttonBox.getChildren().add(periodRow);
         MenuButton downloadBtn = new MenuButton("Download Report");
         downloadBtn.getStyleClass().add("action-button");
         MenuItem downloadTxtItem = new MenuItem("Download as TXT");
+        MenuItem downloadCsvItem = new MenuItem("Download as CSV");
         MenuItem downloadPdfItem = new MenuItem("Download as PDF");
-        downloadBtn.getItems().addAll(downloadTxtItem, downloadPdfItem);
+        downloadBtn.getItems().addAll(downloadTxtItem, downloadCsvItem, downloadPdfItem);
         buttonBox.getChildren().add(downloadBtn);
 
         // Download actions
-        downloadTxtItem.setOnAction(e -> {
-            StringBuilder report = new StringBuilder();
-            // Header
-            report.append(String.format("%-8s %-25s %-20s %-20s %-10s %-12s\n",
-                    "ID", "Car", "Customer", "Employee", "Amount", "Date"));
-            report.append("---------------------------------------------------------------------------------------------\n");
-            // Rows
-            for (Sale sale : salesTable.getItems()) {
-                String carName = sale.getCarId();
-                String customerName = sale.getCustomerId();
-                String employeeName = sale.getEmployeeId();
-                try {
-                    Car car = carDAO.getById(sale.getCarId());
-                    if (car != null) {
-                        carName = car.getModel() + " " + car.getVariant();
-                    }
-                } catch (Exception ignored) {
-                }
-                try {
-                    Customer customer = customerDAO.getById(sale.getCustomerId());
-                    if (customer != null) {
-                        customerName = customer.getName();
-                    }
-                } catch (Exception ignored) {
-                }
-                try {
-                    Employee employee = employeeDAO.getById(sale.getEmployeeId());
-                    if (employee != null) {
-                        employeeName = employee.getName();
-                    }
-                } catch (Exception ignored) {
-                }
-                report.append(String.format("%-8s %-25s %-20s %-20s %-10.2f %-12s\n",
-                        sale.getId(), carName, customerName, employeeName, sale.getAmount(), sale.getDate()));
-            }
-            saveSalesReportAsTxt(report.toString());
-        });
+        // The table only holds the pages scrolled through, so exports read the
+        // sales of the selected period again
+        downloadTxtItem.setOnAction(e -> exportSalesReport(SalesReportExporter.Format.TXT,
+                reportPeriod(periodBox.getValue())));
+        downloadCsvItem.setOnAction(e -> exportSalesReport(SalesReportExporter.Format.CSV,
+                reportPeriod(periodBox.getValue())));
 
-        downloadPdfItem.setOnAction(e -> {
-            StringBuilder report = new StringBuilder();
-            // Header
-            report.append(String.format("%-8s %-15s %-12s %-12s %-10s %-12s\n",
-                    "ID", "Car", "Customer", "Employee", "Amount", "Date"));
-            report.append("------------------------------------------------------------------------\n");
-            for (Sale sale : salesTable.getItems()) {
-                String carName = sale.getCarId();
-                String customerName = sale.getCustomerId();
-                String employeeName = sale.getEmployeeId();
-                try {
-                    Car car = carDAO.getById(sale.getCarId());
-                    if (car != null) {
-                        carName = (car.getModel() + " " + car.getVariant());
-                    }
-                } catch (Exception ignored) {
-                }
-                try {
-                    Customer customer = customerDAO.getById(sale.getCustomerId());
-                    if (customer != null) {
-                        customerName = customer.getName();
-                    }
-                } catch (Exception ignored) {
-                }
-                try {
-                    Employee employee = employeeDAO.getById(sale.getEmployeeId());
-                    if (employee != null) {
-                        employeeName = employee.getName();
-                    }
-                } catch (Exception ignored) {
-                }
-                // Truncate values if too long
-                if (carName.length() > 14) {
-                    carName = carName.substring(0, 14);
-                }
-                if (customerName.length() > 11) {
-                    customerName = customerName.substring(0, 11);
-                }
-                if (employeeName.length() > 11) {
-                    employeeName = employeeName.substring(0, 11);
-                }
-                report.append(String.format("%-8s %-15s %-12s %-12s %-10.2f %-12s\n",
-                        sale.getId(), carName, customerName, employeeName, sale.getAmount(), sale.getDate()));
-            }
-            saveSalesReportAsPdf(report.toString());
-        });
+        downloadPdfItem.setOnAction(e -> saveSalesReportAsPdf(reportPeriod(periodBox.getValue())));
 
         VBox content = new VBox(15);
         content.setPadding(new Insets(15));
@@ -1872,6 +2305,122 @@ public class Projectv5 extends Application {
         primaryStage.setTitle("Sales Report - Platinum Auto Japan");
     }
 
+    /**
+     * Works out the first and last day of a report period.
+     *
+     * @param period One of the periods offered in the sales report
+     * @return The first and last day, or null for all sales
+     */
+    private LocalDate[] reportPeriod(String period) {
+        YearMonth month = YearMonth.now();
+        YearMonth quarter = month.minusMonths((month.getMonthValue() - 1) % 3);
+        switch (period) {
+            case "This month":
+                return new LocalDate[] {month.atDay(1), month.atEndOfMonth()};
+            case "Last month":
+                return new LocalDate[] {month.minusMonths(1).atDay(1), month.minusMonths(1).atEndOfMonth()};
+            case "This quarter":
+                return new LocalDate[] {quarter.atDay(1), quarter.plusMonths(2).atEndOfMonth()};
+            case "Last quarter":
+                return new LocalDate[] {quarter.minusMonths(3).atDay(1), quarter.minusMonths(1).atEndOfMonth()};
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Reads the sales of a period from the sales date index, building the
+     * index first if that has not happened yet.
+     */
+    private List<Sale> periodSales(LocalDate from, LocalDate to) throws Exception {
+        salesDateIndex.ensureSeeded();
+        return salesDateIndex.getSalesBetween(from, to);
+    }
+
+    /**
+     * Counts the sales of a period from the sales date index.
+     */
+    private long periodSaleCount(LocalDate from, LocalDate to) throws Exception {
+        salesDateIndex.ensureSeeded();
+        return salesDateIndex.getTotalsBetween(from, to).getCount();
+    }
+
+    /**
+     * Opens the sales of a report for export: every sale streamed from the
+     * database, or the sales of a month or quarter from the sales date index.
+     *
+     * @param period The first and last day, or null for all sales
+     * @return The sales, oldest first for a period; the stream must be closed
+     */
+    private java.util.stream.Stream<SaleView> reportSales(LocalDate[] period) throws Exception {
+        if (period == null) {
+            return timedSales.streamSaleViews();
+        }
+        return toSaleViews(periodSales(period[0], period[1])).stream();
+    }
+
+    /**
+     * @return The file name offered for a report, e.g. sales_report_2024-04-01_2024-06-30.csv
+     */
+    private static String reportFileName(LocalDate[] period, String extension) {
+        return period == null
+                ? "sales_report." + extension
+                : "sales_report_" + period[0] + "_" + period[1] + "." + extension;
+    }
+
+    /**
+     * Resolves the car, customer and employee names of the given sales with
+     * one batched lookup per table. Missing related rows fall back to the raw
+     * IDs stored on the sale, as in the sale view query.
+     */
+    private List<SaleView> toSaleViews(List<Sale> sales) throws Exception {
+        List<String> carIds = new ArrayList<>();
+        List<String> customerIds = new ArrayList<>();
+        List<String> employeeIds = new ArrayList<>();
+        for (Sale sale : sales) {
+            carIds.add(sale.getCarId());
+            customerIds.add(sale.getCustomerId());
+            employeeIds.add(sale.getEmployeeId());
+        }
+        Map<String, Car> cars = carCache.getByIds(carIds);
+        Map<String, Customer> customers = customerCache.getByIds(customerIds);
+        Map<String, Employee> employees = employeeCache.getByIds(employeeIds);
+
+        List<SaleView> views = new ArrayList<>(sales.size());
+        for (Sale sale : sales) {
+            Car car = cars.get(sale.getCarId());
+            Customer customer = customers.get(sale.getCustomerId());
+            Employee employee = employees.get(sale.getEmployeeId());
+            views.add(new SaleView(sale,
+                    car != null ? car.getModel() + " " + car.getVariant() : sale.getCarId(),
+                    customer != null ? customer.getName() : sale.getCustomerId(),
+                    employee != null ? employee.getName() : sale.getEmployeeId()));
+        }
+        return views;
+    }
+
+    /**
+     * @return The order of a sort column of the sales report, for rows sorted in memory
+     */
+    private Comparator<SaleView> saleViewOrder(Sort sort) {
+        Comparator<SaleView> order;
+        switch (sort.getColumn()) {
+            case "amount":
+                order = Comparator.comparingDouble(SaleView::getAmount);
+                break;
+            case "date":
+                order = Comparator.comparing(SaleView::getDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+                break;
+            default:
+                order = Comparator.comparing(SaleView::getId);
+                break;
+        }
+        if (!sort.isAscending()) {
+            order = order.reversed();
+        }
+        return order.thenComparing(SaleView::getId);
+    }
+
     /**
      * Displays the commission viewer window. Shows a list of employees that can
      * be selected to view their commission details.
@@ -1929,9 +2478,14 @@ public class Projectv5 extends Application {
         employeeGrid.setVgap(15);
         employeeGrid.setPadding(new Insets(20));
 
-        try {
-            // Use the DAO to get all employees
-            List<Employee> employees = employeeDAO.getAll();
+        Label loadingLabel = new Label("Loading employees...");
+        loadingLabel.getStyleClass().add("dashboard-subtitle");
+        content.getChildren().add(loadingLabel);
+
+        // Compute every employee's commission in one pass in the background
+        DAOExecutor.load(commissionService::calculate, commissions -> {
+            content.getChildren().remove(loadingLabel);
+            List<EmployeeCommission> employees = commissions.getEmployees();
 
             if (employees.isEmpty()) {
                 Label noEmployeesLabel = new Label("No employees found in the database.");
@@ -1943,9 +2497,14 @@ public class Projectv5 extends Application {
                 int col = 0;
                 int maxCols = 2; // 2 columns of buttons
 
-                for (Employee employee : employees) {
-                    String empId = employee.getId();
-                    String empName = employee.getName();
+                Label totalLabel = new Label(String.format("Total Commission: Rs.%.2f on Rs.%.2f of sales",
+                        commissions.getTotalCommission(), commissions.getTotalSales()));
+                totalLabel.getStyleClass().add("dashboard-subtitle");
+                content.getChildren().add(totalLabel);
+
+                for (EmployeeCommission employee : employees) {
+                    String empId = employee.getEmployeeId();
+                    String empName = employee.getEmployeeName();
 
                     // Create button without text to avoid duplication
                     Button empBtn = new Button();
@@ -1959,12 +2518,13 @@ public class Projectv5 extends Application {
                     Label nameLabel = new Label(empName);
                     nameLabel.setStyle("-fx-font-weight: bold;");
                     Label idLabel = new Label("ID: " + empId);
+                    Label commissionLabel = new Label(String.format("Rs.%.2f", employee.getTotalCommission()));
 
-                    buttonContent.getChildren().addAll(nameLabel, idLabel);
+                    buttonContent.getChildren().addAll(nameLabel, idLabel, commissionLabel);
                     empBtn.setGraphic(buttonContent);
                     empBtn.setContentDisplay(ContentDisplay.CENTER);
 
-                    empBtn.setOnAction(e -> showCommissionDetails(primaryStage, empId, empName));
+                    empBtn.setOnAction(e -> showCommissionDetails(primaryStage, employee));
 
                     employeeGrid.add(empBtn, col, row);
 
@@ -1984,12 +2544,13 @@ public class Projectv5 extends Application {
                 scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
                 content.getChildren().add(scrollPane);
             }
-        } catch (Exception e) {
+        }, e -> {
             e.printStackTrace();
-            Label errorLabel = new Label("Failed to load employee list: " + e.getMessage());
+            content.getChildren().remove(loadingLabel);
+            Label errorLabel = new Label("Failed to calculate commissions: " + e.getMessage());
             errorLabel.getStyleClass().add("dashboard-subtitle");
             content.getChildren().add(errorLabel);
-        }
+        });
 
         mainLayout.setCenter(content);
 
@@ -2004,10 +2565,11 @@ public class Projectv5 extends Application {
      * breakdown of sales and calculated commissions.
      *
      * @param primaryStage The primary stage for this application
-     * @param empId The ID of the employee
-     * @param empName The name of the employee
+     * @param commission The employee's commission as computed by the commission service
      */
-    private void showCommissionDetails(Stage primaryStage, String empId, String empName) {
+    private void showCommissionDetails(Stage primaryStage, EmployeeCommission commission) {
+        String empName = commission.getEmployeeName();
+
         // Load CSS
         Scene scene = new Scene(new VBox(), 800, 900);
         String css = getClass().getResource("/com/example/projectfxv5/css/styles.css").toExternalForm();
@@ -2072,57 +2634,41 @@ public class Projectv5 extends Application {
         content.getChildren().addAll(employeeInfo, scrollPane);
         mainLayout.setCenter(content);
 
-        StringBuilder report = new StringBuilder();
-        report.append(String.format("%-30s %-15s %-15s\n", "Car", "Price", "Commission"));
-        report.append("------------------------------------------------------------\n");
+        area.setText(formatCommissionDetails(commission));
 
-        double totalCommission = 0;
-        double totalSales = 0;
-
-        try {
-            // Use the SaleDAO to get sales for this employee
-            List<Sale> employeeSales = saleDAO.getSalesByEmployeeId(empId);
-
-            if (employeeSales.isEmpty()) {
-                area.setText("No sales found for this employee.");
-            } else {
-                // Get the employee to check their commission rate
-                double commissionRate = 0.10;
-
-                // Add commission rate info
-                report.append(String.format("Commission Rate: %.1f%%\n\n", commissionRate * 100));
-
-                // Process each sale
-                for (Sale sale : employeeSales) {
-                    // Get the car details
-                    Car car = carDAO.getById(sale.getCarId());
+        // Set the scene
+        scene.setRoot(mainLayout);
+        primaryStage.setScene(scene);
+        primaryStage.setTitle("Commission Details - " + empName + " - Platinum Auto Japan");
+    }
 
-                    if (car != null) {
-                        String carName = car.getModel() + " " + car.getVariant();
-                        double price = sale.getAmount();
-                        totalSales += price;
+    /**
+     * Formats one employee's commission as a fixed-width text table.
+     *
+     * @param commission The employee's commission
+     * @return The formatted report
+     */
+    private String formatCommissionDetails(EmployeeCommission commission) {
+        if (commission.getSaleCount() == 0) {
+            return "No sales found for this employee.";
+        }
 
-                        double commission = price * commissionRate;
-                        totalCommission += commission;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-30s %-15s %-15s\n", "Car", "Price", "Commission"));
+        report.append("------------------------------------------------------------\n");
 
-                        report.append(String.format("%-30s Rs.%-13.2f Rs.%-13.2f\n", carName, price, commission));
-                    }
-                }
+        // Add commission rate info
+        report.append(String.format("Commission Rate: %.1f%%\n\n", commission.getCommissionRate() * 100));
 
-                report.append("\n------------------------------------------------------------\n");
-                report.append(String.format("Total Sales:      Rs.%.2f\n", totalSales));
-                report.append(String.format("Total Commission: Rs.%.2f", totalCommission));
-                area.setText(report.toString());
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            area.setText("Failed to load commission details: " + e.getMessage());
+        for (EmployeeCommission.Line line : commission.getLines()) {
+            report.append(String.format("%-30s Rs.%-13.2f Rs.%-13.2f\n",
+                    line.getCarName(), line.getAmount(), line.getCommission()));
         }
 
-        // Set the scene
-        scene.setRoot(mainLayout);
-        primaryStage.setScene(scene);
-        primaryStage.setTitle("Commission Details - " + empName + " - Platinum Auto Japan");
+        report.append("\n------------------------------------------------------------\n");
+        report.append(String.format("Total Sales:      Rs.%.2f\n", commission.getTotalSales()));
+        report.append(String.format("Total Commission: Rs.%.2f", commission.getTotalCommission()));
+        return report.toString();
     }
 
     /**
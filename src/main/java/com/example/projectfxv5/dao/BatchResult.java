@@ -0,0 +1,110 @@
+package com.example.projectfxv5.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a batch insert or update.
+ * Rows that failed are reported one by one instead of aborting the whole batch,
+ * so the caller can show or retry just those rows.
+ *
+ * @param <T> The entity type
+ */
+public class BatchResult<T> {
+
+    /**
+     * A row that could not be written, together with the reason.
+     *
+     * @param <T> The entity type
+     */
+    public static class Failure<T> {
+        private final T entity;
+        private final String message;
+        private final SQLException cause;
+
+        Failure(T entity, String message, SQLException cause) {
+            this.entity = entity;
+            this.message = message;
+            this.cause = cause;
+        }
+
+        /**
+         * @return The entity that was not written
+         */
+        public T getEntity() {
+            return entity;
+        }
+
+        /**
+         * @return A short description of why the row failed
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * @return The database error, or null if the row simply matched nothing
+         */
+        public SQLException getCause() {
+            return cause;
+        }
+
+        @Override
+        public String toString() {
+            return entity + ": " + message;
+        }
+    }
+
+    private final List<T> succeeded = new ArrayList<>();
+    private final List<Failure<T>> failures = new ArrayList<>();
+
+    void addSuccess(T entity) {
+        succeeded.add(entity);
+    }
+
+    void addFailure(T entity, String message, SQLException cause) {
+        failures.add(new Failure<>(entity, message, cause));
+    }
+
+    /**
+     * @return The entities that were written, in the order they were given
+     */
+    public List<T> getSucceeded() {
+        return Collections.unmodifiableList(succeeded);
+    }
+
+    /**
+     * @return The rows that could not be written
+     */
+    public List<Failure<T>> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * @return The number of entities that were written
+     */
+    public int getSuccessCount() {
+        return succeeded.size();
+    }
+
+    /**
+     * @return The number of rows that could not be written
+     */
+    public int getFailureCount() {
+        return failures.size();
+    }
+
+    /**
+     * @return true if at least one row could not be written
+     */
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult[succeeded=" + succeeded.size() + ", failed=" + failures.size() + "]";
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.projectfxv5.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Write-through cache in front of another DAO.
+ * Single-row lookups are served from a size-bounded, least-recently-used map;
+ * writes go straight to the wrapped DAO and evict the affected rows, so the
+ * cache never serves a row that was changed through it.
+ *
+ * @param <T> The entity type
+ * @param <ID> The type of the entity's ID
+ */
+public class CachingDAO<T, ID> implements DAO<T, ID> {
+    private final DAO<T, ID> delegate;
+    private final Function<T, ID> idExtractor;
+    private final Map<ID, T> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // Bumped on every write so a lookup that raced with it does not cache a stale row
+    private long version;
+
+    /**
+     * Creates a cache in front of the given DAO.
+     *
+     * @param delegate The DAO that reads from and writes to the database
+     * @param idExtractor Returns the ID of an entity
+     * @param maxEntries Maximum number of entities kept in memory
+     */
+    public CachingDAO(DAO<T, ID> delegate, Function<T, ID> idExtractor, int maxEntries) {
+        this.delegate = delegate;
+        this.idExtractor = idExtractor;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ID, T> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * Always reads from the wrapped DAO.
+     */
+    @Override
+    public List<T> getAll() throws SQLException {
+        return delegate.getAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T getById(ID id) throws SQLException {
+        long seen;
+        synchronized (cache) {
+            T cached = cache.get(id);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            seen = version;
+        }
+
+        misses.incrementAndGet();
+        T entity = delegate.getById(id);
+        if (entity != null) {
+            store(List.of(entity), seen);
+        }
+        return entity;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Only the IDs missing from the cache are fetched from the wrapped DAO.
+     */
+    @Override
+    public Map<ID, T> getByIds(Collection<ID> ids) throws SQLException {
+        Map<ID, T> result = new HashMap<>();
+        List<ID> missing = new ArrayList<>();
+        long seen;
+
+        synchronized (cache) {
+            for (ID id : ids) {
+                if (id == null || result.containsKey(id)) {
+                    continue;
+                }
+                T cached = cache.get(id);
+                if (cached != null) {
+                    result.put(id, cached);
+                    hits.incrementAndGet();
+                } else {
+                    missing.add(id);
+                }
+            }
+            seen = version;
+        }
+
+        if (!missing.isEmpty()) {
+            misses.addAndGet(missing.size());
+            Map<ID, T> loaded = delegate.getByIds(missing);
+            store(loaded.values(), seen);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Always reads from the wrapped DAO.
+     */
+    @Override
+    public Page<T> getPage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return delegate.getPage(after, limit, sort);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Always reads from the wrapped DAO.
+     */
+    @Override
+    public Stream<T> stream() throws SQLException {
+        return delegate.stream();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(T entity) throws SQLException {
+        try {
+            delegate.add(entity);
+        } finally {
+            invalidate(idExtractor.apply(entity));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(T entity) throws SQLException {
+        try {
+            delegate.update(entity);
+        } finally {
+            invalidate(idExtractor.apply(entity));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<T> addAll(Collection<T> entities) throws SQLException {
+        try {
+            return delegate.addAll(entities);
+        } finally {
+            invalidateAll(entities);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<T> updateAll(Collection<T> entities) throws SQLException {
+        try {
+            return delegate.updateAll(entities);
+        } finally {
+            invalidateAll(entities);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int delete(ID id) throws SQLException {
+        try {
+            return delegate.delete(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    /**
+     * Removes one entity from the cache.
+     *
+     * @param id The ID of the entity to forget
+     */
+    public void invalidate(ID id) {
+        synchronized (cache) {
+            cache.remove(id);
+            version++;
+        }
+    }
+
+    /**
+     * Removes every entity from the cache.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            version++;
+        }
+    }
+
+    /**
+     * @return The number of lookups answered from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of lookups that had to go to the wrapped DAO
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of entities currently cached
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachingDAO[size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() + "]";
+    }
+
+    private void store(Collection<T> entities, long seen) {
+        synchronized (cache) {
+            if (version != seen) {
+                return;
+            }
+            for (T entity : entities) {
+                cache.put(idExtractor.apply(entity), entity);
+            }
+        }
+    }
+
+    private void invalidateAll(Collection<T> entities) {
+        synchronized (cache) {
+            for (T entity : entities) {
+                cache.remove(idExtractor.apply(entity));
+            }
+            version++;
+        }
+    }
+}
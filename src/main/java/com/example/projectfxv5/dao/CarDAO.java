@@ -5,7 +5,11 @@ import com.example.projectfxv5.model.Car;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Car entities.
@@ -13,6 +17,30 @@ import java.util.List;
  */
 public class CarDAO implements DAO<Car, String> {
 
+    private static final String INSERT_SQL =
+            "INSERT INTO Cars (id, model, variant, price, mileage, color, type, weight, numberPlate, chassisNumber) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE Cars SET model = ?, variant = ?, price = ?, mileage = ?, " +
+            "color = ?, type = ?, weight = ?, numberPlate = ?, chassisNumber = ? " +
+            "WHERE id = ?";
+
+    // Operation name the time to read one row is recorded under in DaoMetrics
+    private static final String MAP_ROW = "Car.mapRow";
+
+    // Columns getPage may sort by; anything else is rejected rather than spliced into SQL
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "model", "model",
+            "variant", "variant",
+            "price", "price",
+            "mileage", "mileage",
+            "color", "color",
+            "type", "type",
+            "weight", "weight");
+
+    private final EntityListeners<Car> listeners = new EntityListeners<>("Car");
+
     /**
      * {@inheritDoc}
      */
@@ -29,6 +57,30 @@ public class CarDAO implements DAO<Car, String> {
         return getCarById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Car> getByIds(Collection<String> ids) throws SQLException {
+        return getCarsByIds(ids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Car> getPage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return getCarPage(after, limit, sort);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Car> stream() throws SQLException {
+        return streamCars();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -45,6 +97,22 @@ public class CarDAO implements DAO<Car, String> {
         updateCar(car);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<Car> addAll(Collection<Car> cars) throws SQLException {
+        return addAllCars(cars);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<Car> updateAll(Collection<Car> cars) throws SQLException {
+        return updateAllCars(cars);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -77,6 +145,85 @@ public class CarDAO implements DAO<Car, String> {
         return cars;
     }
 
+    /**
+     * Retrieves all cars that have not been sold yet. The check against the
+     * Sales table is done by the database as an anti-join, so the cost does
+     * not grow with cars multiplied by sales.
+     * 
+     * @return List of unsold Car objects
+     * @throws SQLException if a database error occurs
+     */
+    public List<Car> getUnsoldCars() throws SQLException {
+        List<Car> cars = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT c.* FROM Cars c WHERE NOT EXISTS (SELECT 1 FROM Sales s WHERE s.carId = c.id)")) {
+
+            while (rs.next()) {
+                cars.add(mapResultSetToCar(rs));
+            }
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+
+        return cars;
+    }
+
+    /**
+     * Counts the cars in stock, sold or not.
+     * 
+     * @return The number of cars
+     * @throws SQLException if a database error occurs
+     */
+    public int countCars() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM Cars")) {
+
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+    }
+
+    /**
+     * Counts the cars that have not been sold yet.
+     * 
+     * @return The number of unsold cars
+     * @throws SQLException if a database error occurs
+     */
+    public int countUnsoldCars() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT COUNT(*) FROM Cars c WHERE NOT EXISTS (SELECT 1 FROM Sales s WHERE s.carId = c.id)")) {
+
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+    }
+
+    /**
+     * Adds up the prices of the cars that have not been sold yet.
+     * 
+     * @return The total price of the unsold cars
+     * @throws SQLException if a database error occurs
+     */
+    public double getUnsoldStockValue() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT SUM(c.price) FROM Cars c WHERE NOT EXISTS (SELECT 1 FROM Sales s WHERE s.carId = c.id)")) {
+
+            return rs.next() ? rs.getDouble(1) : 0;
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+    }
+
     /**
      * Retrieves a car by its ID.
      * 
@@ -102,6 +249,43 @@ public class CarDAO implements DAO<Car, String> {
         return null;
     }
 
+    /**
+     * Retrieves all cars whose IDs are in the given collection, one query
+     * per chunk of IDs on a single connection.
+     * 
+     * @param ids The IDs of the cars to retrieve
+     * @return Map from ID to Car object; IDs that were not found are absent
+     * @throws SQLException if a database error occurs
+     */
+    public Map<String, Car> getCarsByIds(Collection<String> ids) throws SQLException {
+        return SqlUtils.queryByIds("Cars", ids, this::mapResultSetToCar, Car::getId);
+    }
+
+    /**
+     * Streams all cars from a forward-only cursor without building a list.
+     * The stream must be closed to release its connection.
+     * 
+     * @return A stream of all Car objects
+     * @throws SQLException if the query cannot be started
+     */
+    public Stream<Car> streamCars() throws SQLException {
+        return SqlUtils.stream("SELECT * FROM Cars", this::mapResultSetToCar);
+    }
+
+    /**
+     * Retrieves one page of cars using keyset pagination.
+     * Sortable columns: id, model, variant, price, mileage, color, type, weight.
+     * 
+     * @param after The next key of the previous page, or null for the first page
+     * @param limit The maximum number of cars on the page
+     * @param sort The sort order
+     * @return The page of Car objects and the key of the next page
+     * @throws SQLException if a database error occurs
+     */
+    public Page<Car> getCarPage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return SqlUtils.queryPage("SELECT * FROM Cars", "id", SORT_COLUMNS, after, limit, sort, this::mapResultSetToCar);
+    }
+
     /**
      * Adds a new car to the database.
      * 
@@ -109,27 +293,16 @@ public class CarDAO implements DAO<Car, String> {
      * @throws SQLException if a database error occurs
      */
     public void addCar(Car car) throws SQLException {
-        String sql = "INSERT INTO Cars (id, model, variant, price, mileage, color, type, weight, numberPlate, chassisNumber) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, car.getId());
-            pstmt.setString(2, car.getModel());
-            pstmt.setString(3, car.getVariant());
-            pstmt.setDouble(4, car.getPrice());
-            pstmt.setDouble(5, car.getMileage());
-            pstmt.setString(6, car.getColor());
-            pstmt.setString(7, car.getType());
-            pstmt.setDouble(8, car.getWeight());
-            pstmt.setString(9, car.getNumberPlate());
-            pstmt.setString(10, car.getChassisNumber());
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
 
+            bindInsert(pstmt, car);
             pstmt.executeUpdate();
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
         }
+
+        listeners.fireAdded(car);
     }
 
     /**
@@ -139,28 +312,66 @@ public class CarDAO implements DAO<Car, String> {
      * @throws SQLException if a database error occurs
      */
     public void updateCar(Car car) throws SQLException {
-        String sql = "UPDATE Cars SET model = ?, variant = ?, price = ?, mileage = ?, " +
-                     "color = ?, type = ?, weight = ?, numberPlate = ?, chassisNumber = ? " +
-                     "WHERE id = ?";
+        // Listeners are told what the car looked like before, which costs one extra read
+        Car before = listeners.isEmpty() ? null : getCarById(car.getId());
+        int affected;
 
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, car.getModel());
-            pstmt.setString(2, car.getVariant());
-            pstmt.setDouble(3, car.getPrice());
-            pstmt.setDouble(4, car.getMileage());
-            pstmt.setString(5, car.getColor());
-            pstmt.setString(6, car.getType());
-            pstmt.setDouble(7, car.getWeight());
-            pstmt.setString(8, car.getNumberPlate());
-            pstmt.setString(9, car.getChassisNumber());
-            pstmt.setString(10, car.getId());
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
 
-            pstmt.executeUpdate();
+            bindUpdate(pstmt, car);
+            affected = pstmt.executeUpdate();
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
         }
+
+        if (affected > 0 && before != null) {
+            listeners.fireUpdated(before, car);
+        }
+    }
+
+    /**
+     * Adds many cars to the database in one transaction using JDBC batches.
+     * 
+     * @param cars The Car objects to add
+     * @return Which cars were added and which failed, with the reason
+     * @throws SQLException if the connection fails or the transaction cannot be committed
+     */
+    public BatchResult<Car> addAllCars(Collection<Car> cars) throws SQLException {
+        BatchResult<Car> result = SqlUtils.executeBatch(INSERT_SQL, cars, this::bindInsert);
+
+        for (Car car : result.getSucceeded()) {
+            listeners.fireAdded(car);
+        }
+        return result;
+    }
+
+    /**
+     * Updates many cars in the database in one transaction using JDBC batches.
+     * 
+     * @param cars The Car objects to update
+     * @return Which cars were updated and which failed, with the reason
+     * @throws SQLException if the connection fails or the transaction cannot be committed
+     */
+    public BatchResult<Car> updateAllCars(Collection<Car> cars) throws SQLException {
+        Map<String, Car> before = Collections.emptyMap();
+        if (!listeners.isEmpty()) {
+            List<String> ids = new ArrayList<>();
+            for (Car car : cars) {
+                ids.add(car.getId());
+            }
+            before = getCarsByIds(ids);
+        }
+
+        BatchResult<Car> result = SqlUtils.executeBatch(UPDATE_SQL, cars, this::bindUpdate);
+
+        for (Car car : result.getSucceeded()) {
+            Car old = before.get(car.getId());
+            if (old != null) {
+                listeners.fireUpdated(old, car);
+            }
+        }
+        return result;
     }
 
     /**
@@ -171,14 +382,71 @@ public class CarDAO implements DAO<Car, String> {
      * @throws SQLException if a database error occurs
      */
     public int deleteCar(String id) throws SQLException {
+        Car before = listeners.isEmpty() ? null : getCarById(id);
+        int affected;
+
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement("DELETE FROM Cars WHERE id = ?")) {
 
             stmt.setString(1, id);
-            return stmt.executeUpdate();
+            affected = stmt.executeUpdate();
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
         }
+
+        if (affected > 0 && before != null) {
+            listeners.fireDeleted(before);
+        }
+        return affected;
+    }
+
+    /**
+     * Registers a listener that is told about every car added, updated or
+     * deleted through this DAO.
+     * 
+     * @param listener The listener to add
+     */
+    public void addListener(EntityListener<Car> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener The listener to remove
+     */
+    public void removeListener(EntityListener<Car> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Binds a car to the parameters of {@link #INSERT_SQL}.
+     */
+    private void bindInsert(PreparedStatement pstmt, Car car) throws SQLException {
+        pstmt.setString(1, car.getId());
+        pstmt.setString(2, car.getModel());
+        pstmt.setString(3, car.getVariant());
+        pstmt.setDouble(4, car.getPrice());
+        pstmt.setDouble(5, car.getMileage());
+        pstmt.setString(6, car.getColor());
+        pstmt.setString(7, car.getType());
+        pstmt.setDouble(8, car.getWeight());
+        pstmt.setString(9, car.getNumberPlate());
+        pstmt.setString(10, car.getChassisNumber());
+    }
+
+    /**
+     * Binds a car to the parameters of {@link #UPDATE_SQL}.
+     */
+    private void bindUpdate(PreparedStatement pstmt, Car car) throws SQLException {
+        pstmt.setString(1, car.getModel());
+        pstmt.setString(2, car.getVariant());
+        pstmt.setDouble(3, car.getPrice());
+        pstmt.setDouble(4, car.getMileage());
+        pstmt.setString(5, car.getColor());
+        pstmt.setString(6, car.getType());
+        pstmt.setDouble(7, car.getWeight());
+        pstmt.setString(8, car.getNumberPlate());
+        pstmt.setString(9, car.getChassisNumber());
+        pstmt.setString(10, car.getId());
     }
 
     /**
@@ -189,6 +457,7 @@ public class CarDAO implements DAO<Car, String> {
      * @throws SQLException if a database error occurs
      */
     private Car mapResultSetToCar(ResultSet rs) throws SQLException {
+        long start = System.nanoTime();
         Car car = new Car();
         car.setId(rs.getString("id"));
         car.setModel(rs.getString("model"));
@@ -200,6 +469,7 @@ public class CarDAO implements DAO<Car, String> {
         car.setWeight(rs.getDouble("weight"));
         car.setNumberPlate(rs.getString("numberPlate"));
         car.setChassisNumber(rs.getString("chassisNumber"));
+        DaoMetrics.recordRowMapping(MAP_ROW, start);
         return car;
     }
 }
@@ -5,7 +5,11 @@ import com.example.projectfxv5.model.Customer;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Customer entities.
@@ -13,6 +17,23 @@ import java.util.List;
  */
 public class CustomerDAO implements DAO<Customer, String> {
     
+    private static final String INSERT_SQL =
+            "INSERT INTO Customers (id, name, phone, email) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE Customers SET name = ?, phone = ?, email = ? WHERE id = ?";
+
+    // Operation name the time to read one row is recorded under in DaoMetrics
+    private static final String MAP_ROW = "Customer.mapRow";
+
+    // Columns getPage may sort by; anything else is rejected rather than spliced into SQL
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "phone", "phone",
+            "email", "email");
+    
+    private final EntityListeners<Customer> listeners = new EntityListeners<>("Customer");
+    
     /**
      * {@inheritDoc}
      */
@@ -29,6 +50,30 @@ public class CustomerDAO implements DAO<Customer, String> {
         return getCustomerById(id);
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Customer> getByIds(Collection<String> ids) throws SQLException {
+        return getCustomersByIds(ids);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Customer> getPage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return getCustomerPage(after, limit, sort);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Customer> stream() throws SQLException {
+        return streamCustomers();
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -45,6 +90,22 @@ public class CustomerDAO implements DAO<Customer, String> {
         updateCustomer(customer);
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<Customer> addAll(Collection<Customer> customers) throws SQLException {
+        return addAllCustomers(customers);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<Customer> updateAll(Collection<Customer> customers) throws SQLException {
+        return updateAllCustomers(customers);
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -102,6 +163,43 @@ public class CustomerDAO implements DAO<Customer, String> {
         return null;
     }
     
+    /**
+     * Retrieves all customers whose IDs are in the given collection, one query
+     * per chunk of IDs on a single connection.
+     * 
+     * @param ids The IDs of the customers to retrieve
+     * @return Map from ID to Customer object; IDs that were not found are absent
+     * @throws SQLException if a database error occurs
+     */
+    public Map<String, Customer> getCustomersByIds(Collection<String> ids) throws SQLException {
+        return SqlUtils.queryByIds("Customers", ids, this::mapResultSetToCustomer, Customer::getId);
+    }
+    
+    /**
+     * Streams all customers from a forward-only cursor without building a list.
+     * The stream must be closed to release its connection.
+     * 
+     * @return A stream of all Customer objects
+     * @throws SQLException if the query cannot be started
+     */
+    public Stream<Customer> streamCustomers() throws SQLException {
+        return SqlUtils.stream("SELECT * FROM Customers", this::mapResultSetToCustomer);
+    }
+    
+    /**
+     * Retrieves one page of customers using keyset pagination.
+     * Sortable columns: id, name, phone, email.
+     * 
+     * @param after The next key of the previous page, or null for the first page
+     * @param limit The maximum number of customers on the page
+     * @param sort The sort order
+     * @return The page of Customer objects and the key of the next page
+     * @throws SQLException if a database error occurs
+     */
+    public Page<Customer> getCustomerPage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return SqlUtils.queryPage("SELECT * FROM Customers", "id", SORT_COLUMNS, after, limit, sort, this::mapResultSetToCustomer);
+    }
+    
     /**
      * Adds a new customer to the database.
      * 
@@ -109,20 +207,16 @@ public class CustomerDAO implements DAO<Customer, String> {
      * @throws SQLException if a database error occurs
      */
     public void addCustomer(Customer customer) throws SQLException {
-        String sql = "INSERT INTO Customers (id, name, phone, email) VALUES (?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, customer.getId());
-            pstmt.setString(2, customer.getName());
-            pstmt.setString(3, customer.getPhone());
-            pstmt.setString(4, customer.getEmail());
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
             
+            bindInsert(pstmt, customer);
             pstmt.executeUpdate();
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
         }
+        
+        listeners.fireAdded(customer);
     }
     
     /**
@@ -132,20 +226,66 @@ public class CustomerDAO implements DAO<Customer, String> {
      * @throws SQLException if a database error occurs
      */
     public void updateCustomer(Customer customer) throws SQLException {
-        String sql = "UPDATE Customers SET name = ?, phone = ?, email = ? WHERE id = ?";
+        // Listeners are told what the customer looked like before, which costs one extra read
+        Customer before = listeners.isEmpty() ? null : getCustomerById(customer.getId());
+        int affected;
         
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
             
-            pstmt.setString(1, customer.getName());
-            pstmt.setString(2, customer.getPhone());
-            pstmt.setString(3, customer.getEmail());
-            pstmt.setString(4, customer.getId());
-            
-            pstmt.executeUpdate();
+            bindUpdate(pstmt, customer);
+            affected = pstmt.executeUpdate();
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
         }
+        
+        if (affected > 0 && before != null) {
+            listeners.fireUpdated(before, customer);
+        }
+    }
+    
+    /**
+     * Adds many customers to the database in one transaction using JDBC batches.
+     * 
+     * @param customers The Customer objects to add
+     * @return Which customers were added and which failed, with the reason
+     * @throws SQLException if the connection fails or the transaction cannot be committed
+     */
+    public BatchResult<Customer> addAllCustomers(Collection<Customer> customers) throws SQLException {
+        BatchResult<Customer> result = SqlUtils.executeBatch(INSERT_SQL, customers, this::bindInsert);
+        
+        for (Customer customer : result.getSucceeded()) {
+            listeners.fireAdded(customer);
+        }
+        return result;
+    }
+    
+    /**
+     * Updates many customers in the database in one transaction using JDBC batches.
+     * 
+     * @param customers The Customer objects to update
+     * @return Which customers were updated and which failed, with the reason
+     * @throws SQLException if the connection fails or the transaction cannot be committed
+     */
+    public BatchResult<Customer> updateAllCustomers(Collection<Customer> customers) throws SQLException {
+        Map<String, Customer> before = Collections.emptyMap();
+        if (!listeners.isEmpty()) {
+            List<String> ids = new ArrayList<>();
+            for (Customer customer : customers) {
+                ids.add(customer.getId());
+            }
+            before = getCustomersByIds(ids);
+        }
+        
+        BatchResult<Customer> result = SqlUtils.executeBatch(UPDATE_SQL, customers, this::bindUpdate);
+        
+        for (Customer customer : result.getSucceeded()) {
+            Customer old = before.get(customer.getId());
+            if (old != null) {
+                listeners.fireUpdated(old, customer);
+            }
+        }
+        return result;
     }
     
     /**
@@ -156,14 +296,59 @@ public class CustomerDAO implements DAO<Customer, String> {
      * @throws SQLException if a database error occurs
      */
     public int deleteCustomer(String id) throws SQLException {
+        Customer before = listeners.isEmpty() ? null : getCustomerById(id);
+        int affected;
+        
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement("DELETE FROM Customers WHERE id = ?")) {
             
             stmt.setString(1, id);
-            return stmt.executeUpdate();
+            affected = stmt.executeUpdate();
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
         }
+        
+        if (affected > 0 && before != null) {
+            listeners.fireDeleted(before);
+        }
+        return affected;
+    }
+    
+    /**
+     * Registers a listener that is told about every customer added, updated or
+     * deleted through this DAO.
+     * 
+     * @param listener The listener to add
+     */
+    public void addListener(EntityListener<Customer> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * @param listener The listener to remove
+     */
+    public void removeListener(EntityListener<Customer> listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Binds a customer to the parameters of {@link #INSERT_SQL}.
+     */
+    private void bindInsert(PreparedStatement pstmt, Customer customer) throws SQLException {
+        pstmt.setString(1, customer.getId());
+        pstmt.setString(2, customer.getName());
+        pstmt.setString(3, customer.getPhone());
+        pstmt.setString(4, customer.getEmail());
+    }
+    
+    /**
+     * Binds a customer to the parameters of {@link #UPDATE_SQL}.
+     */
+    private void bindUpdate(PreparedStatement pstmt, Customer customer) throws SQLException {
+        pstmt.setString(1, customer.getName());
+        pstmt.setString(2, customer.getPhone());
+        pstmt.setString(3, customer.getEmail());
+        pstmt.setString(4, customer.getId());
     }
     
     /**
@@ -174,11 +359,13 @@ public class CustomerDAO implements DAO<Customer, String> {
      * @throws SQLException if a database error occurs
      */
     private Customer mapResultSetToCustomer(ResultSet rs) throws SQLException {
+        long start = System.nanoTime();
         Customer customer = new Customer();
         customer.setId(rs.getString("id"));
         customer.setName(rs.getString("name"));
         customer.setPhone(rs.getString("phone"));
         customer.setEmail(rs.getString("email"));
+        DaoMetrics.recordRowMapping(MAP_ROW, start);
         return customer;
     }
 }
\ No newline at end of file
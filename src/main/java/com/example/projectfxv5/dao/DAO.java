@@ -1,7 +1,11 @@
 package com.example.projectfxv5.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Generic DAO interface defining common operations for all entities.
@@ -27,6 +31,55 @@ public interface DAO<T, ID> {
      * @throws SQLException if a database error occurs
      */
     T getById(ID id) throws SQLException;
+
+    /**
+     * Retrieves all entities whose IDs are in the given collection, using a
+     * handful of IN (...) queries instead of one query per ID.
+     *
+     * @param ids The IDs of the entities to retrieve
+     * @return Map from ID to entity; IDs that were not found are absent
+     * @throws SQLException if a database error occurs
+     */
+    Map<ID, T> getByIds(Collection<ID> ids) throws SQLException;
+    
+    /**
+     * Retrieves one page of entities in the given order, starting after the
+     * key of the previous page. Unlike {@link #getAll()} only one page is
+     * ever held in memory.
+     * 
+     * @param after The next key of the previous page, or null for the first page
+     * @param limit The maximum number of entities on the page
+     * @param sort The sort order; the column must be one the DAO lists as sortable
+     * @return The page and the key of the next one
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if the sort column is not sortable
+     */
+    Page<T> getPage(Page.Key after, int limit, Sort sort) throws SQLException;
+    
+    /**
+     * Streams all entities from a forward-only cursor, so only the rows the
+     * driver has fetched are in memory at any time. The stream holds a
+     * database connection and must be closed, e.g. with try-with-resources.
+     * Database errors while reading are thrown as {@link UncheckedSQLException}.
+     * 
+     * @return A stream of all entities
+     * @throws SQLException if the query cannot be started
+     */
+    Stream<T> stream() throws SQLException;
+    
+    /**
+     * Visits every entity once without building a list of them.
+     * 
+     * @param action Called for each entity
+     * @throws SQLException if a database error occurs
+     */
+    default void forEach(Consumer<? super T> action) throws SQLException {
+        try (Stream<T> entities = stream()) {
+            entities.forEach(action);
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        }
+    }
     
     /**
      * Adds a new entity.
@@ -44,6 +97,27 @@ public interface DAO<T, ID> {
      */
     void update(T entity) throws SQLException;
     
+    /**
+     * Adds many entities in one transaction using JDBC batches.
+     * Rows that fail are reported in the result; the others are still stored.
+     * 
+     * @param entities The entities to add
+     * @return Which entities were added and which failed
+     * @throws SQLException if the connection fails or the transaction cannot be committed
+     */
+    BatchResult<T> addAll(Collection<T> entities) throws SQLException;
+    
+    /**
+     * Updates many entities in one transaction using JDBC batches.
+     * Rows that fail, or that match no stored entity, are reported in the
+     * result; the others are still updated.
+     * 
+     * @param entities The entities to update
+     * @return Which entities were updated and which failed
+     * @throws SQLException if the connection fails or the transaction cannot be committed
+     */
+    BatchResult<T> updateAll(Collection<T> entities) throws SQLException;
+    
     /**
      * Deletes an entity by its ID.
      * 
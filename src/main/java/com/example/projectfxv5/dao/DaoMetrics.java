@@ -0,0 +1,258 @@
+package com.example.projectfxv5.dao;
+
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Latency histograms and row counts of the DAO layer.
+ * Three kinds of operation are recorded:
+ * <ul>
+ *     <li>DAO calls made through a {@link TimedDAO} or one of its subclasses, named after the
+ *     entity and method, e.g. "Car.getAll" or "Sale.getSaleViewPage"</li>
+ *     <li>waiting for a pooled connection, named {@value #CONNECTION_ACQUIRE}</li>
+ *     <li>mapping one result set row to an entity, e.g. "Car.mapRow"</li>
+ * </ul>
+ * Comparing the three shows whether a slow screen waits for a connection,
+ * for the query or for the rows to be read. The figures are available over
+ * JMX as {@value #OBJECT_NAME} and can be logged on a schedule.
+ */
+public final class DaoMetrics {
+
+    public static final String CONNECTION_ACQUIRE = "connection.acquire";
+    public static final String OBJECT_NAME = "com.example.projectfxv5:type=DaoMetrics";
+
+    private static final Map<String, LatencyHistogram> OPERATIONS = new ConcurrentHashMap<>();
+
+    private static ScheduledExecutorService reporter;
+
+    private DaoMetrics() {
+    }
+
+    /**
+     * Records one call of an operation.
+     *
+     * @param operation The operation name, e.g. "Car.getAll"
+     * @param nanos How long the call took
+     * @param rows The number of rows it read or wrote
+     * @param failed Whether it threw
+     */
+    public static void record(String operation, long nanos, long rows, boolean failed) {
+        OPERATIONS.computeIfAbsent(operation, name -> new LatencyHistogram()).record(nanos, rows, failed);
+    }
+
+    /**
+     * A DAO call to be timed.
+     *
+     * @param <R> The result type
+     */
+    @FunctionalInterface
+    interface Query<R> {
+        R run() throws SQLException;
+    }
+
+    /**
+     * Runs a DAO call and records its latency and row count. A call that
+     * throws is recorded as failed with no rows.
+     *
+     * @param operation The operation name, e.g. "Car.countCars"
+     * @param query The call
+     * @param rows Counts the rows of the result; only given results that are not null
+     * @return The result of the call
+     * @throws SQLException if the call throws it
+     */
+    static <R> R time(String operation, Query<R> query, ToLongFunction<? super R> rows) throws SQLException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        R result = null;
+        try {
+            result = query.run();
+            failed = false;
+            return result;
+        } finally {
+            record(operation, System.nanoTime() - start, result == null ? 0 : rows.applyAsLong(result), failed);
+        }
+    }
+
+    /**
+     * Opens a stream and records it as one call, timed from the query until
+     * the stream is closed, so it includes the time the caller spends
+     * consuming the rows.
+     *
+     * @param operation The operation name, e.g. "Car.stream"
+     * @param query Opens the stream
+     * @return The stream, counting its rows as they are read
+     * @throws SQLException if the stream cannot be opened
+     */
+    static <T> Stream<T> timeStream(String operation, Query<Stream<T>> query) throws SQLException {
+        long start = System.nanoTime();
+        Stream<T> stream;
+        try {
+            stream = query.run();
+        } catch (SQLException | RuntimeException e) {
+            record(operation, System.nanoTime() - start, 0, true);
+            throw e;
+        }
+
+        LongAdder rows = new LongAdder();
+        AtomicBoolean closed = new AtomicBoolean();
+        return stream
+                .peek(row -> rows.increment())
+                .onClose(() -> {
+                    if (closed.compareAndSet(false, true)) {
+                        record(operation, System.nanoTime() - start, rows.sum(), false);
+                    }
+                });
+    }
+
+    /**
+     * Records the time spent waiting for a pooled connection.
+     *
+     * @param nanos How long the wait took
+     * @param failed Whether no connection could be had
+     */
+    public static void recordConnectionAcquire(long nanos, boolean failed) {
+        record(CONNECTION_ACQUIRE, nanos, 0, failed);
+    }
+
+    /**
+     * Records the time taken to map one result set row to an entity.
+     *
+     * @param operation The operation name, e.g. "Car.mapRow"
+     * @param start The {@link System#nanoTime()} when mapping began
+     */
+    static void recordRowMapping(String operation, long start) {
+        record(operation, System.nanoTime() - start, 1, false);
+    }
+
+    /**
+     * @return A summary of every operation recorded since start-up or the last
+     *         reset, slowest in total first
+     */
+    public static List<OperationSummary> getSummaries() {
+        List<OperationSummary> summaries = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : OPERATIONS.entrySet()) {
+            summaries.add(OperationSummary.of(entry.getKey(), entry.getValue().snapshot()));
+        }
+        summaries.sort(Comparator.comparingDouble(OperationSummary::getTotalMillis).reversed());
+        return summaries;
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public static void reset() {
+        OPERATIONS.clear();
+    }
+
+    /**
+     * Makes the figures available over JMX. Does nothing if they already are.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new Bean(), name);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register the DAO metrics with JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts printing a summary of the operations called in each interval.
+     * Intervals without any DAO calls print nothing.
+     *
+     * @param intervalSeconds Seconds between two summaries; 0 or less turns the summary off
+     */
+    public static synchronized void startReporting(int intervalSeconds) {
+        if (reporter != null || intervalSeconds <= 0) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "dao-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, LatencyHistogram.Snapshot> previous = new HashMap<>();
+        reporter.scheduleAtFixedRate(() -> report(previous, intervalSeconds),
+                intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic summary.
+     */
+    public static synchronized void stopReporting() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    private static void report(Map<String, LatencyHistogram.Snapshot> previous, int intervalSeconds) {
+        List<OperationSummary> summaries = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : OPERATIONS.entrySet()) {
+            LatencyHistogram.Snapshot now = entry.getValue().snapshot();
+            LatencyHistogram.Snapshot before = previous.put(entry.getKey(), now);
+            // A histogram newer than the last report, e.g. after a reset, counts from zero
+            LatencyHistogram.Snapshot interval = before == null || before.count > now.count ? now : now.since(before);
+            if (interval.count > 0) {
+                summaries.add(OperationSummary.of(entry.getKey(), interval));
+            }
+        }
+        if (summaries.isEmpty()) {
+            return;
+        }
+
+        summaries.sort(Comparator.comparingDouble(OperationSummary::getTotalMillis).reversed());
+        StringBuilder sb = new StringBuilder();
+        sb.append("DAO metrics for the ").append(intervalSeconds).append(" s up to ")
+                .append(LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"))).append(':');
+        for (OperationSummary summary : summaries) {
+            sb.append(System.lineSeparator()).append("  ").append(summary);
+        }
+        System.out.println(sb);
+    }
+
+    /**
+     * The JMX view of the figures.
+     */
+    private static final class Bean implements DaoMetricsMXBean {
+        @Override
+        public List<OperationSummary> getOperations() {
+            return getSummaries();
+        }
+
+        @Override
+        public OperationSummary getConnectionAcquire() {
+            LatencyHistogram histogram = OPERATIONS.get(CONNECTION_ACQUIRE);
+            return histogram == null
+                    ? new OperationSummary(CONNECTION_ACQUIRE, 0, 0, 0, 0, 0, 0, 0, 0)
+                    : OperationSummary.of(CONNECTION_ACQUIRE, histogram.snapshot());
+        }
+
+        @Override
+        public void reset() {
+            DaoMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.projectfxv5.dao;
+
+import java.util.List;
+
+/**
+ * JMX view of {@link DaoMetrics}, registered as {@value DaoMetrics#OBJECT_NAME}.
+ * Figures cover everything since start-up or the last reset.
+ */
+public interface DaoMetricsMXBean {
+
+    /**
+     * @return Every timed operation, slowest in total first
+     */
+    List<OperationSummary> getOperations();
+
+    /**
+     * @return The time spent waiting for pooled connections
+     */
+    OperationSummary getConnectionAcquire();
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    void reset();
+}
@@ -0,0 +1,53 @@
+package com.example.projectfxv5.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * The tables the DAOs read and write, as DDL. Matches the layout of
+ * database/AutomotiveInventory.accdb, so a database created from it can
+ * stand in for the real one, e.g. for generated test data or a native
+ * HSQLDB copy. The DDL is accepted by both UCanAccess and HSQLDB.
+ */
+public final class DatabaseSchema {
+
+    /**
+     * The name of every table, in the order of {@link #CREATE_TABLES}.
+     */
+    public static final List<String> TABLES = List.of("Cars", "Customers", "Employees", "Sales", "users");
+
+    /**
+     * CREATE TABLE statements for every table, in an order that can be run
+     * as is.
+     */
+    public static final List<String> CREATE_TABLES = List.of(
+            "CREATE TABLE Cars (id VARCHAR(10) PRIMARY KEY, model VARCHAR(50), variant VARCHAR(50), "
+                    + "price DOUBLE, mileage DOUBLE, color VARCHAR(20), type VARCHAR(20), weight DOUBLE, "
+                    + "numberPlate VARCHAR(20), chassisNumber VARCHAR(20))",
+            "CREATE TABLE Customers (id VARCHAR(10) PRIMARY KEY, name VARCHAR(100), phone VARCHAR(20), "
+                    + "email VARCHAR(100))",
+            "CREATE TABLE Employees (id VARCHAR(10) PRIMARY KEY, name VARCHAR(100), salary DOUBLE, "
+                    + "commissionRate DOUBLE)",
+            "CREATE TABLE Sales (id VARCHAR(10) PRIMARY KEY, carId VARCHAR(10), customerId VARCHAR(10), "
+                    + "employeeId VARCHAR(10), amount DOUBLE, date VARCHAR(20))",
+            "CREATE TABLE users (username VARCHAR(255), password VARCHAR(255))");
+
+    private DatabaseSchema() {
+    }
+
+    /**
+     * Creates every table in an empty database.
+     *
+     * @param conn A connection to the database
+     * @throws SQLException if a table cannot be created, e.g. because it already exists
+     */
+    public static void create(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : CREATE_TABLES) {
+                stmt.execute(sql);
+            }
+        }
+    }
+}
@@ -5,7 +5,10 @@ import com.example.projectfxv5.model.Employee;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Employee entities.
@@ -13,6 +16,21 @@ import java.util.List;
  */
 public class EmployeeDAO implements DAO<Employee, String> {
 
+    private static final String INSERT_SQL =
+            "INSERT INTO Employees (id, name, salary, commissionRate) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE Employees SET name = ?, salary = ?, commissionRate = ? WHERE id = ?";
+
+    // Operation name the time to read one row is recorded under in DaoMetrics
+    private static final String MAP_ROW = "Employee.mapRow";
+
+    // Columns getPage may sort by; anything else is rejected rather than spliced into SQL
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "salary", "salary",
+            "commissionRate", "commissionRate");
+
     /**
      * {@inheritDoc}
      */
@@ -29,6 +47,30 @@ public class EmployeeDAO implements DAO<Employee, String> {
         return getEmployeeById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Employee> getByIds(Collection<String> ids) throws SQLException {
+        return getEmployeesByIds(ids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Employee> getPage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return getEmployeePage(after, limit, sort);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Employee> stream() throws SQLException {
+        return streamEmployees();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -45,6 +87,22 @@ public class EmployeeDAO implements DAO<Employee, String> {
         updateEmployee(employee);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<Employee> addAll(Collection<Employee> employees) throws SQLException {
+        return addAllEmployees(employees);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<Employee> updateAll(Collection<Employee> employees) throws SQLException {
+        return updateAllEmployees(employees);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -102,6 +160,43 @@ public class EmployeeDAO implements DAO<Employee, String> {
         return null;
     }
 
+    /**
+     * Retrieves all employees whose IDs are in the given collection, one query
+     * per chunk of IDs on a single connection.
+     * 
+     * @param ids The IDs of the employees to retrieve
+     * @return Map from ID to Employee object; IDs that were not found are absent
+     * @throws SQLException if a database error occurs
+     */
+    public Map<String, Employee> getEmployeesByIds(Collection<String> ids) throws SQLException {
+        return SqlUtils.queryByIds("Employees", ids, this::mapResultSetToEmployee, Employee::getId);
+    }
+
+    /**
+     * Streams all employees from a forward-only cursor without building a list.
+     * The stream must be closed to release its connection.
+     * 
+     * @return A stream of all Employee objects
+     * @throws SQLException if the query cannot be started
+     */
+    public Stream<Employee> streamEmployees() throws SQLException {
+        return SqlUtils.stream("SELECT * FROM Employees", this::mapResultSetToEmployee);
+    }
+
+    /**
+     * Retrieves one page of employees using keyset pagination.
+     * Sortable columns: id, name, salary, commissionRate.
+     * 
+     * @param after The next key of the previous page, or null for the first page
+     * @param limit The maximum number of employees on the page
+     * @param sort The sort order
+     * @return The page of Employee objects and the key of the next page
+     * @throws SQLException if a database error occurs
+     */
+    public Page<Employee> getEmployeePage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return SqlUtils.queryPage("SELECT * FROM Employees", "id", SORT_COLUMNS, after, limit, sort, this::mapResultSetToEmployee);
+    }
+
     /**
      * Adds a new employee to the database.
      * 
@@ -109,15 +204,10 @@ public class EmployeeDAO implements DAO<Employee, String> {
      * @throws SQLException if a database error occurs
      */
     public void addEmployee(Employee employee) throws SQLException {
-        String sql = "INSERT INTO Employees (id, name, salary, commissionRate) VALUES (?, ?, ?, 0.10)";
-
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, employee.getId());
-            pstmt.setString(2, employee.getName());
-            pstmt.setDouble(3, employee.getSalary());
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
 
+            bindInsert(pstmt, employee);
             pstmt.executeUpdate();
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
@@ -131,21 +221,38 @@ public class EmployeeDAO implements DAO<Employee, String> {
      * @throws SQLException if a database error occurs
      */
     public void updateEmployee(Employee employee) throws SQLException {
-        String sql = "UPDATE Employees SET name = ?, salary = ? WHERE id = ?";
-
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, employee.getName());
-            pstmt.setDouble(2, employee.getSalary());
-            pstmt.setString(3, employee.getId());
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
 
+            bindUpdate(pstmt, employee);
             pstmt.executeUpdate();
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
         }
     }
 
+    /**
+     * Adds many employees to the database in one transaction using JDBC batches.
+     * 
+     * @param employees The Employee objects to add
+     * @return Which employees were added and which failed, with the reason
+     * @throws SQLException if the connection fails or the transaction cannot be committed
+     */
+    public BatchResult<Employee> addAllEmployees(Collection<Employee> employees) throws SQLException {
+        return SqlUtils.executeBatch(INSERT_SQL, employees, this::bindInsert);
+    }
+
+    /**
+     * Updates many employees in the database in one transaction using JDBC batches.
+     * 
+     * @param employees The Employee objects to update
+     * @return Which employees were updated and which failed, with the reason
+     * @throws SQLException if the connection fails or the transaction cannot be committed
+     */
+    public BatchResult<Employee> updateAllEmployees(Collection<Employee> employees) throws SQLException {
+        return SqlUtils.executeBatch(UPDATE_SQL, employees, this::bindUpdate);
+    }
+
     /**
      * Deletes an employee from the database by their ID.
      * 
@@ -164,6 +271,26 @@ public class EmployeeDAO implements DAO<Employee, String> {
         }
     }
 
+    /**
+     * Binds an employee to the parameters of {@link #INSERT_SQL}.
+     */
+    private void bindInsert(PreparedStatement pstmt, Employee employee) throws SQLException {
+        pstmt.setString(1, employee.getId());
+        pstmt.setString(2, employee.getName());
+        pstmt.setDouble(3, employee.getSalary());
+        pstmt.setDouble(4, employee.getCommissionRate());
+    }
+
+    /**
+     * Binds an employee to the parameters of {@link #UPDATE_SQL}.
+     */
+    private void bindUpdate(PreparedStatement pstmt, Employee employee) throws SQLException {
+        pstmt.setString(1, employee.getName());
+        pstmt.setDouble(2, employee.getSalary());
+        pstmt.setDouble(3, employee.getCommissionRate());
+        pstmt.setString(4, employee.getId());
+    }
+
     /**
      * Maps a ResultSet row to an Employee object.
      * 
@@ -172,11 +299,14 @@ public class EmployeeDAO implements DAO<Employee, String> {
      * @throws SQLException if a database error occurs
      */
     private Employee mapResultSetToEmployee(ResultSet rs) throws SQLException {
+        long start = System.nanoTime();
         Employee employee = new Employee();
         employee.setId(rs.getString("id"));
         employee.setName(rs.getString("name"));
         employee.setSalary(rs.getDouble("salary"));
-        // Commission rate is now fixed at 10% for all employees
+        double commissionRate = rs.getDouble("commissionRate");
+        employee.setCommissionRate(rs.wasNull() ? Employee.DEFAULT_COMMISSION_RATE : commissionRate);
+        DaoMetrics.recordRowMapping(MAP_ROW, start);
         return employee;
     }
 }
@@ -0,0 +1,30 @@
+package com.example.projectfxv5.dao;
+
+/**
+ * Receives the changes a DAO has written to the database, so in-memory
+ * views of a table can be kept current without re-reading it.
+ * Called on the thread that made the change, after it has been stored.
+ *
+ * @param <T> The entity type
+ */
+public interface EntityListener<T> {
+
+    /**
+     * @param entity The entity that was added
+     */
+    default void added(T entity) {
+    }
+
+    /**
+     * @param before The entity as it was stored before the update
+     * @param after The entity as it is stored now
+     */
+    default void updated(T before, T after) {
+    }
+
+    /**
+     * @param entity The entity as it was stored before it was deleted
+     */
+    default void deleted(T entity) {
+    }
+}
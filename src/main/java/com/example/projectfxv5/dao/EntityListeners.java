@@ -0,0 +1,73 @@
+package com.example.projectfxv5.dao;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The listeners registered with one DAO. A failing listener is logged and
+ * skipped: the change is already stored, so it must not turn into an error
+ * for the caller or keep the other listeners from hearing about it.
+ *
+ * @param <T> The entity type
+ */
+final class EntityListeners<T> {
+    private final String entityName;
+    private final List<EntityListener<T>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param entityName The entity name used in log messages, e.g. "Sale"
+     */
+    EntityListeners(String entityName) {
+        this.entityName = entityName;
+    }
+
+    void add(EntityListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    void remove(EntityListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return true if nobody is listening, so the DAO can skip reading the old rows
+     */
+    boolean isEmpty() {
+        return listeners.isEmpty();
+    }
+
+    void fireAdded(T entity) {
+        for (EntityListener<T> listener : listeners) {
+            try {
+                listener.added(entity);
+            } catch (RuntimeException e) {
+                failed(e);
+            }
+        }
+    }
+
+    void fireUpdated(T before, T after) {
+        for (EntityListener<T> listener : listeners) {
+            try {
+                listener.updated(before, after);
+            } catch (RuntimeException e) {
+                failed(e);
+            }
+        }
+    }
+
+    void fireDeleted(T entity) {
+        for (EntityListener<T> listener : listeners) {
+            try {
+                listener.deleted(entity);
+            } catch (RuntimeException e) {
+                failed(e);
+            }
+        }
+    }
+
+    private void failed(RuntimeException e) {
+        System.err.println(entityName + " listener failed: " + e.getMessage());
+        e.printStackTrace();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.projectfxv5.dao;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram for one operation. Durations fall into
+ * logarithmic buckets, eight per power of two, so percentiles are accurate
+ * to within 12.5% from a microsecond up to days, in a fixed 4 KB of counters.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 8;
+    private static final int SUB_BUCKET_BITS = 3;
+    // Durations are bucketed in units of 1024 ns, roughly a microsecond
+    private static final int UNIT_SHIFT = 10;
+    private static final int BUCKETS = 54 * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records one call.
+     *
+     * @param nanos How long the call took
+     * @param rowCount The number of rows it read or wrote
+     * @param failed Whether it threw
+     */
+    void record(long nanos, long rowCount, boolean failed) {
+        nanos = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+        rows.add(rowCount);
+        if (failed) {
+            errors.increment();
+        }
+        if (nanos > maxNanos.get()) {
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /**
+     * @return The counts so far. Taken without stopping writers, so a call
+     *         recorded meanwhile may be only partly included.
+     */
+    Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new Snapshot(counts, count.sum(), totalNanos.sum(), rows.sum(), errors.sum(), maxNanos.get());
+    }
+
+    private static int bucketOf(long nanos) {
+        long units = Math.max(1, nanos >>> UNIT_SHIFT);
+        int exponent = 63 - Long.numberOfLeadingZeros(units);
+        int sub = exponent >= SUB_BUCKET_BITS
+                ? (int) (units >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1)
+                : (int) (units << (SUB_BUCKET_BITS - exponent)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, exponent * SUB_BUCKETS + sub);
+    }
+
+    /**
+     * @return The end of the durations that fall into the bucket
+     */
+    private static long upperBoundOf(int bucket) {
+        int exponent = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        double units = exponent >= SUB_BUCKET_BITS
+                ? Math.scalb((double) (SUB_BUCKETS + sub + 1), exponent - SUB_BUCKET_BITS)
+                // Below eight units every bucket holds a single unit
+                : (1 << exponent) + (sub >> (SUB_BUCKET_BITS - exponent)) + 1;
+        return (long) (units * (1 << UNIT_SHIFT));
+    }
+
+    /**
+     * The state of a histogram at one moment. Subtracting an earlier snapshot
+     * gives the calls made in between.
+     */
+    static final class Snapshot {
+        final long[] buckets;
+        final long count;
+        final long totalNanos;
+        final long rows;
+        final long errors;
+        final long maxNanos;
+
+        Snapshot(long[] buckets, long count, long totalNanos, long rows, long errors, long maxNanos) {
+            this.buckets = buckets;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.rows = rows;
+            this.errors = errors;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * @param earlier A snapshot of the same histogram taken before this one
+         * @return The calls recorded between the two snapshots. The maximum is
+         *         estimated from the highest bucket used in between.
+         */
+        Snapshot since(Snapshot earlier) {
+            long[] delta = new long[buckets.length];
+            int highest = -1;
+            for (int i = 0; i < delta.length; i++) {
+                delta[i] = buckets[i] - earlier.buckets[i];
+                if (delta[i] > 0) {
+                    highest = i;
+                }
+            }
+            long max = highest < 0 ? 0 : Math.min(maxNanos, upperBoundOf(highest));
+            return new Snapshot(delta, count - earlier.count, totalNanos - earlier.totalNanos,
+                    rows - earlier.rows, errors - earlier.errors, max);
+        }
+
+        /**
+         * @param percentile Between 0 and 100
+         * @return The duration below which that share of the calls finished, in nanoseconds
+         */
+        long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(maxNanos, upperBoundOf(i));
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.projectfxv5.dao;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Call count, rows and latency percentiles of one timed operation, e.g.
+ * "Car.getAll" or "connection.acquire". Durations are in milliseconds;
+ * percentiles are accurate to within 12.5%.
+ */
+public final class OperationSummary {
+    private final String name;
+    private final long count;
+    private final long errors;
+    private final long rows;
+    private final double totalMillis;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    @ConstructorParameters({"name", "count", "errors", "rows", "totalMillis",
+            "p50Millis", "p95Millis", "p99Millis", "maxMillis"})
+    public OperationSummary(String name, long count, long errors, long rows, double totalMillis,
+                            double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+        this.name = name;
+        this.count = count;
+        this.errors = errors;
+        this.rows = rows;
+        this.totalMillis = totalMillis;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    static OperationSummary of(String name, LatencyHistogram.Snapshot snapshot) {
+        return new OperationSummary(name, snapshot.count, snapshot.errors, snapshot.rows,
+                millis(snapshot.totalNanos), millis(snapshot.percentile(50)), millis(snapshot.percentile(95)),
+                millis(snapshot.percentile(99)), millis(snapshot.maxNanos));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The number of calls that threw
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return The rows read or written by all calls together
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public double getMeanMillis() {
+        return count == 0 ? 0 : totalMillis / count;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-28s n=%-7d rows=%-9d mean=%.2f p50=%.2f p95=%.2f p99=%.2f max=%.2f ms%s",
+                name, count, rows, getMeanMillis(), p50Millis, p95Millis, p99Millis, maxMillis,
+                errors > 0 ? " errors=" + errors : "");
+    }
+}
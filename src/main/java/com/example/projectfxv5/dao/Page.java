@@ -0,0 +1,89 @@
+package com.example.projectfxv5.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query.
+ * Instead of an offset, the next page starts after the key of the last row
+ * on this one, so fetching page 100 costs the same as fetching page 1.
+ *
+ * @param <T> The entity type
+ */
+public class Page<T> {
+
+    /**
+     * Position of a row in a sorted result: its value in the sort column and
+     * its ID, which breaks ties between rows with the same sort value.
+     */
+    public static final class Key {
+        private final Object sortValue;
+        private final String id;
+
+        /**
+         * @param sortValue The row's value in the sort column, may be null
+         * @param id The row's ID
+         */
+        public Key(Object sortValue, String id) {
+            this.sortValue = sortValue;
+            this.id = id;
+        }
+
+        /**
+         * @return The row's value in the sort column, may be null
+         */
+        public Object getSortValue() {
+            return sortValue;
+        }
+
+        /**
+         * @return The row's ID
+         */
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "Key[" + sortValue + ", " + id + "]";
+        }
+    }
+
+    private final List<T> items;
+    private final Key nextKey;
+
+    /**
+     * @param items The rows on this page
+     * @param nextKey The key to pass to fetch the next page, or null if this is the last page
+     */
+    public Page(List<T> items, Key nextKey) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextKey = nextKey;
+    }
+
+    /**
+     * @return The rows on this page, in sort order
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return The key to pass to {@code getPage} for the next page, or null if there is none
+     */
+    public Key getNextKey() {
+        return nextKey;
+    }
+
+    /**
+     * @return true if there are more rows after this page
+     */
+    public boolean hasMore() {
+        return nextKey != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Page[size=" + items.size() + ", next=" + nextKey + "]";
+    }
+}
@@ -2,12 +2,19 @@ package com.example.projectfxv5.dao;
 
 import com.example.projectfxv5.DatabaseConfig;
 import com.example.projectfxv5.model.Sale;
+import com.example.projectfxv5.model.SaleView;
 
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.Set;
 
 /**
  * Data Access Object for Sale entities.
@@ -15,6 +22,54 @@ import java.util.regex.Pattern;
  */
 public class SaleDAO implements DAO<Sale, String> {
 
+    private static final String INSERT_SQL =
+            "INSERT INTO Sales (id, carId, customerId, employeeId, amount, date) VALUES (?, ?, ?, ?, ?, ?)";
+    // Inserts the sale only if its car exists and has no sale yet, so two
+    // windows selling the same car cannot both succeed
+    private static final String INSERT_IF_UNSOLD_SQL =
+            "INSERT INTO Sales (id, carId, customerId, employeeId, amount, date) " +
+            "SELECT ?, ?, ?, ?, ?, ? FROM Cars WHERE id = ? AND NOT EXISTS (SELECT 1 FROM Sales WHERE carId = ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE Sales SET carId = ?, customerId = ?, employeeId = ?, amount = ?, date = ? WHERE id = ?";
+
+    // Operation name the time to read one row is recorded under in DaoMetrics
+    private static final String MAP_ROW = "Sale.mapRow";
+
+    // Columns getPage may sort by; anything else is rejected rather than spliced into SQL
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "carId", "carId",
+            "customerId", "customerId",
+            "employeeId", "employeeId",
+            "amount", "amount",
+            "date", "date");
+
+    // Columns getSaleViewPage may sort by, qualified for the joined query
+    private static final Map<String, String> SALE_VIEW_SORT_COLUMNS = Map.of(
+            "id", "s.id",
+            "carId", "s.carId",
+            "customerId", "s.customerId",
+            "employeeId", "s.employeeId",
+            "amount", "s.amount",
+            "date", "s.date");
+
+    // Sales joined with the names of the car, customer and employee they refer to
+    private static final String SALE_VIEW_SQL =
+            "SELECT s.*, c.model AS carModel, c.variant AS carVariant, " +
+            "cu.name AS customerName, e.name AS employeeName " +
+            "FROM Sales s " +
+            "LEFT JOIN Cars c ON c.id = s.carId " +
+            "LEFT JOIN Customers cu ON cu.id = s.customerId " +
+            "LEFT JOIN Employees e ON e.id = s.employeeId";
+
+    // IDs of cars that already have a sale. Loaded on first use and kept in
+    // step with addSale and addSaleIfUnsold; updates and deletes force a reload.
+    private Set<String> soldCarIds;
+
+    private final SaleIdAllocator idAllocator = new SaleIdAllocator();
+
+    private final EntityListeners<Sale> listeners = new EntityListeners<>("Sale");
+
     /**
      * {@inheritDoc}
      */
@@ -31,6 +86,30 @@ public class SaleDAO implements DAO<Sale, String> {
         return getSaleById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Sale> getByIds(Collection<String> ids) throws SQLException {
+        return getSalesByIds(ids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Sale> getPage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return getSalePage(after, limit, sort);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Sale> stream() throws SQLException {
+        return streamSales();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -47,6 +126,22 @@ public class SaleDAO implements DAO<Sale, String> {
         updateSale(sale);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<Sale> addAll(Collection<Sale> sales) throws SQLException {
+        return addAllSales(sales);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<Sale> updateAll(Collection<Sale> sales) throws SQLException {
+        return updateAllSales(sales);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -79,6 +174,75 @@ public class SaleDAO implements DAO<Sale, String> {
         return sales;
     }
 
+    /**
+     * Counts the sales.
+     * 
+     * @return The number of rows in the Sales table
+     * @throws SQLException if a database error occurs
+     */
+    public int countSales() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM Sales")) {
+
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+    }
+
+    /**
+     * Retrieves all sales together with the names of the related car,
+     * customer and employee in a single joined query.
+     *
+     * @return List of SaleView objects
+     * @throws SQLException if a database error occurs
+     */
+    public List<SaleView> getAllSaleViews() throws SQLException {
+        List<SaleView> views = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SALE_VIEW_SQL)) {
+
+            while (rs.next()) {
+                views.add(mapResultSetToSaleView(rs));
+            }
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+
+        return views;
+    }
+
+    /**
+     * Streams all sales together with the names of the related car, customer
+     * and employee from a forward-only cursor, so reports over the full sales
+     * history do not hold it in memory. The stream must be closed.
+     *
+     * @return A stream of SaleView objects
+     * @throws SQLException if the query cannot be started
+     */
+    public Stream<SaleView> streamSaleViews() throws SQLException {
+        return SqlUtils.stream(SALE_VIEW_SQL, this::mapResultSetToSaleView);
+    }
+
+    /**
+     * Retrieves one page of sale views using keyset pagination, so the
+     * report can show the sales history without loading all of it.
+     * Sortable columns: id, carId, customerId, employeeId, amount, date.
+     *
+     * @param after The next key of the previous page, or null for the first page
+     * @param limit The maximum number of sales on the page
+     * @param sort The sort order
+     * @return The page of SaleView objects and the key of the next page
+     * @throws SQLException if a database error occurs
+     */
+    public Page<SaleView> getSaleViewPage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return SqlUtils.queryPage(SALE_VIEW_SQL, "s.id", SALE_VIEW_SORT_COLUMNS, after, limit, sort,
+                this::mapResultSetToSaleView);
+    }
+
     /**
      * Retrieves a sale by its ID.
      * 
@@ -104,6 +268,18 @@ public class SaleDAO implements DAO<Sale, String> {
         return null;
     }
 
+    /**
+     * Retrieves all sales whose IDs are in the given collection, one query
+     * per chunk of IDs on a single connection.
+     * 
+     * @param ids The IDs of the sales to retrieve
+     * @return Map from ID to Sale object; IDs that were not found are absent
+     * @throws SQLException if a database error occurs
+     */
+    public Map<String, Sale> getSalesByIds(Collection<String> ids) throws SQLException {
+        return SqlUtils.queryByIds("Sales", ids, this::mapResultSetToSale, Sale::getId);
+    }
+
     /**
      * Retrieves sales by employee ID.
      * 
@@ -132,6 +308,31 @@ public class SaleDAO implements DAO<Sale, String> {
         return sales;
     }
 
+    /**
+     * Streams all sales from a forward-only cursor without building a list.
+     * The stream must be closed to release its connection.
+     * 
+     * @return A stream of all Sale objects
+     * @throws SQLException if the query cannot be started
+     */
+    public Stream<Sale> streamSales() throws SQLException {
+        return SqlUtils.stream("SELECT * FROM Sales", this::mapResultSetToSale);
+    }
+
+    /**
+     * Retrieves one page of sales using keyset pagination.
+     * Sortable columns: id, carId, customerId, employeeId, amount, date.
+     * 
+     * @param after The next key of the previous page, or null for the first page
+     * @param limit The maximum number of sales on the page
+     * @param sort The sort order
+     * @return The page of Sale objects and the key of the next page
+     * @throws SQLException if a database error occurs
+     */
+    public Page<Sale> getSalePage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return SqlUtils.queryPage("SELECT * FROM Sales", "id", SORT_COLUMNS, after, limit, sort, this::mapResultSetToSale);
+    }
+
     /**
      * Adds a new sale to the database.
      * 
@@ -139,22 +340,55 @@ public class SaleDAO implements DAO<Sale, String> {
      * @throws SQLException if a database error occurs
      */
     public void addSale(Sale sale) throws SQLException {
-        String sql = "INSERT INTO Sales (id, carId, customerId, employeeId, amount, date) VALUES (?, ?, ?, ?, ?, ?)";
-
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, sale.getId());
-            pstmt.setString(2, sale.getCarId());
-            pstmt.setString(3, sale.getCustomerId());
-            pstmt.setString(4, sale.getEmployeeId());
-            pstmt.setDouble(5, sale.getAmount());
-            pstmt.setString(6, sale.getDate());
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
 
+            bindInsert(pstmt, sale);
             pstmt.executeUpdate();
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
         }
+
+        markCarSold(sale.getCarId());
+        idAllocator.observe(sale.getId());
+        listeners.fireAdded(sale);
+    }
+
+    /**
+     * Adds a new sale unless its car has already been sold. The check and
+     * the insert are one statement, so it is safe to call from several
+     * threads for the same car; at most one of them adds a sale.
+     * 
+     * @param sale The Sale object to add
+     * @return true if the sale was added, false if the car is already sold or no longer exists
+     * @throws SQLException if a database error occurs
+     */
+    public boolean addSaleIfUnsold(Sale sale) throws SQLException {
+        // Also serialised here, as pooled connections may not see each other's uncommitted rows
+        synchronized (this) {
+            if (loadSoldCarIds().contains(sale.getCarId())) {
+                return false;
+            }
+
+            try (Connection conn = DatabaseConfig.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(INSERT_IF_UNSOLD_SQL)) {
+
+                bindInsert(pstmt, sale);
+                pstmt.setString(7, sale.getCarId());
+                pstmt.setString(8, sale.getCarId());
+                if (pstmt.executeUpdate() == 0) {
+                    return false;
+                }
+            } catch (ClassNotFoundException e) {
+                throw new SQLException("Database driver not found", e);
+            }
+
+            markCarSold(sale.getCarId());
+        }
+
+        idAllocator.observe(sale.getId());
+        listeners.fireAdded(sale);
+        return true;
     }
 
     /**
@@ -164,22 +398,74 @@ public class SaleDAO implements DAO<Sale, String> {
      * @throws SQLException if a database error occurs
      */
     public void updateSale(Sale sale) throws SQLException {
-        String sql = "UPDATE Sales SET carId = ?, customerId = ?, employeeId = ?, amount = ?, date = ? WHERE id = ?";
+        // Listeners are told what the sale looked like before, which costs one extra read
+        Sale before = listeners.isEmpty() ? null : getSaleById(sale.getId());
+        int affected;
 
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, sale.getCarId());
-            pstmt.setString(2, sale.getCustomerId());
-            pstmt.setString(3, sale.getEmployeeId());
-            pstmt.setDouble(4, sale.getAmount());
-            pstmt.setString(5, sale.getDate());
-            pstmt.setString(6, sale.getId());
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
 
-            pstmt.executeUpdate();
+            bindUpdate(pstmt, sale);
+            affected = pstmt.executeUpdate();
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
         }
+
+        // The sale may have moved to another car
+        invalidateSoldCars();
+        if (affected > 0 && before != null) {
+            listeners.fireUpdated(before, sale);
+        }
+    }
+
+    /**
+     * Adds many sales to the database in one transaction using JDBC batches.
+     * 
+     * @param sales The Sale objects to add
+     * @return Which sales were added and which failed, with the reason
+     * @throws SQLException if the connection fails or the transaction cannot be committed
+     */
+    public BatchResult<Sale> addAllSales(Collection<Sale> sales) throws SQLException {
+        BatchResult<Sale> result = SqlUtils.executeBatch(INSERT_SQL, sales, this::bindInsert);
+
+        for (Sale sale : result.getSucceeded()) {
+            markCarSold(sale.getCarId());
+            idAllocator.observe(sale.getId());
+            listeners.fireAdded(sale);
+        }
+        return result;
+    }
+
+    /**
+     * Updates many sales in the database in one transaction using JDBC batches.
+     * 
+     * @param sales The Sale objects to update
+     * @return Which sales were updated and which failed, with the reason
+     * @throws SQLException if the connection fails or the transaction cannot be committed
+     */
+    public BatchResult<Sale> updateAllSales(Collection<Sale> sales) throws SQLException {
+        Map<String, Sale> before = Collections.emptyMap();
+        if (!listeners.isEmpty()) {
+            List<String> ids = new ArrayList<>();
+            for (Sale sale : sales) {
+                ids.add(sale.getId());
+            }
+            before = getSalesByIds(ids);
+        }
+
+        BatchResult<Sale> result = SqlUtils.executeBatch(UPDATE_SQL, sales, this::bindUpdate);
+
+        // Some of the sales may have moved to other cars
+        if (result.getSuccessCount() > 0) {
+            invalidateSoldCars();
+        }
+        for (Sale sale : result.getSucceeded()) {
+            Sale old = before.get(sale.getId());
+            if (old != null) {
+                listeners.fireUpdated(old, sale);
+            }
+        }
+        return result;
     }
 
     /**
@@ -190,14 +476,118 @@ public class SaleDAO implements DAO<Sale, String> {
      * @throws SQLException if a database error occurs
      */
     public int deleteSale(String id) throws SQLException {
+        Sale before = listeners.isEmpty() ? null : getSaleById(id);
+        int affected;
+
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement("DELETE FROM Sales WHERE id = ?")) {
 
             stmt.setString(1, id);
-            return stmt.executeUpdate();
+            affected = stmt.executeUpdate();
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
         }
+
+        if (affected > 0) {
+            invalidateSoldCars();
+            if (before != null) {
+                listeners.fireDeleted(before);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Registers a listener that is told about every sale added, updated or
+     * deleted through this DAO.
+     *
+     * @param listener The listener to add
+     */
+    public void addListener(EntityListener<Sale> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener The listener to remove
+     */
+    public void removeListener(EntityListener<Sale> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Checks whether a car already has a sale recorded against it. Answered
+     * from an in-memory set of sold car IDs that is loaded once.
+     * 
+     * @param carId The ID of the car to check
+     * @return true if the car has been sold
+     * @throws SQLException if a database error occurs while loading the set
+     */
+    public synchronized boolean isCarSold(String carId) throws SQLException {
+        return loadSoldCarIds().contains(carId);
+    }
+
+    /**
+     * Returns the IDs of every car that has a sale recorded against it.
+     * 
+     * @return Unmodifiable snapshot of the sold car IDs
+     * @throws SQLException if a database error occurs while loading the set
+     */
+    public synchronized Set<String> getSoldCarIds() throws SQLException {
+        return Collections.unmodifiableSet(new HashSet<>(loadSoldCarIds()));
+    }
+
+    private Set<String> loadSoldCarIds() throws SQLException {
+        if (soldCarIds == null) {
+            Set<String> ids = new HashSet<>();
+
+            try (Connection conn = DatabaseConfig.getConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT DISTINCT carId FROM Sales")) {
+
+                while (rs.next()) {
+                    ids.add(rs.getString("carId"));
+                }
+            } catch (ClassNotFoundException e) {
+                throw new SQLException("Database driver not found", e);
+            }
+
+            soldCarIds = ids;
+        }
+        return soldCarIds;
+    }
+
+    private synchronized void markCarSold(String carId) {
+        if (soldCarIds != null) {
+            soldCarIds.add(carId);
+        }
+    }
+
+    private synchronized void invalidateSoldCars() {
+        soldCarIds = null;
+    }
+
+    /**
+     * Binds a sale to the parameters of {@link #INSERT_SQL}.
+     */
+    private void bindInsert(PreparedStatement pstmt, Sale sale) throws SQLException {
+        pstmt.setString(1, sale.getId());
+        pstmt.setString(2, sale.getCarId());
+        pstmt.setString(3, sale.getCustomerId());
+        pstmt.setString(4, sale.getEmployeeId());
+        pstmt.setDouble(5, sale.getAmount());
+        pstmt.setString(6, formatDate(sale.getDate()));
+    }
+
+    /**
+     * Binds a sale to the parameters of {@link #UPDATE_SQL}.
+     */
+    private void bindUpdate(PreparedStatement pstmt, Sale sale) throws SQLException {
+        pstmt.setString(1, sale.getCarId());
+        pstmt.setString(2, sale.getCustomerId());
+        pstmt.setString(3, sale.getEmployeeId());
+        pstmt.setDouble(4, sale.getAmount());
+        pstmt.setString(5, formatDate(sale.getDate()));
+        pstmt.setString(6, sale.getId());
     }
 
     /**
@@ -208,47 +598,72 @@ public class SaleDAO implements DAO<Sale, String> {
      * @throws SQLException if a database error occurs
      */
     private Sale mapResultSetToSale(ResultSet rs) throws SQLException {
+        long start = System.nanoTime();
         Sale sale = new Sale();
         sale.setId(rs.getString("id"));
         sale.setCarId(rs.getString("carId"));
         sale.setCustomerId(rs.getString("customerId"));
         sale.setEmployeeId(rs.getString("employeeId"));
         sale.setAmount(rs.getDouble("amount"));
-        sale.setDate(rs.getString("date"));
+        sale.setDate(parseDate(sale.getId(), rs.getString("date")));
+        DaoMetrics.recordRowMapping(MAP_ROW, start);
         return sale;
     }
 
     /**
-     * Generates the next sale ID based on existing sales.
+     * Reads a sale date. Dates are stored as ISO yyyy-MM-dd text, which also
+     * keeps them in order when the column is sorted or compared as text.
+     *
+     * @param saleId The ID of the sale, for the error message
+     * @param text The stored date, or null
+     * @return The date, or null if none is stored
+     * @throws SQLException if the stored text is not an ISO date
+     */
+    private static LocalDate parseDate(String saleId, String text) throws SQLException {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(text.trim());
+        } catch (DateTimeParseException e) {
+            throw new SQLException("Sale " + saleId + " has a date that is not yyyy-MM-dd: " + text, e);
+        }
+    }
+
+    private static String formatDate(LocalDate date) {
+        return date != null ? date.toString() : null;
+    }
+
+    /**
+     * Maps a row of the sale view query to a SaleView object. Missing related
+     * rows fall back to the raw IDs stored on the sale.
+     *
+     * @param rs The ResultSet containing sale view data
+     * @return A new SaleView object with data from the ResultSet
+     * @throws SQLException if a database error occurs
+     */
+    private SaleView mapResultSetToSaleView(ResultSet rs) throws SQLException {
+        Sale sale = mapResultSetToSale(rs);
+
+        String carModel = rs.getString("carModel");
+        String carName = carModel != null ? carModel + " " + rs.getString("carVariant") : sale.getCarId();
+        String customerName = rs.getString("customerName");
+        String employeeName = rs.getString("employeeName");
+
+        return new SaleView(sale, carName,
+                customerName != null ? customerName : sale.getCustomerId(),
+                employeeName != null ? employeeName : sale.getEmployeeId());
+    }
+
+    /**
+     * Generates the next sale ID.
      * The ID follows the pattern "SALE[XX]" where [XX] is a sequential number with leading zeros.
+     * The highest existing number is read once; later IDs come from an in-memory counter.
      * 
      * @return The next available sale ID
      * @throws SQLException if a database error occurs
      */
     public String generateNextSaleId() throws SQLException {
-        List<Sale> sales = getAllSales();
-        int maxNumber = 0;
-        Pattern pattern = Pattern.compile("SALE(\\d+)");
-
-        for (Sale sale : sales) {
-            String id = sale.getId();
-            Matcher matcher = pattern.matcher(id);
-            if (matcher.matches()) {
-                try {
-                    int number = Integer.parseInt(matcher.group(1));
-                    if (number > maxNumber) {
-                        maxNumber = number;
-                    }
-                } catch (NumberFormatException e) {
-                    // Skip if the number part is not a valid integer
-                }
-            }
-        }
-
-        // Increment the highest number found
-        int nextNumber = maxNumber + 1;
-
-        // Format with leading zeros (e.g., SALE001, SALE021)
-        return String.format("SALE%03d", nextNumber);
+        return idAllocator.nextId();
     }
 }
@@ -0,0 +1,93 @@
+package com.example.projectfxv5.dao;
+
+import com.example.projectfxv5.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hands out sequential sale IDs following the pattern "SALE[XX]".
+ * The highest number already used is read from the database once; after
+ * that each ID comes from an in-memory atomic counter, so concurrent sales
+ * never receive the same ID and no table scan is needed per sale.
+ */
+public class SaleIdAllocator {
+    private static final Pattern SALE_ID_PATTERN = Pattern.compile("SALE(\\d+)");
+
+    private final AtomicLong lastNumber = new AtomicLong();
+    private volatile boolean seeded;
+
+    /**
+     * Allocates the next sale ID.
+     *
+     * @return A sale ID that has not been handed out before, e.g. SALE024
+     * @throws SQLException if the counter could not be seeded from the database
+     */
+    public String nextId() throws SQLException {
+        seed();
+        // Format with leading zeros (e.g., SALE001, SALE021)
+        return String.format("SALE%03d", lastNumber.incrementAndGet());
+    }
+
+    /**
+     * Records an ID that was stored without going through {@link #nextId()},
+     * so the counter never hands it out again.
+     *
+     * @param id The sale ID that was stored
+     */
+    public void observe(String id) {
+        long number = parseNumber(id);
+        if (number > 0) {
+            lastNumber.accumulateAndGet(number, Math::max);
+        }
+    }
+
+    /**
+     * Reads the highest sale number from the database the first time it is
+     * needed. Only the id column is read, and only once.
+     */
+    private void seed() throws SQLException {
+        if (seeded) {
+            return;
+        }
+        synchronized (this) {
+            if (seeded) {
+                return;
+            }
+
+            try (Connection conn = DatabaseConfig.getConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT id FROM Sales WHERE id LIKE 'SALE%'")) {
+
+                while (rs.next()) {
+                    observe(rs.getString("id"));
+                }
+            } catch (ClassNotFoundException e) {
+                throw new SQLException("Database driver not found", e);
+            }
+
+            seeded = true;
+        }
+    }
+
+    private static long parseNumber(String id) {
+        if (id == null) {
+            return -1;
+        }
+        Matcher matcher = SALE_ID_PATTERN.matcher(id);
+        if (!matcher.matches()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            // Skip if the number part is not a valid integer
+            return -1;
+        }
+    }
+}
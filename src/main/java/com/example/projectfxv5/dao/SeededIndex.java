@@ -0,0 +1,163 @@
+package com.example.projectfxv5.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * An in-memory view of one table, built from a single scan by {@link #seed()}
+ * and afterwards kept current by registering it as the table DAO's listener.
+ * <p>
+ * The structures a subclass searches are held in one contents object of type
+ * C. A seed scans into a new contents object without holding the index's
+ * lock and then swaps it in within a short synchronized block, so queries,
+ * which synchronize on the index, keep answering from the previous contents
+ * (empty before the first seed) instead of waiting for the scan. A change
+ * reported during the scan is applied to the current contents and replayed
+ * on the new ones before the swap, since the scan may or may not have seen
+ * it. Changes reported before the first seed are ignored, as the scan sees
+ * them.
+ *
+ * @param <T> The entity type
+ * @param <C> The structures the subclass searches
+ */
+public abstract class SeededIndex<T, C> implements EntityListener<T> {
+    private final DAO<T, ?> source;
+    // Held for a whole seed, so two seeds never scan at the same time
+    private final Object seedLock = new Object();
+
+    private C contents;
+    // Changes reported while a seed is scanning; null when none is
+    private List<Consumer<C>> pending;
+    private volatile boolean seeded;
+
+    /**
+     * @param source Reads all entities when the index is seeded
+     * @param empty The contents to answer queries from until the first seed
+     */
+    protected SeededIndex(DAO<T, ?> source, C empty) {
+        this.source = source;
+        this.contents = empty;
+    }
+
+    /**
+     * Builds the contents from one scan of the table and swaps them in.
+     * Runs on the calling thread for as long as the scan takes.
+     *
+     * @throws SQLException if a database error occurs
+     */
+    public void seed() throws SQLException {
+        synchronized (seedLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            try {
+                C built;
+                try (Stream<T> all = source.stream()) {
+                    built = build(all.iterator());
+                }
+                synchronized (this) {
+                    for (Consumer<C> change : pending) {
+                        change.accept(built);
+                    }
+                    contents = built;
+                    seeded = true;
+                }
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Seeds the index unless a seed has already completed. If one is running,
+     * waits for it rather than scanning the table a second time.
+     *
+     * @throws SQLException if a database error occurs
+     */
+    public void ensureSeeded() throws SQLException {
+        if (!seeded) {
+            synchronized (seedLock) {
+                if (!seeded) {
+                    seed();
+                }
+            }
+        }
+    }
+
+    /**
+     * Does not wait for a running seed, so it is safe to call on the FX thread.
+     *
+     * @return true once a seed has completed
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * @return The number of entities in the index
+     */
+    public synchronized int size() {
+        return size(contents);
+    }
+
+    @Override
+    public final synchronized void added(T entity) {
+        change(current -> put(current, entity));
+    }
+
+    @Override
+    public final synchronized void updated(T before, T after) {
+        change(current -> put(current, after));
+    }
+
+    @Override
+    public final synchronized void deleted(T entity) {
+        change(current -> remove(current, entity));
+    }
+
+    /**
+     * @return The contents to answer a query from; call while synchronized on the index
+     */
+    protected final C contents() {
+        return contents;
+    }
+
+    /**
+     * Builds new contents from every row of the table. Called without the
+     * index's lock, so it must only touch the contents it creates.
+     *
+     * @param rows The rows of the table
+     * @return The new contents
+     */
+    protected abstract C build(Iterator<T> rows);
+
+    /**
+     * Adds an entity, replacing any entity with the same ID.
+     */
+    protected abstract void put(C contents, T entity);
+
+    /**
+     * Removes the entity with the given entity's ID, if there is one.
+     */
+    protected abstract void remove(C contents, T entity);
+
+    /**
+     * @return The number of entities in the contents
+     */
+    protected abstract int size(C contents);
+
+    private void change(Consumer<C> change) {
+        if (pending != null) {
+            pending.add(change);
+        }
+        if (seeded) {
+            change.accept(contents);
+        }
+    }
+}
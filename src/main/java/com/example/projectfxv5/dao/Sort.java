@@ -0,0 +1,74 @@
+package com.example.projectfxv5.dao;
+
+/**
+ * Sort order for paginated queries: a column and a direction. Rows with the
+ * same value are always ordered by ID, so every row has a stable position.
+ * Each DAO only accepts the columns it lists as sortable.
+ */
+public final class Sort {
+    private final String column;
+    private final boolean ascending;
+
+    private Sort(String column, boolean ascending) {
+        this.column = column;
+        this.ascending = ascending;
+    }
+
+    /**
+     * @param column The entity property to sort by, e.g. "price"
+     * @return An ascending sort on the column
+     */
+    public static Sort by(String column) {
+        return new Sort(column, true);
+    }
+
+    /**
+     * @return An ascending sort on the ID
+     */
+    public static Sort byId() {
+        return by("id");
+    }
+
+    /**
+     * @return The same column sorted in descending order
+     */
+    public Sort descending() {
+        return new Sort(column, false);
+    }
+
+    /**
+     * @return The entity property to sort by
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * @return true for ascending order
+     */
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Sort)) {
+            return false;
+        }
+        Sort other = (Sort) o;
+        return ascending == other.ascending && column.equals(other.column);
+    }
+
+    @Override
+    public int hashCode() {
+        return column.hashCode() * 31 + (ascending ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return column + (ascending ? " ASC" : " DESC");
+    }
+}
@@ -0,0 +1,406 @@
+package com.example.projectfxv5.dao;
+
+import com.example.projectfxv5.DatabaseConfig;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Small SQL helpers shared by the DAO implementations.
+ */
+final class SqlUtils {
+
+    // Keeps IN (...) lists well below the parameter limits of the JDBC drivers we use
+    static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    /**
+     * Copies the fields of an entity into the parameters of a prepared statement.
+     *
+     * @param <T> The entity type
+     */
+    @FunctionalInterface
+    interface StatementBinder<T> {
+        void bind(PreparedStatement stmt, T entity) throws SQLException;
+    }
+
+    /**
+     * Maps the current row of a result set to an entity.
+     *
+     * @param <T> The entity type
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private SqlUtils() {
+    }
+
+    /**
+     * Builds a comma separated list of JDBC placeholders.
+     *
+     * @param count The number of placeholders
+     * @return A string such as "?, ?, ?"
+     */
+    static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Splits a collection of IDs into de-duplicated chunks small enough for
+     * one IN (...) query each. Null IDs are dropped.
+     *
+     * @param ids The IDs to split
+     * @param <ID> The ID type
+     * @return The chunks, in the order the IDs were given
+     */
+    static <ID> List<List<ID>> chunk(Collection<ID> ids) {
+        List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(Objects::isNull);
+
+        List<List<ID>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Reads the rows of a table whose IDs are in the given collection. The IDs
+     * are sent in chunks, so each chunk costs one query on a single connection.
+     *
+     * @param table The table, whose key column is named id
+     * @param ids The IDs of the rows to read
+     * @param mapper Maps one row to an entity
+     * @param idOf Returns the ID of an entity
+     * @param <T> The entity type
+     * @return Map from ID to entity; IDs that were not found are absent
+     * @throws SQLException if a database error occurs
+     */
+    static <T> Map<String, T> queryByIds(String table, Collection<String> ids, RowMapper<T> mapper,
+                                         Function<T, String> idOf) throws SQLException {
+        Map<String, T> found = new HashMap<>();
+        List<List<String>> chunks = chunk(ids);
+        if (chunks.isEmpty()) {
+            return found;
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            for (List<String> chunk : chunks) {
+                String sql = "SELECT * FROM " + table + " WHERE id IN (" + placeholders(chunk.size()) + ")";
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setString(i + 1, chunk.get(i));
+                    }
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            T entity = mapper.map(rs);
+                            found.put(idOf.apply(entity), entity);
+                        }
+                    }
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+
+        return found;
+    }
+
+    /**
+     * Writes many rows with one prepared statement and one transaction.
+     * Rows are sent in JDBC batches of {@code db.batch.size}. A row the database
+     * rejects is reported in the result and the batch carries on with the next
+     * row, so one bad row does not abort the whole intake.
+     * A row whose statement matched nothing (e.g. an update of a missing ID)
+     * counts as a failure too.
+     *
+     * @param sql The INSERT or UPDATE statement
+     * @param entities The entities to write
+     * @param binder Binds one entity to the statement parameters
+     * @param <T> The entity type
+     * @return Which rows were written and which failed
+     * @throws SQLException if the connection fails or the transaction cannot be committed
+     */
+    static <T> BatchResult<T> executeBatch(String sql, Collection<T> entities, StatementBinder<T> binder)
+            throws SQLException {
+        BatchResult<T> result = new BatchResult<>();
+        if (entities.isEmpty()) {
+            return result;
+        }
+
+        int batchSize = Math.max(1, DatabaseConfig.getIntProperty("db.batch.size", 100));
+        List<T> rows = new ArrayList<>(entities);
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            conn.setAutoCommit(false);
+            try {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    List<T> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+                    writeBatch(pstmt, batch, binder, result);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Sends one batch. Drivers either stop at the first bad row or carry on and
+     * mark it as failed; in both cases the rows reported as executed stay in the
+     * transaction, the bad row is recorded, and the rest of the batch is resent.
+     */
+    private static <T> void writeBatch(PreparedStatement pstmt, List<T> batch,
+                                       StatementBinder<T> binder, BatchResult<T> result) throws SQLException {
+        int from = 0;
+        while (from < batch.size()) {
+            List<T> pending = batch.subList(from, batch.size());
+            int[] counts;
+            SQLException error = null;
+            try {
+                for (T entity : pending) {
+                    binder.bind(pstmt, entity);
+                    pstmt.addBatch();
+                }
+                counts = pstmt.executeBatch();
+            } catch (SQLException e) {
+                BatchUpdateException batchError = findBatchError(e);
+                if (batchError == null) {
+                    throw e;
+                }
+                pstmt.clearBatch();
+                counts = batchError.getUpdateCounts();
+                error = e;
+            }
+
+            int executed = Math.min(counts.length, pending.size());
+            for (int i = 0; i < executed; i++) {
+                if (counts[i] == Statement.EXECUTE_FAILED) {
+                    result.addFailure(pending.get(i), error != null ? error.getMessage() : "Row was rejected", error);
+                } else if (counts[i] == 0) {
+                    result.addFailure(pending.get(i), "No matching row", null);
+                } else {
+                    result.addSuccess(pending.get(i));
+                }
+            }
+            from += executed;
+
+            if (executed < pending.size()) {
+                if (error == null) {
+                    throw new SQLException("Driver reported " + executed + " results for a batch of " + pending.size());
+                }
+                // The driver stopped at this row
+                result.addFailure(pending.get(executed), error.getMessage(), error);
+                from++;
+            }
+        }
+    }
+
+    private static BatchUpdateException findBatchError(Throwable error) {
+        // Some drivers, UCanAccess among them, wrap the BatchUpdateException in their own exception
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof BatchUpdateException) {
+                return (BatchUpdateException) t;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fetches one page of a keyset-paginated query. The WHERE clause picks up
+     * after the given key, so no rows are skipped on the server or client, and
+     * one row more than the limit is read to tell whether another page follows.
+     *
+     * @param select The SELECT ... FROM ... part of the query, without WHERE or ORDER BY
+     * @param idColumn The SQL expression of the ID column, e.g. "id" or "s.id"
+     * @param sortColumns Sortable property names mapped to their SQL expressions
+     * @param after The key of the last row of the previous page, or null for the first page
+     * @param limit The maximum number of rows on the page
+     * @param sort The sort order
+     * @param mapper Maps one row to an entity
+     * @param <T> The entity type
+     * @return The page
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if the sort column is not sortable or the limit is not positive
+     */
+    static <T> Page<T> queryPage(String select, String idColumn, Map<String, String> sortColumns,
+                                 Page.Key after, int limit, Sort sort, RowMapper<T> mapper) throws SQLException {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + limit);
+        }
+        String column = sortColumns.get(sort.getColumn());
+        if (column == null) {
+            throw new IllegalArgumentException("Cannot sort by " + sort.getColumn()
+                    + "; sortable columns are " + sortColumns.keySet());
+        }
+
+        boolean byId = column.equals(idColumn);
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(select);
+
+        if (after != null) {
+            sql.append(" WHERE ").append(keysetCondition(column, idColumn, byId, sort.isAscending(), after, params));
+        }
+        sql.append(" ORDER BY ").append(column).append(sort.isAscending() ? " ASC" : " DESC");
+        if (!byId) {
+            // NULLs are placed explicitly so the keyset condition knows where they are
+            sql.append(sort.isAscending() ? " NULLS FIRST" : " NULLS LAST").append(", ").append(idColumn).append(" ASC");
+        }
+        sql.append(" LIMIT ?");
+        params.add(limit + 1);
+
+        List<T> items = new ArrayList<>(limit);
+        Page.Key lastKey = null;
+        boolean hasMore = false;
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (items.size() == limit) {
+                        hasMore = true;
+                        break;
+                    }
+                    items.add(mapper.map(rs));
+                    lastKey = new Page.Key(rs.getObject(label(column)), rs.getString(label(idColumn)));
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+
+        return new Page<>(items, hasMore ? lastKey : null);
+    }
+
+    private static String keysetCondition(String column, String idColumn, boolean byId, boolean ascending,
+                                          Page.Key after, List<Object> params) {
+        if (byId) {
+            params.add(after.getId());
+            return idColumn + (ascending ? " > ?" : " < ?");
+        }
+
+        if (after.getSortValue() == null) {
+            // Still inside the NULL block: later NULLs by ID, then (ascending) every non-NULL value
+            params.add(after.getId());
+            String rest = "(" + column + " IS NULL AND " + idColumn + " > ?)";
+            return ascending ? "(" + rest + " OR " + column + " IS NOT NULL)" : rest;
+        }
+
+        params.add(after.getSortValue());
+        params.add(after.getSortValue());
+        params.add(after.getId());
+        String condition = column + (ascending ? " > ?" : " < ?")
+                + " OR (" + column + " = ? AND " + idColumn + " > ?)";
+        return "(" + condition + (ascending ? "" : " OR " + column + " IS NULL") + ")";
+    }
+
+    /**
+     * @return The result set label of a possibly table-qualified column, e.g. "date" for "s.date"
+     */
+    private static String label(String column) {
+        return column.substring(column.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Runs a query and returns its rows as a lazily read stream. The result set
+     * is forward-only and read-only with a fetch size of {@code db.fetch.size},
+     * so rows are mapped one at a time as the stream is consumed. Closing the
+     * stream closes the result set and returns the connection to the pool.
+     *
+     * @param sql The query
+     * @param mapper Maps one row to an entity
+     * @param <T> The entity type
+     * @return A stream that must be closed
+     * @throws SQLException if the query cannot be started
+     */
+    static <T> Stream<T> stream(String sql, RowMapper<T> mapper) throws SQLException {
+        Connection conn;
+        try {
+            conn = DatabaseConfig.getConnection();
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+
+        Statement stmt = null;
+        try {
+            stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(Math.max(1, DatabaseConfig.getIntProperty("db.fetch.size", 500)));
+            ResultSet rs = stmt.executeQuery(sql);
+
+            Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(mapper.map(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new UncheckedSQLException(e);
+                    }
+                }
+            };
+
+            Statement opened = stmt;
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                try (conn; opened; rs) {
+                    // Closing the resources is all that is needed
+                } catch (SQLException e) {
+                    throw new UncheckedSQLException(e);
+                }
+            });
+        } catch (SQLException | RuntimeException e) {
+            try (conn) {
+                if (stmt != null) {
+                    stmt.close();
+                }
+            } catch (SQLException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+}
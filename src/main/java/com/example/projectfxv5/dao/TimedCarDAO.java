@@ -0,0 +1,50 @@
+package com.example.projectfxv5.dao;
+
+import com.example.projectfxv5.model.Car;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * A {@link TimedDAO} for cars that also times the stock queries of
+ * {@link CarDAO}, e.g. "Car.countUnsoldCars".
+ */
+public class TimedCarDAO extends TimedDAO<Car, String> {
+    private final CarDAO cars;
+
+    /**
+     * @param cars The DAO that reads from and writes to the database
+     */
+    public TimedCarDAO(CarDAO cars) {
+        super(cars, "Car");
+        this.cars = cars;
+    }
+
+    /**
+     * @see CarDAO#getUnsoldCars()
+     */
+    public List<Car> getUnsoldCars() throws SQLException {
+        return time("getUnsoldCars", cars::getUnsoldCars, List::size);
+    }
+
+    /**
+     * @see CarDAO#countCars()
+     */
+    public int countCars() throws SQLException {
+        return time("countCars", cars::countCars, count -> 1);
+    }
+
+    /**
+     * @see CarDAO#countUnsoldCars()
+     */
+    public int countUnsoldCars() throws SQLException {
+        return time("countUnsoldCars", cars::countUnsoldCars, count -> 1);
+    }
+
+    /**
+     * @see CarDAO#getUnsoldStockValue()
+     */
+    public double getUnsoldStockValue() throws SQLException {
+        return time("getUnsoldStockValue", cars::getUnsoldStockValue, value -> 1);
+    }
+}
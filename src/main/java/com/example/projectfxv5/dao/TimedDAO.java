@@ -0,0 +1,159 @@
+package com.example.projectfxv5.dao;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Records the latency and row count of every call to another DAO in
+ * {@link DaoMetrics}, under the entity name and method, e.g. "Car.getAll".
+ * Subclasses such as {@link TimedCarDAO} time the queries a DAO offers
+ * beyond the interface the same way.
+ *
+ * @param <T> The entity type
+ * @param <ID> The type of the entity's ID
+ */
+public class TimedDAO<T, ID> implements DAO<T, ID> {
+    private final DAO<T, ID> delegate;
+    private final String entity;
+
+    /**
+     * Creates a timer in front of the given DAO.
+     *
+     * @param delegate The DAO that reads from and writes to the database
+     * @param entity The entity name the operations are recorded under, e.g. "Car"
+     */
+    public TimedDAO(DAO<T, ID> delegate, String entity) {
+        this.delegate = delegate;
+        this.entity = entity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<T> getAll() throws SQLException {
+        return time("getAll", delegate::getAll, List::size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T getById(ID id) throws SQLException {
+        return time("getById", () -> delegate.getById(id), found -> 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<ID, T> getByIds(Collection<ID> ids) throws SQLException {
+        return time("getByIds", () -> delegate.getByIds(ids), Map::size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<T> getPage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return time("getPage", () -> delegate.getPage(after, limit, sort), page -> page.getItems().size());
+    }
+
+    /**
+     * {@inheritDoc}
+     * The call is timed from the query until the stream is closed, so it
+     * includes the time the caller spends consuming the rows.
+     */
+    @Override
+    public Stream<T> stream() throws SQLException {
+        return timeStream("stream", delegate::stream);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(T entity) throws SQLException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.add(entity);
+            failed = false;
+        } finally {
+            record("add", start, failed ? 0 : 1, failed);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(T entity) throws SQLException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.update(entity);
+            failed = false;
+        } finally {
+            record("update", start, failed ? 0 : 1, failed);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<T> addAll(Collection<T> entities) throws SQLException {
+        return time("addAll", () -> delegate.addAll(entities), BatchResult::getSuccessCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResult<T> updateAll(Collection<T> entities) throws SQLException {
+        return time("updateAll", () -> delegate.updateAll(entities), BatchResult::getSuccessCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int delete(ID id) throws SQLException {
+        return time("delete", () -> delegate.delete(id), deleted -> Math.max(0, deleted));
+    }
+
+    /**
+     * @return The DAO this one times
+     */
+    public DAO<T, ID> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String toString() {
+        return "TimedDAO[" + entity + "]";
+    }
+
+    /**
+     * Runs a call on the delegate and records it under the entity name and the given method.
+     */
+    <R> R time(String method, DaoMetrics.Query<R> query, ToLongFunction<? super R> rows) throws SQLException {
+        return DaoMetrics.time(entity + "." + method, query, rows);
+    }
+
+    /**
+     * Opens a stream on the delegate and records it, until closed, under the entity name and the given method.
+     */
+    <R> Stream<R> timeStream(String method, DaoMetrics.Query<Stream<R>> query) throws SQLException {
+        return DaoMetrics.timeStream(entity + "." + method, query);
+    }
+
+    private void record(String method, long start, long rows, boolean failed) {
+        DaoMetrics.record(entity + "." + method, System.nanoTime() - start, rows, failed);
+    }
+}
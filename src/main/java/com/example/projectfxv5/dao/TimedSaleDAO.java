@@ -0,0 +1,77 @@
+package com.example.projectfxv5.dao;
+
+import com.example.projectfxv5.model.Sale;
+import com.example.projectfxv5.model.SaleView;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A {@link TimedDAO} for sales that also times the report, lookup and
+ * conditional insert queries of {@link SaleDAO}, e.g. "Sale.getSaleViewPage".
+ */
+public class TimedSaleDAO extends TimedDAO<Sale, String> {
+    private final SaleDAO sales;
+
+    /**
+     * @param sales The DAO that reads from and writes to the database
+     */
+    public TimedSaleDAO(SaleDAO sales) {
+        super(sales, "Sale");
+        this.sales = sales;
+    }
+
+    /**
+     * @see SaleDAO#countSales()
+     */
+    public int countSales() throws SQLException {
+        return time("countSales", sales::countSales, count -> 1);
+    }
+
+    /**
+     * @see SaleDAO#getAllSaleViews()
+     */
+    public List<SaleView> getAllSaleViews() throws SQLException {
+        return time("getAllSaleViews", sales::getAllSaleViews, List::size);
+    }
+
+    /**
+     * Timed from the query until the stream is closed, like {@link #stream()}.
+     *
+     * @see SaleDAO#streamSaleViews()
+     */
+    public Stream<SaleView> streamSaleViews() throws SQLException {
+        return timeStream("streamSaleViews", sales::streamSaleViews);
+    }
+
+    /**
+     * @see SaleDAO#getSaleViewPage(Page.Key, int, Sort)
+     */
+    public Page<SaleView> getSaleViewPage(Page.Key after, int limit, Sort sort) throws SQLException {
+        return time("getSaleViewPage", () -> sales.getSaleViewPage(after, limit, sort), page -> page.getItems().size());
+    }
+
+    /**
+     * @see SaleDAO#getSalesByEmployeeId(String)
+     */
+    public List<Sale> getSalesByEmployeeId(String employeeId) throws SQLException {
+        return time("getSalesByEmployeeId", () -> sales.getSalesByEmployeeId(employeeId), List::size);
+    }
+
+    /**
+     * @see SaleDAO#addSaleIfUnsold(Sale)
+     */
+    public boolean addSaleIfUnsold(Sale sale) throws SQLException {
+        return time("addSaleIfUnsold", () -> sales.addSaleIfUnsold(sale), added -> added ? 1 : 0);
+    }
+
+    /**
+     * Only the first call reads the database; later ones are answered from memory.
+     *
+     * @see SaleDAO#isCarSold(String)
+     */
+    public boolean isCarSold(String carId) throws SQLException {
+        return time("isCarSold", () -> sales.isCarSold(carId), sold -> 0);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.projectfxv5.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Carries an SQLException out of a {@link java.util.stream.Stream} returned by
+ * {@link DAO#stream()}, whose operations cannot throw checked exceptions.
+ */
+public class UncheckedSQLException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param cause The database error
+     */
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.projectfxv5.importer;
+
+import com.example.projectfxv5.DatabaseConfig;
+import com.example.projectfxv5.dao.BatchResult;
+import com.example.projectfxv5.dao.DAO;
+import com.example.projectfxv5.model.Car;
+import com.example.projectfxv5.model.Customer;
+import com.example.projectfxv5.model.Employee;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Imports entities from a CSV file into the database.
+ * The file is streamed record by record, so only one transaction's worth of
+ * rows is ever in memory. Columns are matched by header name, rows are
+ * validated the same way as the Add Car / Add Customer / Add Employee forms,
+ * and valid rows are written with the DAO's batched {@code addAll}.
+ *
+ * @param <T> The entity type
+ */
+public class CsvImporter<T> {
+
+    /**
+     * Turns one CSV row into an entity.
+     *
+     * @param <T> The entity type
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        /**
+         * @param row The row to convert
+         * @return The entity
+         * @throws IllegalArgumentException if the row is invalid; the message is shown to the user
+         */
+        T map(Row row);
+    }
+
+    /**
+     * One CSV record with access to its fields by column name.
+     */
+    public static final class Row {
+        private final Map<String, Integer> columns;
+        private final List<String> fields;
+
+        Row(Map<String, Integer> columns, List<String> fields) {
+            this.columns = columns;
+            this.fields = fields;
+        }
+
+        /**
+         * @param column The column name as given in the header
+         * @return The trimmed value, or an empty string if the column or field is missing
+         */
+        public String text(String column) {
+            Integer index = columns.get(normalize(column));
+            if (index == null || index >= fields.size()) {
+                return "";
+            }
+            return fields.get(index).trim();
+        }
+
+        /**
+         * @param column The column name as given in the header
+         * @param label The field name used in the error message
+         * @return The value of a numeric field
+         * @throws IllegalArgumentException if the value is not a valid number
+         */
+        public double number(String column, String label) {
+            try {
+                return Double.parseDouble(text(column));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(label + " must be a valid number");
+            }
+        }
+    }
+
+    private final DAO<T, String> dao;
+    private final RowMapper<T> mapper;
+    private final List<String> requiredColumns;
+
+    /**
+     * Creates an importer.
+     *
+     * @param dao The DAO the entities are written through
+     * @param mapper Converts and validates each row
+     * @param requiredColumns Columns the header must contain
+     */
+    public CsvImporter(DAO<T, String> dao, RowMapper<T> mapper, List<String> requiredColumns) {
+        this.dao = dao;
+        this.mapper = mapper;
+        this.requiredColumns = requiredColumns;
+    }
+
+    /**
+     * Creates an importer for cars. Price, mileage and weight must be numbers,
+     * as on the Add Car form; the ID is required because it is the primary key.
+     *
+     * @param dao The DAO the cars are written through
+     * @return The importer
+     */
+    public static CsvImporter<Car> forCars(DAO<Car, String> dao) {
+        return new CsvImporter<>(dao, row -> {
+            String id = row.text("id");
+            if (id.isEmpty()) {
+                throw new IllegalArgumentException("ID is required");
+            }
+            return new Car(
+                    id,
+                    row.text("model"),
+                    row.text("variant"),
+                    row.number("price", "Price"),
+                    row.number("mileage", "Mileage"),
+                    row.text("color"),
+                    row.text("type"),
+                    row.number("weight", "Weight"),
+                    row.text("numberPlate"),
+                    row.text("chassisNumber"));
+        }, List.of("id", "model", "variant", "price", "mileage", "weight"));
+    }
+
+    /**
+     * Creates an importer for customers. All fields are required, as on the
+     * Add Customer form.
+     *
+     * @param dao The DAO the customers are written through
+     * @return The importer
+     */
+    public static CsvImporter<Customer> forCustomers(DAO<Customer, String> dao) {
+        return new CsvImporter<>(dao, row -> {
+            String id = row.text("id");
+            String name = row.text("name");
+            String phone = row.text("phone");
+            String email = row.text("email");
+
+            if (id.isEmpty() || name.isEmpty() || phone.isEmpty() || email.isEmpty()) {
+                throw new IllegalArgumentException("All fields are required");
+            }
+            return new Customer(id, name, phone, email);
+        }, List.of("id", "name", "phone", "email"));
+    }
+
+    /**
+     * Creates an importer for employees. ID, name and salary are required and
+     * the salary must be a number, as on the Add Employee form. An optional
+     * commissionRate column sets each employee's rate.
+     *
+     * @param dao The DAO the employees are written through
+     * @return The importer
+     */
+    public static CsvImporter<Employee> forEmployees(DAO<Employee, String> dao) {
+        return new CsvImporter<>(dao, row -> {
+            String id = row.text("id");
+            String name = row.text("name");
+
+            if (id.isEmpty() || name.isEmpty() || row.text("salary").isEmpty()) {
+                throw new IllegalArgumentException("All fields are required");
+            }
+            double salary = row.number("salary", "Salary");
+            // The commission rate column is optional; the usual rate applies without it
+            double commissionRate = row.text("commissionRate").isEmpty()
+                    ? Employee.DEFAULT_COMMISSION_RATE
+                    : row.number("commissionRate", "Commission rate");
+            return new Employee(id, name, salary, commissionRate);
+        }, List.of("id", "name", "salary"));
+    }
+
+    /**
+     * Imports a UTF-8 CSV file.
+     *
+     * @param file The file to import
+     * @return What was imported and what was rejected
+     * @throws IOException if the file cannot be read or its header is missing required columns
+     * @throws SQLException if the database cannot be written to
+     */
+    public ImportReport importFile(Path file) throws IOException, SQLException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(reader, file.getFileName().toString());
+        }
+    }
+
+    /**
+     * Imports CSV data from a character stream. The first record is the header.
+     * Rows are committed in transactions of {@code import.transactionSize} rows,
+     * so rows committed before a fatal error stay in the database.
+     *
+     * @param reader The CSV source
+     * @param source A name for the source, used in the report
+     * @return What was imported and what was rejected
+     * @throws IOException if the source cannot be read or its header is missing required columns
+     * @throws SQLException if the database cannot be written to
+     */
+    public ImportReport importFrom(Reader reader, String source) throws IOException, SQLException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport(source);
+        CsvReader csv = new CsvReader(reader);
+
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IOException("The file is empty");
+        }
+        Map<String, Integer> columns = indexHeader(header);
+
+        List<String> missing = new ArrayList<>();
+        for (String column : requiredColumns) {
+            if (!columns.containsKey(normalize(column))) {
+                missing.add(column);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IOException("Missing column(s): " + String.join(", ", missing));
+        }
+
+        int transactionSize = Math.max(1, DatabaseConfig.getIntProperty("import.transactionSize", 1000));
+        List<T> pending = new ArrayList<>(transactionSize);
+        // Entities are matched back to their line by identity, so equal rows keep their own line numbers
+        Map<T, Long> lines = new IdentityHashMap<>();
+
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            report.rowRead();
+
+            try {
+                T entity = mapper.map(new Row(columns, fields));
+                pending.add(entity);
+                lines.put(entity, csv.getRecordLine());
+            } catch (IllegalArgumentException e) {
+                report.reject(csv.getRecordLine(), e.getMessage());
+            }
+
+            if (pending.size() >= transactionSize) {
+                flush(pending, lines, report);
+            }
+        }
+        flush(pending, lines, report);
+
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    private void flush(List<T> pending, Map<T, Long> lines, ImportReport report) throws SQLException {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        BatchResult<T> result = dao.addAll(pending);
+        report.imported(result.getSuccessCount());
+        for (BatchResult.Failure<T> failure : result.getFailures()) {
+            report.reject(lines.get(failure.getEntity()), failure.getMessage());
+        }
+
+        pending.clear();
+        lines.clear();
+    }
+
+    private static Map<String, Integer> indexHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                // Excel writes a byte order mark at the start of UTF-8 files
+                name = name.substring(1);
+            }
+            columns.putIfAbsent(normalize(name), i);
+        }
+        return columns;
+    }
+
+    /**
+     * Lets "Number Plate", "number_plate" and "numberPlate" all name the same column.
+     */
+    private static String normalize(String column) {
+        return column.replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+    }
+}
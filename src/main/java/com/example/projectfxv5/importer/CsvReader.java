@@ -0,0 +1,112 @@
+package com.example.projectfxv5.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records one at a time from a buffered stream.
+ * Follows RFC 4180: fields may be quoted, quotes inside quoted fields are
+ * doubled, and quoted fields may span lines. Only the current record is held
+ * in memory, so files of any size can be read.
+ */
+public class CsvReader implements Closeable {
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private long lineNumber = 1;
+    private long recordLine;
+    private boolean finished;
+
+    /**
+     * Creates a reader over the given character stream.
+     *
+     * @param reader The CSV source; wrapped in a BufferedReader if it is not one already
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The fields of the record, or null at the end of the stream
+     * @throws IOException if the stream cannot be read or a quoted field is never closed
+     */
+    public List<String> next() throws IOException {
+        if (finished) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        recordLine = lineNumber;
+        boolean quoted = false;
+        boolean sawAny = false;
+
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                finished = true;
+                if (quoted) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (!sawAny) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            sawAny = true;
+
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    // Swallow the \n of a Windows line ending
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                lineNumber++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * @return The line on which the record last returned by {@link #next()} started
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.projectfxv5.importer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Summary of one CSV import: how many rows were read, stored and rejected,
+ * why rows were rejected, and how long it took.
+ */
+public class ImportReport {
+
+    // Only the first rejections are kept so a bad file cannot exhaust memory
+    static final int MAX_REJECTIONS_KEPT = 1000;
+
+    /**
+     * A row that was not imported.
+     */
+    public static class Rejection {
+        private final long line;
+        private final String reason;
+
+        Rejection(long line, String reason) {
+            this.line = line;
+            this.reason = reason;
+        }
+
+        /**
+         * @return The line of the CSV file the row started on
+         */
+        public long getLine() {
+            return line;
+        }
+
+        /**
+         * @return Why the row was not imported
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + line + ": " + reason;
+        }
+    }
+
+    private final String source;
+    private final List<Rejection> rejections = new ArrayList<>();
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private long elapsedNanos;
+
+    ImportReport(String source) {
+        this.source = source;
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void imported(int count) {
+        imported += count;
+    }
+
+    void reject(long line, String reason) {
+        rejected++;
+        if (rejections.size() < MAX_REJECTIONS_KEPT) {
+            rejections.add(new Rejection(line, reason));
+        }
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        // Database rejections arrive after validation ones of later rows
+        rejections.sort(Comparator.comparingLong(Rejection::getLine));
+    }
+
+    /**
+     * @return The name of the file that was imported
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return The number of data rows read, not counting the header
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * @return The number of rows stored in the database
+     */
+    public long getImported() {
+        return imported;
+    }
+
+    /**
+     * @return The number of rows that failed validation or were refused by the database
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return The first rejected rows with their reasons, at most {@value #MAX_REJECTIONS_KEPT}
+     */
+    public List<Rejection> getRejections() {
+        return Collections.unmodifiableList(rejections);
+    }
+
+    /**
+     * @return Wall-clock time of the import in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * @return Rows read per second over the whole import
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Formats the report for display, listing at most the given number of rejected rows.
+     *
+     * @param maxRejections How many rejected rows to list
+     * @return A multi-line summary
+     */
+    public String toSummary(int maxRejections) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("File: ").append(source).append("\n");
+        sb.append("Rows read: ").append(rowsRead).append("\n");
+        sb.append("Imported: ").append(imported).append("\n");
+        sb.append("Rejected: ").append(rejected).append("\n");
+        sb.append(String.format("Time: %.1f s (%.0f rows/s)%n", elapsedNanos / 1e9, getRowsPerSecond()));
+
+        int shown = Math.min(maxRejections, rejections.size());
+        for (int i = 0; i < shown; i++) {
+            sb.append("\n").append(rejections.get(i));
+        }
+        if (rejected > shown) {
+            sb.append("\n... and ").append(rejected - shown).append(" more");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReport[source=" + source + ", read=" + rowsRead + ", imported=" + imported
+                + ", rejected=" + rejected + ", ms=" + getElapsedMillis() + "]";
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.projectfxv5.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Commission of every employee over a period, as computed by the commission
+ * service. Shared by the commission screens and exports.
+ */
+public class CommissionReport {
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Map<String, EmployeeCommission> employees;
+
+    /**
+     * @param from First day of the period, or null for no lower bound
+     * @param to Last day of the period, or null for no upper bound
+     * @param employees Commission per employee, keyed and ordered by employee ID
+     */
+    public CommissionReport(LocalDate from, LocalDate to, LinkedHashMap<String, EmployeeCommission> employees) {
+        this.from = from;
+        this.to = to;
+        this.employees = Collections.unmodifiableMap(employees);
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * @return Commission of every employee, ordered by employee ID
+     */
+    public List<EmployeeCommission> getEmployees() {
+        return new ArrayList<>(employees.values());
+    }
+
+    /**
+     * @param employeeId The ID of the employee
+     * @return The employee's commission, or null if there is no such employee
+     */
+    public EmployeeCommission getEmployee(String employeeId) {
+        return employees.get(employeeId);
+    }
+
+    public double getTotalSales() {
+        double total = 0;
+        for (EmployeeCommission employee : employees.values()) {
+            total += employee.getTotalSales();
+        }
+        return total;
+    }
+
+    public double getTotalCommission() {
+        double total = 0;
+        for (EmployeeCommission employee : employees.values()) {
+            total += employee.getTotalCommission();
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "Employees: " + employees.size() + ", Total Sales: " + getTotalSales()
+                + ", Total Commission: " + getTotalCommission();
+    }
+}
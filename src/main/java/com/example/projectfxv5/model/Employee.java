@@ -4,11 +4,14 @@ package com.example.projectfxv5.model;
  * Model class representing an Employee entity.
  */
 public class Employee {
+    // Rate used when none is stored for the employee
+    public static final double DEFAULT_COMMISSION_RATE = 0.10;
+
     private String id;
     private String name;
     private double salary;
     // Commission rate for the employee
-    private double commissionRate = 0.10;
+    private double commissionRate = DEFAULT_COMMISSION_RATE;
 
     // Default constructor
     public Employee() {
@@ -0,0 +1,118 @@
+package com.example.projectfxv5.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Commission earned by one employee: the sales that count towards it, each
+ * with its commission at the employee's rate, and the totals.
+ */
+public class EmployeeCommission {
+
+    /**
+     * One sale and the commission it earned.
+     */
+    public static class Line {
+        private final String saleId;
+        private final String carName;
+        private final String date;
+        private final double amount;
+        private final double commission;
+
+        public Line(String saleId, String carName, String date, double amount, double commission) {
+            this.saleId = saleId;
+            this.carName = carName;
+            this.date = date;
+            this.amount = amount;
+            this.commission = commission;
+        }
+
+        public String getSaleId() {
+            return saleId;
+        }
+
+        public String getCarName() {
+            return carName;
+        }
+
+        public String getDate() {
+            return date;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public double getCommission() {
+            return commission;
+        }
+
+        @Override
+        public String toString() {
+            return "Sale: " + saleId + ", Car: " + carName + ", Amount: " + amount + ", Commission: " + commission;
+        }
+    }
+
+    private final String employeeId;
+    private final String employeeName;
+    private final double commissionRate;
+    private final List<Line> lines = new ArrayList<>();
+    private double totalSales;
+    private double totalCommission;
+
+    public EmployeeCommission(String employeeId, String employeeName, double commissionRate) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.commissionRate = commissionRate;
+    }
+
+    /**
+     * Adds a sale and its commission at this employee's rate.
+     *
+     * @param saleId The ID of the sale
+     * @param carName The model and variant of the car sold
+     * @param date The date of the sale
+     * @param amount The sale amount
+     */
+    public void addSale(String saleId, String carName, String date, double amount) {
+        double commission = amount * commissionRate;
+        lines.add(new Line(saleId, carName, date, amount, commission));
+        totalSales += amount;
+        totalCommission += commission;
+    }
+
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public double getCommissionRate() {
+        return commissionRate;
+    }
+
+    public List<Line> getLines() {
+        return Collections.unmodifiableList(lines);
+    }
+
+    public int getSaleCount() {
+        return lines.size();
+    }
+
+    public double getTotalSales() {
+        return totalSales;
+    }
+
+    public double getTotalCommission() {
+        return totalCommission;
+    }
+
+    @Override
+    public String toString() {
+        return "ID: " + employeeId + ", Name: " + employeeName + ", Sales: " + lines.size()
+                + ", Total Sales: " + totalSales + ", Total Commission: " + totalCommission;
+    }
+}
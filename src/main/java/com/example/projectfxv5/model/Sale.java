@@ -11,14 +11,14 @@ public class Sale {
     private String customerId;
     private String employeeId;
     private double amount;
-    private String date;
+    private LocalDate date;
 
     // Default constructor
     public Sale() {
     }
 
     // Parameterized constructor
-    public Sale(String id, String carId, String customerId, String employeeId, double amount, String date) {
+    public Sale(String id, String carId, String customerId, String employeeId, double amount, LocalDate date) {
         this.id = id;
         this.carId = carId;
         this.customerId = customerId;
@@ -68,11 +68,11 @@ public class Sale {
         this.amount = amount;
     }
 
-    public String getDate() {
+    public LocalDate getDate() {
         return date;
     }
 
-    public void setDate(String date) {
+    public void setDate(LocalDate date) {
         this.date = date;
     }
 
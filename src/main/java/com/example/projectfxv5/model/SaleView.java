@@ -0,0 +1,67 @@
+package com.example.projectfxv5.model;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of a Sale with the car, customer and employee
+ * names already resolved, so tables and reports can display a sale
+ * without looking up the related rows.
+ */
+public class SaleView {
+    private final Sale sale;
+    private final String carName;
+    private final String customerName;
+    private final String employeeName;
+
+    // Parameterized constructor
+    public SaleView(Sale sale, String carName, String customerName, String employeeName) {
+        this.sale = sale;
+        this.carName = carName;
+        this.customerName = customerName;
+        this.employeeName = employeeName;
+    }
+
+    // Getters
+    public Sale getSale() {
+        return sale;
+    }
+
+    public String getId() {
+        return sale.getId();
+    }
+
+    public double getAmount() {
+        return sale.getAmount();
+    }
+
+    public LocalDate getDate() {
+        return sale.getDate();
+    }
+
+    /**
+     * @return The car's model and variant, or the car ID if the car no longer exists
+     */
+    public String getCarName() {
+        return carName;
+    }
+
+    /**
+     * @return The customer's name, or the customer ID if the customer no longer exists
+     */
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    /**
+     * @return The employee's name, or the employee ID if the employee no longer exists
+     */
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    @Override
+    public String toString() {
+        return "ID: " + getId() + ", Car: " + carName + ", Customer: " + customerName +
+               ", Employee: " + employeeName + ", Amount: " + getAmount() + ", Date: " + getDate();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.projectfxv5.report;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Writes a fixed-width table to a PDF one row at a time.
+ * A new page is started whenever the current one is full, and the column
+ * header is repeated at the top of every page. Page content is buffered in
+ * a temporary file rather than on the heap, so the size of the report is
+ * bounded by disk space, not memory.
+ */
+public class PdfReportWriter implements Closeable {
+    private static final PDRectangle PAGE_SIZE = PDRectangle.LETTER;
+    private static final float MARGIN = 50;
+    private static final float TITLE_FONT_SIZE = 16;
+    private static final float FONT_SIZE = 10;
+    private static final float LEADING = 12;
+    private static final PDFont FONT = PDType1Font.COURIER;
+    private static final PDFont BOLD_FONT = PDType1Font.COURIER_BOLD;
+
+    private final Path file;
+    private final String title;
+    private final String[] headers;
+    private final int[] widths;
+    private final PDDocument document;
+    private PDPageContentStream content;
+    private float y;
+    private int pageNumber;
+    private long rowCount;
+
+    /**
+     * Creates the writer. Nothing is written to the file until {@link #close()}.
+     *
+     * @param file The PDF file to write
+     * @param title The title shown at the top of the first page
+     * @param headers The column headers
+     * @param widths The width of each column in characters; longer values are cut off
+     */
+    public PdfReportWriter(Path file, String title, String[] headers, int[] widths) {
+        if (headers.length != widths.length) {
+            throw new IllegalArgumentException("Got " + headers.length + " headers for " + widths.length + " columns");
+        }
+        this.file = file;
+        this.title = title;
+        this.headers = headers.clone();
+        this.widths = widths.clone();
+        this.document = new PDDocument(MemoryUsageSetting.setupTempFileOnly());
+    }
+
+    /**
+     * Adds one row to the table, starting a new page first if the current one is full.
+     *
+     * @param values The cell values, one per column; null is written as an empty cell
+     * @throws IOException if the page content cannot be written
+     */
+    public void writeRow(Object... values) throws IOException {
+        if (values.length != widths.length) {
+            throw new IllegalArgumentException("Got " + values.length + " values for " + widths.length + " columns");
+        }
+        if (content == null || y - LEADING < MARGIN + LEADING) {
+            startPage();
+        }
+        writeLine(FONT, format(values));
+        rowCount++;
+    }
+
+    /**
+     * @return The number of rows written so far
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return The number of pages started so far
+     */
+    public int getPageCount() {
+        return pageNumber;
+    }
+
+    /**
+     * Finishes the last page, saves the document to the file and releases
+     * the temporary buffer. A report without rows still gets one page with
+     * the header.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (content == null) {
+                startPage();
+            }
+            finishPage();
+            document.save(file.toFile());
+        } finally {
+            document.close();
+        }
+    }
+
+    private void startPage() throws IOException {
+        finishPage();
+
+        PDPage page = new PDPage(PAGE_SIZE);
+        document.addPage(page);
+        pageNumber++;
+        content = new PDPageContentStream(document, page);
+        y = PAGE_SIZE.getHeight() - MARGIN;
+
+        if (pageNumber == 1) {
+            content.beginText();
+            content.setFont(BOLD_FONT, TITLE_FONT_SIZE);
+            content.newLineAtOffset(MARGIN, y);
+            content.showText(encodable(BOLD_FONT, title));
+            content.endText();
+            y -= TITLE_FONT_SIZE + LEADING;
+        }
+
+        // Header and rule repeated at the top of every page
+        writeLine(BOLD_FONT, format(headers));
+        char[] rule = new char[lineLength()];
+        Arrays.fill(rule, '-');
+        writeLine(FONT, new String(rule));
+    }
+
+    private void finishPage() throws IOException {
+        if (content == null) {
+            return;
+        }
+        String footer = "Page " + pageNumber;
+        content.beginText();
+        content.setFont(FONT, FONT_SIZE);
+        content.newLineAtOffset(PAGE_SIZE.getWidth() - MARGIN - FONT.getStringWidth(footer) / 1000 * FONT_SIZE,
+                MARGIN / 2);
+        content.showText(footer);
+        content.endText();
+        content.close();
+        content = null;
+    }
+
+    private void writeLine(PDFont font, String line) throws IOException {
+        y -= LEADING;
+        content.beginText();
+        content.setFont(font, FONT_SIZE);
+        content.newLineAtOffset(MARGIN, y);
+        content.showText(encodable(font, line));
+        content.endText();
+    }
+
+    private String format(Object[] values) {
+        StringBuilder line = new StringBuilder(lineLength());
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(' ');
+            }
+            String value = values[i] == null ? "" : values[i].toString();
+            if (value.length() > widths[i]) {
+                value = value.substring(0, widths[i]);
+            }
+            line.append(value);
+            for (int pad = value.length(); pad < widths[i]; pad++) {
+                line.append(' ');
+            }
+        }
+        return line.toString();
+    }
+
+    private int lineLength() {
+        int length = widths.length - 1;
+        for (int width : widths) {
+            length += width;
+        }
+        return length;
+    }
+
+    /**
+     * Replaces characters the standard fonts cannot show with '?', so an
+     * unusual name does not abort the whole export.
+     */
+    private static String encodable(PDFont font, String text) throws IOException {
+        try {
+            font.encode(text);
+            return text;
+        } catch (IllegalArgumentException e) {
+            StringBuilder sb = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                String c = String.valueOf(text.charAt(i));
+                try {
+                    font.encode(c);
+                    sb.append(c);
+                } catch (IllegalArgumentException unsupported) {
+                    sb.append('?');
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.projectfxv5.report;
+
+import com.example.projectfxv5.model.SaleView;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Stream;
+
+/**
+ * Writes the sales report as plain text or CSV, one sale at a time.
+ * Rows are formatted into a reused buffer and handed to a buffered writer,
+ * so memory use does not grow with the report. The report is written to a
+ * temporary file next to the target and only moved into place once it is
+ * complete, so a cancelled or failed export never leaves half a file behind.
+ */
+public class SalesReportExporter {
+
+    /**
+     * The file formats the report can be written in.
+     */
+    public enum Format {
+        TXT("Text Files", "txt"),
+        CSV("CSV Files", "csv");
+
+        private final String description;
+        private final String extension;
+
+        Format(String description, String extension) {
+            this.description = description;
+            this.extension = extension;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Receives progress reports from an export and tells it when to stop.
+     */
+    public interface Progress {
+        /**
+         * Called after every chunk of rows.
+         *
+         * @param rowsWritten The number of sales written so far
+         */
+        void rowsWritten(long rowsWritten);
+
+        /**
+         * @return true if the export should stop
+         */
+        boolean isCancelled();
+    }
+
+    // Rows between two progress reports and cancellation checks
+    static final int CHUNK_ROWS = 500;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Column widths of the text layout
+    private static final int[] TXT_WIDTHS = {8, 25, 20, 20, 10, 12};
+    private static final String[] HEADERS = {"ID", "Car", "Customer", "Employee", "Amount", "Date"};
+
+    private final Format format;
+    private final StringBuilder line = new StringBuilder(128);
+
+    /**
+     * @param format The file format to write
+     */
+    public SalesReportExporter(Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Writes the sales to a file.
+     *
+     * @param sales The sales to write; the caller closes the stream
+     * @param file The file to write
+     * @param progress Receives progress reports and can stop the export
+     * @return The number of sales written
+     * @throws IOException if the file cannot be written
+     * @throws CancellationException if the export was cancelled; the target file is left untouched
+     */
+    public long export(Stream<SaleView> sales, Path file, Progress progress) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".part");
+        boolean done = false;
+
+        try {
+            long rows;
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(Files.newOutputStream(temp), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                rows = write(sales.iterator(), writer, progress);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            done = true;
+            return rows;
+        } finally {
+            if (!done) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private long write(Iterator<SaleView> sales, Writer writer, Progress progress) throws IOException {
+        writeHeader(writer);
+
+        long rows = 0;
+        while (sales.hasNext()) {
+            writeRow(writer, sales.next());
+            rows++;
+
+            if (rows % CHUNK_ROWS == 0) {
+                if (progress.isCancelled()) {
+                    throw new CancellationException("Export cancelled after " + rows + " sales");
+                }
+                progress.rowsWritten(rows);
+            }
+        }
+        progress.rowsWritten(rows);
+        return rows;
+    }
+
+    private void writeHeader(Writer writer) throws IOException {
+        line.setLength(0);
+        if (format == Format.CSV) {
+            for (int i = 0; i < HEADERS.length; i++) {
+                appendCsv(i, HEADERS[i]);
+            }
+            line.append("\r\n");
+        } else {
+            for (int i = 0; i < HEADERS.length; i++) {
+                appendPadded(i, HEADERS[i]);
+            }
+            line.append('\n');
+            int width = TXT_WIDTHS.length - 1;
+            for (int column : TXT_WIDTHS) {
+                width += column;
+            }
+            for (int i = 0; i < width; i++) {
+                line.append('-');
+            }
+            line.append('\n');
+        }
+        writer.append(line);
+    }
+
+    private void writeRow(Writer writer, SaleView sale) throws IOException {
+        String amount = BigDecimal.valueOf(sale.getAmount()).setScale(2, RoundingMode.HALF_UP).toPlainString();
+        String[] values = {sale.getId(), sale.getCarName(), sale.getCustomerName(), sale.getEmployeeName(),
+                amount, sale.getDate() != null ? sale.getDate().toString() : null};
+
+        line.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (format == Format.CSV) {
+                appendCsv(i, values[i]);
+            } else {
+                appendPadded(i, values[i]);
+            }
+        }
+        line.append(format == Format.CSV ? "\r\n" : "\n");
+        writer.append(line);
+    }
+
+    /**
+     * Appends a left-aligned value padded to its column width. Longer values are
+     * kept whole, as the old String.format("%-25s") layout did.
+     */
+    private void appendPadded(int column, String value) {
+        if (column > 0) {
+            line.append(' ');
+        }
+        String text = value == null ? "" : value;
+        line.append(text);
+        for (int pad = text.length(); pad < TXT_WIDTHS[column]; pad++) {
+            line.append(' ');
+        }
+    }
+
+    /**
+     * Appends a CSV field, quoting it if it contains a separator, quote or line break.
+     */
+    private void appendCsv(int column, String value) {
+        if (column > 0) {
+            line.append(',');
+        }
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
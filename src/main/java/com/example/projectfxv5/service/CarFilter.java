@@ -0,0 +1,170 @@
+package com.example.projectfxv5.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * What a customer is looking for in a car, e.g. "white hybrids under 20,000
+ * with under 50,000 miles". Immutable; each {@code with...} method returns a
+ * copy with one criterion changed. A null bound or an empty value set means
+ * the criterion is not applied. Values are compared without regard to case.
+ */
+public final class CarFilter {
+
+    /**
+     * A filter that matches every car.
+     */
+    public static final CarFilter ANY = new CarFilter(null, null, null, null, null, null,
+            Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+
+    private final Double minPrice;
+    private final Double maxPrice;
+    private final Double minMileage;
+    private final Double maxMileage;
+    private final Double minWeight;
+    private final Double maxWeight;
+    private final Set<String> colors;
+    private final Set<String> types;
+    private final Set<String> models;
+
+    private CarFilter(Double minPrice, Double maxPrice, Double minMileage, Double maxMileage,
+                      Double minWeight, Double maxWeight, Set<String> colors, Set<String> types, Set<String> models) {
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.minMileage = minMileage;
+        this.maxMileage = maxMileage;
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+        this.colors = colors;
+        this.types = types;
+        this.models = models;
+    }
+
+    /**
+     * @param min The lowest price, inclusive, or null for no lower bound
+     * @param max The highest price, inclusive, or null for no upper bound
+     * @return A copy of this filter with the price range replaced
+     */
+    public CarFilter withPrice(Double min, Double max) {
+        return new CarFilter(min, max, minMileage, maxMileage, minWeight, maxWeight, colors, types, models);
+    }
+
+    /**
+     * @param min The lowest mileage, inclusive, or null for no lower bound
+     * @param max The highest mileage, inclusive, or null for no upper bound
+     * @return A copy of this filter with the mileage range replaced
+     */
+    public CarFilter withMileage(Double min, Double max) {
+        return new CarFilter(minPrice, maxPrice, min, max, minWeight, maxWeight, colors, types, models);
+    }
+
+    /**
+     * @param min The lowest weight, inclusive, or null for no lower bound
+     * @param max The highest weight, inclusive, or null for no upper bound
+     * @return A copy of this filter with the weight range replaced
+     */
+    public CarFilter withWeight(Double min, Double max) {
+        return new CarFilter(minPrice, maxPrice, minMileage, maxMileage, min, max, colors, types, models);
+    }
+
+    /**
+     * @param colors The colors to accept, or an empty collection for any color
+     * @return A copy of this filter with the colors replaced
+     */
+    public CarFilter withColors(Collection<String> colors) {
+        return new CarFilter(minPrice, maxPrice, minMileage, maxMileage, minWeight, maxWeight,
+                normalize(colors), types, models);
+    }
+
+    /**
+     * @param types The body types to accept, or an empty collection for any type
+     * @return A copy of this filter with the types replaced
+     */
+    public CarFilter withTypes(Collection<String> types) {
+        return new CarFilter(minPrice, maxPrice, minMileage, maxMileage, minWeight, maxWeight,
+                colors, normalize(types), models);
+    }
+
+    /**
+     * @param models The models to accept, or an empty collection for any model
+     * @return A copy of this filter with the models replaced
+     */
+    public CarFilter withModels(Collection<String> models) {
+        return new CarFilter(minPrice, maxPrice, minMileage, maxMileage, minWeight, maxWeight,
+                colors, types, normalize(models));
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public Double getMinMileage() {
+        return minMileage;
+    }
+
+    public Double getMaxMileage() {
+        return maxMileage;
+    }
+
+    public Double getMinWeight() {
+        return minWeight;
+    }
+
+    public Double getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * @return The accepted colors in lower case; empty for any color
+     */
+    public Set<String> getColors() {
+        return colors;
+    }
+
+    /**
+     * @return The accepted body types in lower case; empty for any type
+     */
+    public Set<String> getTypes() {
+        return types;
+    }
+
+    /**
+     * @return The accepted models in lower case; empty for any model
+     */
+    public Set<String> getModels() {
+        return models;
+    }
+
+    @Override
+    public String toString() {
+        return "CarFilter[price=" + minPrice + ".." + maxPrice + ", mileage=" + minMileage + ".." + maxMileage
+                + ", weight=" + minWeight + ".." + maxWeight + ", colors=" + colors + ", types=" + types
+                + ", models=" + models + "]";
+    }
+
+    /**
+     * @return The value as the indexes store it, or null for a missing value
+     */
+    static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> normalize(Collection<String> values) {
+        Set<String> result = new TreeSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    result.add(normalize(value));
+                }
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.projectfxv5.service;
+
+import com.example.projectfxv5.DatabaseConfig;
+import com.example.projectfxv5.model.CommissionReport;
+import com.example.projectfxv5.model.Employee;
+import com.example.projectfxv5.model.EmployeeCommission;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Computes the commission of every employee.
+ * All sales are read in one query joined to Employees and Cars, so each
+ * employee's stored commission rate and each car's name come with the sale
+ * and no further lookups are needed, however many employees there are.
+ */
+public class CommissionService {
+
+    // Employees first so that employees without sales still get a (zero) entry
+    private static final String COMMISSION_SQL =
+            "SELECT e.id AS employeeId, e.name AS employeeName, e.commissionRate, " +
+            "s.id AS saleId, s.carId, s.amount, s.date, c.model AS carModel, c.variant AS carVariant " +
+            "FROM Employees e " +
+            "LEFT JOIN Sales s ON s.employeeId = e.id%s " +
+            "LEFT JOIN Cars c ON c.id = s.carId " +
+            "ORDER BY e.id, s.date, s.id";
+
+    /**
+     * Computes every employee's commission over all sales.
+     *
+     * @return The commission report
+     * @throws SQLException if a database error occurs
+     */
+    public CommissionReport calculate() throws SQLException {
+        return calculate(null, null);
+    }
+
+    /**
+     * Computes every employee's commission over the sales in a period.
+     *
+     * @param from First day of the period, or null for no lower bound
+     * @param to Last day of the period, or null for no upper bound
+     * @return The commission report
+     * @throws SQLException if a database error occurs
+     */
+    public CommissionReport calculate(LocalDate from, LocalDate to) throws SQLException {
+        // Dates are stored as ISO text, which sorts the same way as the dates themselves
+        StringBuilder dateFilter = new StringBuilder();
+        List<String> params = new ArrayList<>();
+        if (from != null) {
+            dateFilter.append(" AND s.date >= ?");
+            params.add(from.toString());
+        }
+        if (to != null) {
+            dateFilter.append(" AND s.date <= ?");
+            params.add(to.toString());
+        }
+
+        LinkedHashMap<String, EmployeeCommission> employees = new LinkedHashMap<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(String.format(COMMISSION_SQL, dateFilter))) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setString(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String employeeId = rs.getString("employeeId");
+                    EmployeeCommission employee = employees.get(employeeId);
+                    if (employee == null) {
+                        double rate = rs.getDouble("commissionRate");
+                        if (rs.wasNull()) {
+                            rate = Employee.DEFAULT_COMMISSION_RATE;
+                        }
+                        employee = new EmployeeCommission(employeeId, rs.getString("employeeName"), rate);
+                        employees.put(employeeId, employee);
+                    }
+
+                    String saleId = rs.getString("saleId");
+                    if (saleId == null) {
+                        // Employee without sales in the period
+                        continue;
+                    }
+
+                    String carModel = rs.getString("carModel");
+                    String carName = carModel != null ? carModel + " " + rs.getString("carVariant") : rs.getString("carId");
+                    employee.addSale(saleId, carName, rs.getString("date"), rs.getDouble("amount"));
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+
+        return new CommissionReport(from, to, employees);
+    }
+}
@@ -0,0 +1,525 @@
+package com.example.projectfxv5.service;
+
+import com.example.projectfxv5.dao.DAO;
+import com.example.projectfxv5.dao.SeededIndex;
+import com.example.projectfxv5.model.Customer;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search over customers by name, phone number, email and ID.
+ * Name words, phone digits and email addresses are kept in sorted maps, so a
+ * prefix is answered by one range lookup; a misspelt name word falls back to
+ * the words sharing the most trigrams with it. A search never touches the
+ * database; see {@link SeededIndex} for how the index is built and kept
+ * current from CustomerDAO.
+ */
+public class CustomerSearchIndex extends SeededIndex<Customer, CustomerSearchIndex.Contents> {
+
+    // Weights of the different ways a query term can match a customer
+    private static final float ID_SCORE = 12;
+    private static final float WORD_SCORE = 10;
+    private static final float WORD_PREFIX_SCORE = 8;
+    private static final float PHONE_SCORE = 9;
+    private static final float EMAIL_SCORE = 7;
+    private static final float FUZZY_SCORE = 6;
+
+    // Phone terms need this many digits, so "1" does not list everybody
+    private static final int MIN_PHONE_DIGITS = 3;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern PHONE_QUERY = Pattern.compile("[\\d\\s()+\\-.]+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * The postings and slots of the indexed customers, with the scratch
+     * arrays a search scores them in.
+     */
+    static final class Contents {
+        // Customers by slot; slots of deleted customers are reused
+        private Customer[] slots = new Customer[64];
+        private final Map<String, Integer> slotById = new HashMap<>();
+        private final IntList freeSlots = new IntList();
+
+        private final TreeMap<String, IntList> words = new TreeMap<>();
+        private final TreeMap<String, IntList> phones = new TreeMap<>();
+        private final TreeMap<String, IntList> reversedPhones = new TreeMap<>();
+        private final TreeMap<String, IntList> emails = new TreeMap<>();
+        private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+
+        // Scratch space for search, indexed by slot
+        private float[] totalScore = new float[64];
+        private float[] termScore = new float[64];
+        private int[] termsMatched = new int[64];
+        private int[] termStamp = new int[64];
+        private int stamp;
+
+        List<Customer> search(String query, int limit) {
+            List<String> terms = termsOf(query);
+            if (terms.isEmpty() || limit < 1) {
+                return Collections.emptyList();
+            }
+
+            IntList candidates = new IntList();
+            for (int term = 0; term < terms.size(); term++) {
+                stamp++;
+                IntList matched = new IntList();
+                scoreTerm(terms.get(term), matched);
+
+                // Keep only the customers that matched every term so far
+                for (int i = 0; i < matched.size(); i++) {
+                    int slot = matched.get(i);
+                    if (termsMatched[slot] == term) {
+                        if (term == 0) {
+                            candidates.add(slot);
+                        }
+                        termsMatched[slot]++;
+                        totalScore[slot] += termScore[slot];
+                    }
+                }
+            }
+
+            // Best matches first; a small heap avoids sorting every candidate
+            PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, this::compareSlots);
+            for (int i = 0; i < candidates.size(); i++) {
+                int slot = candidates.get(i);
+                if (termsMatched[slot] == terms.size()
+                        && (best.size() < limit || compareSlots(slot, best.peek()) > 0)) {
+                    best.add(slot);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+
+            // Best first, and alphabetical among equally good matches
+            List<Integer> top = new ArrayList<>(best);
+            top.sort((x, y) -> {
+                int byScore = Float.compare(totalScore[y], totalScore[x]);
+                return byScore != 0 ? byScore : nameOf(x).compareToIgnoreCase(nameOf(y));
+            });
+            List<Customer> results = new ArrayList<>(top.size());
+            for (int slot : top) {
+                results.add(slots[slot]);
+            }
+
+            for (int i = 0; i < candidates.size(); i++) {
+                int slot = candidates.get(i);
+                termsMatched[slot] = 0;
+                totalScore[slot] = 0;
+            }
+            return results;
+        }
+
+        /**
+         * Scores every customer one query term matches. Each customer's best
+         * score for the term ends up in termScore and the customer in matched.
+         */
+        private void scoreTerm(String term, IntList matched) {
+            for (IntList posting : prefixRange(emails, term).values()) {
+                scoreAll(posting, EMAIL_SCORE, matched);
+            }
+            if (term.indexOf('@') >= 0) {
+                return;
+            }
+
+            Integer idSlot = slotById.get(key(term));
+            if (idSlot != null) {
+                score(idSlot, ID_SCORE, matched);
+            }
+
+            boolean wordHit = false;
+            for (Map.Entry<String, IntList> entry : prefixRange(words, term).entrySet()) {
+                float score = entry.getKey().length() == term.length() ? WORD_SCORE : WORD_PREFIX_SCORE;
+                scoreAll(entry.getValue(), score, matched);
+                wordHit = true;
+            }
+            if (!wordHit && term.length() >= 3) {
+                scoreFuzzy(term, matched);
+            }
+
+            if (term.length() >= MIN_PHONE_DIGITS && digitsOf(term).length() == term.length()) {
+                for (IntList posting : prefixRange(phones, term).values()) {
+                    scoreAll(posting, PHONE_SCORE, matched);
+                }
+                String reversed = new StringBuilder(term).reverse().toString();
+                for (IntList posting : prefixRange(reversedPhones, reversed).values()) {
+                    scoreAll(posting, PHONE_SCORE, matched);
+                }
+            }
+        }
+
+        /**
+         * Scores the name words within a typo or two of a term that matched no
+         * word exactly, e.g. "jonh" for "john". Only words sharing a trigram with
+         * the term are compared, so the whole vocabulary is never scanned.
+         */
+        private void scoreFuzzy(String term, IntList matched) {
+            int maxDistance = term.length() <= 5 ? 1 : 2;
+            Set<String> compared = new HashSet<>();
+            for (String gram : trigrams(term)) {
+                Set<String> candidates = wordsByTrigram.get(gram);
+                if (candidates == null) {
+                    continue;
+                }
+                for (String word : candidates) {
+                    if (Math.abs(word.length() - term.length()) > maxDistance || !compared.add(word)) {
+                        continue;
+                    }
+                    int distance = editDistance(term, word, maxDistance);
+                    if (distance <= maxDistance) {
+                        scoreAll(words.get(word), FUZZY_SCORE * (1 - (float) distance / term.length()), matched);
+                    }
+                }
+            }
+        }
+
+        private void scoreAll(IntList posting, float score, IntList matched) {
+            for (int i = 0; i < posting.size(); i++) {
+                score(posting.get(i), score, matched);
+            }
+        }
+
+        private void score(int slot, float score, IntList matched) {
+            if (termStamp[slot] != stamp) {
+                termStamp[slot] = stamp;
+                termScore[slot] = score;
+                matched.add(slot);
+            } else if (score > termScore[slot]) {
+                termScore[slot] = score;
+            }
+        }
+
+        /**
+         * Orders the worst match first, so the heap drops it when it is full.
+         * Equal scores are ordered by slot, which keeps the comparison cheap when
+         * a short prefix matches thousands of customers equally well.
+         */
+        private int compareSlots(int a, int b) {
+            int byScore = Float.compare(totalScore[a], totalScore[b]);
+            return byScore != 0 ? byScore : Integer.compare(b, a);
+        }
+
+        private String nameOf(int slot) {
+            return slots[slot].getName() == null ? "" : slots[slot].getName();
+        }
+
+        void put(Customer customer) {
+            remove(customer.getId());
+
+            int slot;
+            if (freeSlots.size() > 0) {
+                slot = freeSlots.removeLast();
+            } else {
+                slot = slotById.size();
+                if (slot == slots.length) {
+                    grow(slot * 2);
+                }
+            }
+            slots[slot] = customer;
+            slotById.put(key(customer.getId()), slot);
+
+            for (String word : wordsOf(customer.getName())) {
+                IntList posting = words.get(word);
+                if (posting == null) {
+                    posting = new IntList();
+                    words.put(word, posting);
+                    for (String gram : trigrams(word)) {
+                        wordsByTrigram.computeIfAbsent(gram, g -> new HashSet<>()).add(word);
+                    }
+                }
+                posting.add(slot);
+            }
+
+            String digits = digitsOf(customer.getPhone());
+            if (!digits.isEmpty()) {
+                addTo(phones, digits, slot);
+                addTo(reversedPhones, new StringBuilder(digits).reverse().toString(), slot);
+            }
+            if (customer.getEmail() != null && !customer.getEmail().isBlank()) {
+                addTo(emails, customer.getEmail().trim().toLowerCase(Locale.ROOT), slot);
+            }
+        }
+
+        void remove(String id) {
+            Integer slot = slotById.remove(key(id));
+            if (slot == null) {
+                return;
+            }
+            Customer customer = slots[slot];
+            slots[slot] = null;
+            freeSlots.add(slot);
+
+            for (String word : wordsOf(customer.getName())) {
+                if (removeFrom(words, word, slot)) {
+                    for (String gram : trigrams(word)) {
+                        Set<String> grams = wordsByTrigram.get(gram);
+                        if (grams != null) {
+                            grams.remove(word);
+                            if (grams.isEmpty()) {
+                                wordsByTrigram.remove(gram);
+                            }
+                        }
+                    }
+                }
+            }
+
+            String digits = digitsOf(customer.getPhone());
+            if (!digits.isEmpty()) {
+                removeFrom(phones, digits, slot);
+                removeFrom(reversedPhones, new StringBuilder(digits).reverse().toString(), slot);
+            }
+            if (customer.getEmail() != null && !customer.getEmail().isBlank()) {
+                removeFrom(emails, customer.getEmail().trim().toLowerCase(Locale.ROOT), slot);
+            }
+        }
+
+        private void grow(int capacity) {
+            slots = Arrays.copyOf(slots, capacity);
+            totalScore = Arrays.copyOf(totalScore, capacity);
+            termScore = Arrays.copyOf(termScore, capacity);
+            termsMatched = Arrays.copyOf(termsMatched, capacity);
+            termStamp = Arrays.copyOf(termStamp, capacity);
+        }
+    }
+
+    /**
+     * @param customers Reads all customers when the index is seeded
+     */
+    public CustomerSearchIndex(DAO<Customer, String> customers) {
+        super(customers, new Contents());
+    }
+
+    @Override
+    protected Contents build(Iterator<Customer> rows) {
+        Contents built = new Contents();
+        while (rows.hasNext()) {
+            built.put(rows.next());
+        }
+        return built;
+    }
+
+    @Override
+    protected void put(Contents contents, Customer customer) {
+        contents.put(customer);
+    }
+
+    @Override
+    protected void remove(Contents contents, Customer customer) {
+        contents.remove(customer.getId());
+    }
+
+    @Override
+    protected int size(Contents contents) {
+        return contents.slotById.size();
+    }
+
+    /**
+     * Finds the customers matching every word of a query, best matches first.
+     * A word matches a customer if it is the customer's ID, starts a word of
+     * the name, starts or ends the phone number (digits only, so "0412 555"
+     * and "(0412) 555" are the same), starts the email address, or is a near
+     * miss of a name word.
+     *
+     * @param query What the user typed
+     * @param limit The maximum number of results
+     * @return The matching customers, best first; empty for a blank query
+     */
+    public synchronized List<Customer> search(String query, int limit) {
+        return contents().search(query, limit);
+    }
+
+    /**
+     * Splits a query into the terms that must all match. A query made of
+     * phone number characters only is one term of its digits, so spaces
+     * inside a number do not split it; a word with '@' is an email term;
+     * everything else is split into lower-case words without accents.
+     */
+    private static List<String> termsOf(String query) {
+        List<String> terms = new ArrayList<>();
+        String trimmed = query == null ? "" : query.trim();
+        String digits = digitsOf(trimmed);
+        if (digits.length() >= MIN_PHONE_DIGITS && PHONE_QUERY.matcher(trimmed).matches()) {
+            terms.add(digits);
+            return terms;
+        }
+
+        for (String part : trimmed.split("\\s+")) {
+            if (part.indexOf('@') >= 0) {
+                terms.add(part.toLowerCase(Locale.ROOT));
+                continue;
+            }
+            for (String word : WORD_SEPARATORS.split(normalize(part))) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Counts the single-character insertions, deletions, substitutions and
+     * swaps of neighbouring characters that turn one word into the other.
+     *
+     * @return The distance, or max + 1 as soon as it is known to exceed max
+     */
+    private static int editDistance(String a, String b, int max) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previous2[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static void addTo(TreeMap<String, IntList> index, String key, int slot) {
+        index.computeIfAbsent(key, k -> new IntList()).add(slot);
+    }
+
+    /**
+     * @return true if the key has no customers left and was removed
+     */
+    private static boolean removeFrom(TreeMap<String, IntList> index, String key, int slot) {
+        IntList posting = index.get(key);
+        if (posting == null) {
+            return false;
+        }
+        posting.removeValue(slot);
+        if (posting.size() == 0) {
+            index.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    private static NavigableMap<String, IntList> prefixRange(TreeMap<String, IntList> index, String prefix) {
+        return index.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static String key(String id) {
+        return id == null ? "" : id.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * @return The text in lower case with accents removed, so "José" is found by "jose"
+     */
+    private static String normalize(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> wordsOf(String name) {
+        Set<String> result = new HashSet<>();
+        if (name != null) {
+            for (String word : WORD_SEPARATORS.split(normalize(name))) {
+                if (!word.isEmpty()) {
+                    result.add(word);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String digitsOf(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * @return The trigrams of a word padded with '$', e.g. "$jo", "joh", "ohn", "hn$" for "john"
+     */
+    private static List<String> trigrams(String word) {
+        String padded = "$" + word + "$";
+        List<String> grams = new ArrayList<>(padded.length());
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Growable list of primitive ints, so postings of slot numbers are not boxed.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int removeLast() {
+            return values[--size];
+        }
+
+        void removeValue(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    // Order does not matter, so the last value fills the gap
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
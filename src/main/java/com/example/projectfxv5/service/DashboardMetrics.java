@@ -0,0 +1,140 @@
+package com.example.projectfxv5.service;
+
+import com.example.projectfxv5.dao.DAO;
+import com.example.projectfxv5.dao.TimedCarDAO;
+import com.example.projectfxv5.model.Employee;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the dashboard figures up to date in the background.
+ * A single daemon thread recomputes a {@link MetricsSnapshot} on a fixed
+ * schedule; readers only ever see the last finished snapshot, so showing the
+ * dashboard never waits on the database. Sales figures come from
+ * {@link SalesAggregates}; only the stock figures are queried.
+ */
+public class DashboardMetrics {
+    private final TimedCarDAO cars;
+    private final DAO<Employee, String> employees;
+    private final SalesAggregates sales;
+    private final long intervalSeconds;
+    private final AtomicReference<MetricsSnapshot> latest = new AtomicReference<>();
+    private volatile Consumer<MetricsSnapshot> listener;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param cars Counts the stock; timed, so the refreshes show up in the DAO metrics
+     * @param employees Looks up the name of the top seller
+     * @param sales Running sales totals
+     * @param intervalSeconds Seconds between two refreshes
+     */
+    public DashboardMetrics(TimedCarDAO cars, DAO<Employee, String> employees, SalesAggregates sales, long intervalSeconds) {
+        this.cars = cars;
+        this.employees = employees;
+        this.sales = sales;
+        this.intervalSeconds = Math.max(1, intervalSeconds);
+    }
+
+    /**
+     * Starts refreshing: once right away, then every interval.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "dashboard-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops refreshing. The last snapshot stays available.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * @return The last computed snapshot, or null before the first refresh has finished
+     */
+    public MetricsSnapshot getLatest() {
+        return latest.get();
+    }
+
+    /**
+     * Sets the callback told about every new snapshot. It runs on the
+     * refresher thread, so UI code has to hand over to the FX thread itself.
+     *
+     * @param listener The callback, or null to remove it
+     */
+    public void setListener(Consumer<MetricsSnapshot> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Computes a snapshot from the current data.
+     *
+     * @return The new snapshot
+     * @throws SQLException if a database error occurs
+     */
+    public MetricsSnapshot compute() throws SQLException {
+        int stockCount = cars.countCars();
+        int unsoldCount = cars.countUnsoldCars();
+        double unsoldValue = cars.getUnsoldStockValue();
+
+        LocalDate today = LocalDate.now();
+        Totals salesToday = null;
+        Totals salesThisMonth = null;
+        String topSellerName = null;
+        Totals topSellerTotals = null;
+
+        // Before the aggregates are seeded the sales figures are unknown, not zero
+        if (sales.isSeeded()) {
+            salesToday = sales.getDayTotals(today);
+            salesThisMonth = sales.getPeriodTotals(today.withDayOfMonth(1), today);
+
+            String topSellerId = null;
+            for (Map.Entry<String, Totals> entry : sales.getTotalsByEmployee().entrySet()) {
+                if (topSellerTotals == null || entry.getValue().getSum() > topSellerTotals.getSum()) {
+                    topSellerId = entry.getKey();
+                    topSellerTotals = entry.getValue();
+                }
+            }
+            if (topSellerId != null) {
+                Employee employee = employees.getById(topSellerId);
+                topSellerName = employee != null ? employee.getName() : topSellerId;
+            }
+        }
+
+        return new MetricsSnapshot(LocalDateTime.now(), stockCount, unsoldCount, unsoldValue,
+                salesToday, salesThisMonth, topSellerName, topSellerTotals);
+    }
+
+    private void refresh() {
+        try {
+            MetricsSnapshot snapshot = compute();
+            latest.set(snapshot);
+            Consumer<MetricsSnapshot> current = listener;
+            if (current != null) {
+                current.accept(snapshot);
+            }
+        } catch (SQLException | RuntimeException e) {
+            // Keep the previous snapshot and try again on the next run
+            System.err.println("Error refreshing dashboard metrics: " + e.getMessage());
+        }
+    }
+}
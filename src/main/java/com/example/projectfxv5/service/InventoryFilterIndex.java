@@ -0,0 +1,381 @@
+package com.example.projectfxv5.service;
+
+import com.example.projectfxv5.dao.DAO;
+import com.example.projectfxv5.dao.SeededIndex;
+import com.example.projectfxv5.model.Car;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Answers composite stock queries such as "white SUVs under 20,000 with
+ * under 50,000 miles" from memory. Price, mileage and weight are kept in
+ * sorted range indexes and color, type and model in one bitmap per value;
+ * a filter is evaluated by intersecting the bitmaps of the value criteria
+ * and then narrowing the result down to each range. See {@link SeededIndex}
+ * for how the index is built and kept current from CarDAO.
+ */
+public class InventoryFilterIndex extends SeededIndex<Car, InventoryFilterIndex.Contents> {
+
+    /**
+     * One bitmap of cars per distinct value of a text attribute.
+     */
+    private static final class ValueIndex {
+        final Function<Car, String> attribute;
+        final Map<String, BitSet> cars = new HashMap<>();
+
+        ValueIndex(Function<Car, String> attribute) {
+            this.attribute = attribute;
+        }
+
+        void add(Car car, int slot) {
+            cars.computeIfAbsent(key(car), value -> new BitSet()).set(slot);
+        }
+
+        void remove(Car car, int slot) {
+            String key = key(car);
+            BitSet bits = cars.get(key);
+            if (bits != null) {
+                bits.clear(slot);
+                if (bits.isEmpty()) {
+                    cars.remove(key);
+                }
+            }
+        }
+
+        /**
+         * @return The cars with any of the given values
+         */
+        BitSet anyOf(Set<String> values) {
+            BitSet result = new BitSet();
+            for (String value : values) {
+                BitSet bits = cars.get(value);
+                if (bits != null) {
+                    result.or(bits);
+                }
+            }
+            return result;
+        }
+
+        private String key(Car car) {
+            String value = CarFilter.normalize(attribute.apply(car));
+            return value == null ? "" : value;
+        }
+    }
+
+    /**
+     * The slots, range indexes and bitmaps of the indexed cars.
+     */
+    static final class Contents {
+        /**
+         * Cars in sorted order of one numeric attribute, held as parallel
+         * primitive arrays. Changes only mark the arrays stale; they are re-sorted
+         * on the next query, since stock changes far less often than it is searched.
+         */
+        private final class RangeIndex {
+            final ToDoubleFunction<Car> attribute;
+            double[] values = new double[0];
+            int[] slotsByValue = new int[0];
+            boolean stale = true;
+
+            RangeIndex(ToDoubleFunction<Car> attribute) {
+                this.attribute = attribute;
+            }
+
+            /**
+             * @return The position of the first car in the range and of the first after it
+             */
+            int[] bounds(Double min, Double max) {
+                if (stale) {
+                    rebuild();
+                }
+                int from = min == null ? 0 : firstAtLeast(min, false);
+                int to = max == null ? values.length : firstAtLeast(max, true);
+                return new int[] {from, Math.max(from, to)};
+            }
+
+            /**
+             * Narrows the candidates down to the cars in the range, either by
+             * setting the bits of the range or, when there are fewer candidates
+             * than cars in the range, by checking the candidates one by one.
+             */
+            void retain(BitSet candidates, Double min, Double max) {
+                int[] range = bounds(min, max);
+                if (candidates.cardinality() < range[1] - range[0]) {
+                    for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                        double value = attribute.applyAsDouble(slots[slot]);
+                        if ((min != null && value < min) || (max != null && value > max)) {
+                            candidates.clear(slot);
+                        }
+                    }
+                } else {
+                    BitSet inRange = new BitSet(slots.length);
+                    for (int i = range[0]; i < range[1]; i++) {
+                        inRange.set(slotsByValue[i]);
+                    }
+                    candidates.and(inRange);
+                }
+            }
+
+            private int firstAtLeast(double bound, boolean past) {
+                // With past set, finds the first value greater than the bound instead
+                int low = 0;
+                int high = values.length;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (values[mid] < bound || (past && values[mid] == bound)) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                return low;
+            }
+
+            private void rebuild() {
+                Integer[] order = new Integer[used.cardinality()];
+                int i = 0;
+                for (int slot = used.nextSetBit(0); slot >= 0; slot = used.nextSetBit(slot + 1)) {
+                    order[i++] = slot;
+                }
+                Arrays.sort(order, (x, y) -> Double.compare(attribute.applyAsDouble(slots[x]),
+                        attribute.applyAsDouble(slots[y])));
+
+                values = new double[order.length];
+                slotsByValue = new int[order.length];
+                for (i = 0; i < order.length; i++) {
+                    slotsByValue[i] = order[i];
+                    values[i] = attribute.applyAsDouble(slots[order[i]]);
+                }
+                stale = false;
+            }
+        }
+
+        // Cars by slot; slots of deleted cars are reused
+        private Car[] slots = new Car[64];
+        private final Map<String, Integer> slotById = new ConcurrentHashMap<>();
+        private final BitSet used = new BitSet();
+
+        private final RangeIndex byPrice = new RangeIndex(Car::getPrice);
+        private final RangeIndex byMileage = new RangeIndex(Car::getMileage);
+        private final RangeIndex byWeight = new RangeIndex(Car::getWeight);
+        private final ValueIndex byColor = new ValueIndex(Car::getColor);
+        private final ValueIndex byType = new ValueIndex(Car::getType);
+        private final ValueIndex byModel = new ValueIndex(Car::getModel);
+        private final Map<String, String> colorNames = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Map<String, String> typeNames = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Map<String, String> modelNames = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        List<Car> getAll() {
+            List<Car> cars = new ArrayList<>(slotById.size());
+            for (int slot = used.nextSetBit(0); slot >= 0; slot = used.nextSetBit(slot + 1)) {
+                cars.add(slots[slot]);
+            }
+            return cars;
+        }
+
+        List<String> getColors() {
+            return new ArrayList<>(colorNames.values());
+        }
+
+        List<String> getTypes() {
+            return new ArrayList<>(typeNames.values());
+        }
+
+        List<String> getModels() {
+            return new ArrayList<>(modelNames.values());
+        }
+
+        List<Car> find(CarFilter filter) {
+            BitSet matches = evaluate(filter);
+            List<Car> cars = new ArrayList<>(matches.cardinality());
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                cars.add(slots[slot]);
+            }
+            return cars;
+        }
+
+        Predicate<Car> predicate(CarFilter filter) {
+            BitSet matches = evaluate(filter);
+            return car -> {
+                Integer slot = slotById.get(car.getId());
+                return slot != null && matches.get(slot);
+            };
+        }
+
+        /**
+         * Turns each criterion into a bitmap of cars and intersects them.
+         */
+        private BitSet evaluate(CarFilter filter) {
+            BitSet result = (BitSet) used.clone();
+            if (!filter.getColors().isEmpty()) {
+                result.and(byColor.anyOf(filter.getColors()));
+            }
+            if (!filter.getTypes().isEmpty()) {
+                result.and(byType.anyOf(filter.getTypes()));
+            }
+            if (!filter.getModels().isEmpty()) {
+                result.and(byModel.anyOf(filter.getModels()));
+            }
+
+            // Ranges last: by then the value filters have usually left few candidates to check
+            if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+                byPrice.retain(result, filter.getMinPrice(), filter.getMaxPrice());
+            }
+            if (filter.getMinMileage() != null || filter.getMaxMileage() != null) {
+                byMileage.retain(result, filter.getMinMileage(), filter.getMaxMileage());
+            }
+            if (filter.getMinWeight() != null || filter.getMaxWeight() != null) {
+                byWeight.retain(result, filter.getMinWeight(), filter.getMaxWeight());
+            }
+            return result;
+        }
+
+        void put(Car car) {
+            remove(car.getId());
+
+            int slot = used.nextClearBit(0);
+            if (slot == slots.length) {
+                slots = Arrays.copyOf(slots, slot * 2);
+            }
+            slots[slot] = car;
+            used.set(slot);
+            slotById.put(car.getId(), slot);
+
+            byPrice.stale = true;
+            byMileage.stale = true;
+            byWeight.stale = true;
+            byColor.add(car, slot);
+            byType.add(car, slot);
+            byModel.add(car, slot);
+            recordName(colorNames, car.getColor());
+            recordName(typeNames, car.getType());
+            recordName(modelNames, car.getModel());
+        }
+
+        void remove(String id) {
+            Integer slot = slotById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            Car car = slots[slot];
+            slots[slot] = null;
+            used.clear(slot);
+
+            byPrice.stale = true;
+            byMileage.stale = true;
+            byWeight.stale = true;
+            byColor.remove(car, slot);
+            byType.remove(car, slot);
+            byModel.remove(car, slot);
+            forgetName(colorNames, byColor, car.getColor());
+            forgetName(typeNames, byType, car.getType());
+            forgetName(modelNames, byModel, car.getModel());
+        }
+    }
+
+    /**
+     * @param source Reads all cars when the index is seeded
+     */
+    public InventoryFilterIndex(DAO<Car, String> source) {
+        super(source, new Contents());
+    }
+
+    @Override
+    protected Contents build(Iterator<Car> rows) {
+        Contents built = new Contents();
+        while (rows.hasNext()) {
+            built.put(rows.next());
+        }
+        return built;
+    }
+
+    @Override
+    protected void put(Contents contents, Car car) {
+        contents.put(car);
+    }
+
+    @Override
+    protected void remove(Contents contents, Car car) {
+        contents.remove(car.getId());
+    }
+
+    @Override
+    protected int size(Contents contents) {
+        return contents.slotById.size();
+    }
+
+    /**
+     * @return Every car in the index
+     */
+    public synchronized List<Car> getAll() {
+        return contents().getAll();
+    }
+
+    /**
+     * @return The distinct colors in stock, sorted, as spelt in the first car seen with each
+     */
+    public synchronized List<String> getColors() {
+        return contents().getColors();
+    }
+
+    /**
+     * @return The distinct body types in stock, sorted
+     */
+    public synchronized List<String> getTypes() {
+        return contents().getTypes();
+    }
+
+    /**
+     * @return The distinct models in stock, sorted
+     */
+    public synchronized List<String> getModels() {
+        return contents().getModels();
+    }
+
+    /**
+     * Finds the cars matching a filter.
+     *
+     * @param filter The criteria
+     * @return The matching cars, in slot order
+     */
+    public synchronized List<Car> find(CarFilter filter) {
+        return contents().find(filter);
+    }
+
+    /**
+     * Evaluates a filter once and returns a predicate over the result, for a
+     * FilteredList holding cars from {@link #getAll()}. Testing a car is a
+     * map lookup and a bit test, so re-filtering a large table stays cheap.
+     *
+     * @param filter The criteria
+     * @return A predicate that accepts the cars that matched when it was created
+     */
+    public synchronized Predicate<Car> predicate(CarFilter filter) {
+        return contents().predicate(filter);
+    }
+
+    private static void recordName(Map<String, String> names, String value) {
+        if (value != null && !value.isBlank()) {
+            names.putIfAbsent(value.trim(), value.trim());
+        }
+    }
+
+    private static void forgetName(Map<String, String> names, ValueIndex index, String value) {
+        String key = CarFilter.normalize(value);
+        if (key != null && !index.cars.containsKey(key)) {
+            names.remove(value.trim());
+        }
+    }
+}
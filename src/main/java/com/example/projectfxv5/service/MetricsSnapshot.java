@@ -0,0 +1,83 @@
+package com.example.projectfxv5.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dashboard figures as of one refresh. Immutable, so the UI can read a
+ * snapshot while the next one is being computed.
+ */
+public final class MetricsSnapshot {
+    private final LocalDateTime computedAt;
+    private final int stockCount;
+    private final int unsoldCount;
+    private final double unsoldValue;
+    private final Totals salesToday;
+    private final Totals salesThisMonth;
+    private final String topSellerName;
+    private final Totals topSellerTotals;
+
+    public MetricsSnapshot(LocalDateTime computedAt, int stockCount, int unsoldCount, double unsoldValue,
+                           Totals salesToday, Totals salesThisMonth, String topSellerName, Totals topSellerTotals) {
+        this.computedAt = computedAt;
+        this.stockCount = stockCount;
+        this.unsoldCount = unsoldCount;
+        this.unsoldValue = unsoldValue;
+        this.salesToday = salesToday;
+        this.salesThisMonth = salesThisMonth;
+        this.topSellerName = topSellerName;
+        this.topSellerTotals = topSellerTotals;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    /**
+     * @return The number of cars in the Cars table, sold or not
+     */
+    public int getStockCount() {
+        return stockCount;
+    }
+
+    public int getUnsoldCount() {
+        return unsoldCount;
+    }
+
+    /**
+     * @return The total list price of the unsold cars
+     */
+    public double getUnsoldValue() {
+        return unsoldValue;
+    }
+
+    /**
+     * @return Today's sales, or null if the sales totals were not loaded yet
+     */
+    public Totals getSalesToday() {
+        return salesToday;
+    }
+
+    /**
+     * @return The sales from the first of this month up to today, or null if the sales totals were not loaded yet
+     */
+    public Totals getSalesThisMonth() {
+        return salesThisMonth;
+    }
+
+    /**
+     * @return The name of the employee with the highest sales total, or null if nobody sold anything
+     */
+    public String getTopSellerName() {
+        return topSellerName;
+    }
+
+    public Totals getTopSellerTotals() {
+        return topSellerTotals;
+    }
+
+    @Override
+    public String toString() {
+        return "Stock: " + stockCount + ", Unsold: " + unsoldCount + " (" + unsoldValue + "), Today: " + salesToday
+                + ", This Month: " + salesThisMonth + ", Top Seller: " + topSellerName + " (" + topSellerTotals + ")";
+    }
+}
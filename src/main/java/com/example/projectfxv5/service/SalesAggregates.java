@@ -0,0 +1,368 @@
+package com.example.projectfxv5.service;
+
+import com.example.projectfxv5.DatabaseConfig;
+import com.example.projectfxv5.dao.DAO;
+import com.example.projectfxv5.dao.EntityListener;
+import com.example.projectfxv5.model.Car;
+import com.example.projectfxv5.model.Sale;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running sales totals per employee, per day and per car model.
+ * The totals are built from one scan of the Sales table by {@link #seed()}
+ * and afterwards kept current by listening to SaleDAO, so reading a total
+ * never touches the database. Counts and sums live in primitive arrays;
+ * days are keyed by their epoch day in an open-addressing long map.
+ */
+public class SalesAggregates implements EntityListener<Sale> {
+
+    // Model used when a sale's car cannot be found
+    public static final String UNKNOWN_MODEL = "Unknown";
+
+    private static final String SEED_SQL =
+            "SELECT s.id, s.employeeId, s.amount, s.date, c.model " +
+            "FROM Sales s LEFT JOIN Cars c ON c.id = s.carId";
+
+    private static final long NO_DAY = Long.MIN_VALUE;
+
+    /**
+     * What one sale added to the totals, so it can be taken out again exactly.
+     */
+    private static final class Contribution {
+        final String employeeId;
+        final long epochDay;
+        final String model;
+        final double amount;
+
+        Contribution(String employeeId, long epochDay, String model, double amount) {
+            this.employeeId = employeeId;
+            this.epochDay = epochDay;
+            this.model = model;
+            this.amount = amount;
+        }
+    }
+
+    private final DAO<Car, String> cars;
+    private final Map<String, Contribution> contributions = new HashMap<>();
+    private final KeyedTotals byEmployee = new KeyedTotals();
+    private final KeyedTotals byModel = new KeyedTotals();
+    private final DayTotals byDay = new DayTotals();
+    private long count;
+    private double sum;
+    private boolean seeded;
+
+    /**
+     * @param cars Looks up the model of the car on a new or changed sale
+     */
+    public SalesAggregates(DAO<Car, String> cars) {
+        this.cars = cars;
+    }
+
+    /**
+     * Builds the totals from one scan of the Sales table. Changes reported
+     * while seeding wait until it has finished; changes reported before it
+     * are ignored because the scan already sees them.
+     *
+     * @throws SQLException if a database error occurs
+     */
+    public synchronized void seed() throws SQLException {
+        clear();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SEED_SQL)) {
+
+            while (rs.next()) {
+                String model = rs.getString("model");
+                apply(rs.getString("id"), new Contribution(rs.getString("employeeId"),
+                        epochDay(rs.getString("date")), model != null ? model : UNKNOWN_MODEL,
+                        rs.getDouble("amount")));
+            }
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Database driver not found", e);
+        }
+
+        seeded = true;
+    }
+
+    /**
+     * @return true once {@link #seed()} has completed
+     */
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    @Override
+    public synchronized void added(Sale sale) {
+        if (seeded) {
+            apply(sale.getId(), contributionOf(sale));
+        }
+    }
+
+    @Override
+    public synchronized void updated(Sale before, Sale after) {
+        if (seeded) {
+            revert(after.getId());
+            apply(after.getId(), contributionOf(after));
+        }
+    }
+
+    @Override
+    public synchronized void deleted(Sale sale) {
+        if (seeded) {
+            revert(sale.getId());
+        }
+    }
+
+    /**
+     * @return Count and sum of all sales
+     */
+    public synchronized Totals getOverallTotals() {
+        return new Totals(count, sum);
+    }
+
+    /**
+     * @param employeeId The ID of the employee
+     * @return Count and sum of the employee's sales
+     */
+    public synchronized Totals getEmployeeTotals(String employeeId) {
+        return byEmployee.get(employeeId);
+    }
+
+    /**
+     * @param model The car model, e.g. "Corolla"
+     * @return Count and sum of the sales of that model
+     */
+    public synchronized Totals getModelTotals(String model) {
+        return byModel.get(model);
+    }
+
+    /**
+     * @param day The day
+     * @return Count and sum of the sales on that day
+     */
+    public synchronized Totals getDayTotals(LocalDate day) {
+        return byDay.get(day.toEpochDay());
+    }
+
+    /**
+     * @param from First day of the period, inclusive
+     * @param to Last day of the period, inclusive
+     * @return Count and sum of the sales in the period
+     */
+    public synchronized Totals getPeriodTotals(LocalDate from, LocalDate to) {
+        return byDay.sumRange(from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * @return Totals of every employee with at least one sale recorded
+     */
+    public synchronized Map<String, Totals> getTotalsByEmployee() {
+        return byEmployee.toMap();
+    }
+
+    /**
+     * @return Totals of every car model with at least one sale recorded
+     */
+    public synchronized Map<String, Totals> getTotalsByModel() {
+        return byModel.toMap();
+    }
+
+    private Contribution contributionOf(Sale sale) {
+        String model = UNKNOWN_MODEL;
+        try {
+            Car car = cars.getById(sale.getCarId());
+            if (car != null && car.getModel() != null) {
+                model = car.getModel();
+            }
+        } catch (SQLException e) {
+            System.err.println("Could not look up the model of car " + sale.getCarId() + ": " + e.getMessage());
+        }
+        long day = sale.getDate() != null ? sale.getDate().toEpochDay() : NO_DAY;
+        return new Contribution(sale.getEmployeeId(), day, model, sale.getAmount());
+    }
+
+    private void apply(String saleId, Contribution contribution) {
+        // A sale can be reported again after the seed scan already counted it
+        revert(saleId);
+        contributions.put(saleId, contribution);
+        add(contribution, 1, contribution.amount);
+    }
+
+    private void revert(String saleId) {
+        Contribution previous = contributions.remove(saleId);
+        if (previous != null) {
+            add(previous, -1, -previous.amount);
+        }
+    }
+
+    private void add(Contribution contribution, int countDelta, double amountDelta) {
+        count += countDelta;
+        sum += amountDelta;
+        byEmployee.add(contribution.employeeId, countDelta, amountDelta);
+        byModel.add(contribution.model, countDelta, amountDelta);
+        if (contribution.epochDay != NO_DAY) {
+            byDay.add(contribution.epochDay, countDelta, amountDelta);
+        }
+    }
+
+    private void clear() {
+        contributions.clear();
+        byEmployee.clear();
+        byModel.clear();
+        byDay.clear();
+        count = 0;
+        sum = 0;
+        seeded = false;
+    }
+
+    private static long epochDay(String date) {
+        if (date == null) {
+            return NO_DAY;
+        }
+        try {
+            return LocalDate.parse(date).toEpochDay();
+        } catch (DateTimeParseException e) {
+            // Skip the day totals for dates that are not ISO yyyy-MM-dd
+            return NO_DAY;
+        }
+    }
+
+    /**
+     * Counts and sums per string key. Each key gets a slot in parallel
+     * primitive arrays the first time it is seen.
+     */
+    private static final class KeyedTotals {
+        private final Map<String, Integer> slots = new LinkedHashMap<>();
+        private long[] counts = new long[16];
+        private double[] sums = new double[16];
+
+        void add(String key, int countDelta, double amountDelta) {
+            Integer slot = slots.get(key);
+            if (slot == null) {
+                slot = slots.size();
+                slots.put(key, slot);
+                if (slot == counts.length) {
+                    counts = Arrays.copyOf(counts, slot * 2);
+                    sums = Arrays.copyOf(sums, slot * 2);
+                }
+            }
+            counts[slot] += countDelta;
+            sums[slot] += amountDelta;
+        }
+
+        Totals get(String key) {
+            Integer slot = slots.get(key);
+            return slot == null ? Totals.EMPTY : new Totals(counts[slot], sums[slot]);
+        }
+
+        Map<String, Totals> toMap() {
+            Map<String, Totals> result = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> entry : slots.entrySet()) {
+                int slot = entry.getValue();
+                if (counts[slot] > 0) {
+                    result.put(entry.getKey(), new Totals(counts[slot], sums[slot]));
+                }
+            }
+            return result;
+        }
+
+        void clear() {
+            slots.clear();
+            Arrays.fill(counts, 0);
+            Arrays.fill(sums, 0);
+        }
+    }
+
+    /**
+     * Counts and sums per epoch day in an open-addressing hash table with
+     * linear probing, so day keys are never boxed.
+     */
+    private static final class DayTotals {
+        private long[] keys = newKeys(64);
+        private long[] counts = new long[64];
+        private double[] sums = new double[64];
+        private int size;
+
+        void add(long day, int countDelta, double amountDelta) {
+            int slot = find(day);
+            if (keys[slot] == NO_DAY) {
+                if ((size + 1) * 2 > keys.length) {
+                    grow();
+                    slot = find(day);
+                }
+                keys[slot] = day;
+                size++;
+            }
+            counts[slot] += countDelta;
+            sums[slot] += amountDelta;
+        }
+
+        Totals get(long day) {
+            int slot = find(day);
+            return keys[slot] == NO_DAY ? Totals.EMPTY : new Totals(counts[slot], sums[slot]);
+        }
+
+        Totals sumRange(long from, long to) {
+            long count = 0;
+            double sum = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != NO_DAY && keys[i] >= from && keys[i] <= to) {
+                    count += counts[i];
+                    sum += sums[i];
+                }
+            }
+            return new Totals(count, sum);
+        }
+
+        void clear() {
+            Arrays.fill(keys, NO_DAY);
+            Arrays.fill(counts, 0);
+            Arrays.fill(sums, 0);
+            size = 0;
+        }
+
+        private int find(long day) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(day * 0x9E3779B97F4A7C15L) & mask;
+            while (keys[slot] != NO_DAY && keys[slot] != day) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            double[] oldSums = sums;
+
+            keys = newKeys(oldKeys.length * 2);
+            counts = new long[keys.length];
+            sums = new double[keys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != NO_DAY) {
+                    int slot = find(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                    sums[slot] = oldSums[i];
+                }
+            }
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, NO_DAY);
+            return keys;
+        }
+    }
+}
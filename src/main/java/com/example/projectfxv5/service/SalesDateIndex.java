@@ -0,0 +1,218 @@
+package com.example.projectfxv5.service;
+
+import com.example.projectfxv5.dao.DAO;
+import com.example.projectfxv5.dao.SeededIndex;
+import com.example.projectfxv5.model.Sale;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sales in date order, so a period report reads only the sales in its
+ * period instead of scanning and parsing the whole Sales table.
+ * Dates are held as epoch days in a sorted primitive array next to the
+ * sales themselves; a period is found with two binary searches. Sales
+ * without a date are not indexed. See {@link SeededIndex} for how the index
+ * is built and kept current from SaleDAO.
+ */
+public class SalesDateIndex extends SeededIndex<Sale, SalesDateIndex.Contents> {
+
+    private static final Comparator<Sale> BY_DATE_THEN_ID =
+            Comparator.comparing(Sale::getDate).thenComparing(Sale::getId);
+
+    /**
+     * The dated sales, sorted by day.
+     */
+    static final class Contents {
+        // Parallel arrays sorted by day, then by sale ID within a day
+        private long[] days = new long[64];
+        private Sale[] sales = new Sale[64];
+        private int size;
+        // The day each sale was indexed under, in case the caller changes the Sale object afterwards
+        private final Map<String, Long> dayById = new HashMap<>();
+
+        List<Sale> getSalesBetween(LocalDate from, LocalDate to) {
+            int start = firstAfter(from.toEpochDay() - 1);
+            int end = firstAfter(to.toEpochDay());
+            List<Sale> result = new ArrayList<>(Math.max(0, end - start));
+            for (int i = start; i < end; i++) {
+                result.add(sales[i]);
+            }
+            return result;
+        }
+
+        Totals getTotalsBetween(LocalDate from, LocalDate to) {
+            int start = firstAfter(from.toEpochDay() - 1);
+            int end = firstAfter(to.toEpochDay());
+            double sum = 0;
+            for (int i = start; i < end; i++) {
+                sum += sales[i].getAmount();
+            }
+            return new Totals(Math.max(0, end - start), sum);
+        }
+
+        /**
+         * Appends a sale; the caller adds them in date order.
+         */
+        void append(Sale sale) {
+            long day = sale.getDate().toEpochDay();
+            ensureCapacity(size + 1);
+            days[size] = day;
+            sales[size] = sale;
+            size++;
+            dayById.put(sale.getId(), day);
+        }
+
+        void insert(Sale sale) {
+            if (sale.getDate() == null) {
+                return;
+            }
+            long day = sale.getDate().toEpochDay();
+            int at = firstAfter(day - 1);
+            while (at < size && days[at] == day && sales[at].getId().compareTo(sale.getId()) < 0) {
+                at++;
+            }
+
+            ensureCapacity(size + 1);
+            System.arraycopy(days, at, days, at + 1, size - at);
+            System.arraycopy(sales, at, sales, at + 1, size - at);
+            days[at] = day;
+            sales[at] = sale;
+            size++;
+            dayById.put(sale.getId(), day);
+        }
+
+        void remove(String saleId) {
+            Long day = dayById.remove(saleId);
+            if (day == null) {
+                return;
+            }
+            for (int i = firstAfter(day - 1); i < size && days[i] == day; i++) {
+                if (sales[i].getId().equals(saleId)) {
+                    System.arraycopy(days, i + 1, days, i, size - i - 1);
+                    System.arraycopy(sales, i + 1, sales, i, size - i - 1);
+                    sales[--size] = null;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * @return The position of the first sale later than the given day
+         */
+        private int firstAfter(long day) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity > days.length) {
+                int grown = Math.max(capacity, days.length * 2);
+                days = Arrays.copyOf(days, grown);
+                sales = Arrays.copyOf(sales, grown);
+            }
+        }
+    }
+
+    /**
+     * @param source Reads all sales when the index is seeded
+     */
+    public SalesDateIndex(DAO<Sale, String> source) {
+        super(source, new Contents());
+    }
+
+    @Override
+    protected Contents build(Iterator<Sale> rows) {
+        List<Sale> dated = new ArrayList<>();
+        while (rows.hasNext()) {
+            Sale sale = rows.next();
+            if (sale.getDate() != null) {
+                dated.add(sale);
+            }
+        }
+
+        // Sorted once and appended, rather than inserted one at a time
+        dated.sort(BY_DATE_THEN_ID);
+        Contents built = new Contents();
+        built.ensureCapacity(dated.size());
+        for (Sale sale : dated) {
+            built.append(sale);
+        }
+        return built;
+    }
+
+    @Override
+    protected void put(Contents contents, Sale sale) {
+        contents.remove(sale.getId());
+        contents.insert(sale);
+    }
+
+    @Override
+    protected void remove(Contents contents, Sale sale) {
+        contents.remove(sale.getId());
+    }
+
+    /**
+     * @return The number of dated sales in the contents
+     */
+    @Override
+    protected int size(Contents contents) {
+        return contents.size;
+    }
+
+    /**
+     * @param from First day of the period, inclusive
+     * @param to Last day of the period, inclusive
+     * @return The sales in the period, oldest first
+     */
+    public synchronized List<Sale> getSalesBetween(LocalDate from, LocalDate to) {
+        return contents().getSalesBetween(from, to);
+    }
+
+    /**
+     * @param month The month
+     * @return The sales in the month, oldest first
+     */
+    public List<Sale> getSalesInMonth(YearMonth month) {
+        return getSalesBetween(month.atDay(1), month.atEndOfMonth());
+    }
+
+    /**
+     * @param year The year
+     * @param quarter The quarter, 1 to 4
+     * @return The sales in the quarter, oldest first
+     * @throws IllegalArgumentException if the quarter is not 1 to 4
+     */
+    public List<Sale> getSalesInQuarter(int year, int quarter) {
+        if (quarter < 1 || quarter > 4) {
+            throw new IllegalArgumentException("Quarter must be 1 to 4: " + quarter);
+        }
+        YearMonth first = YearMonth.of(year, (quarter - 1) * 3 + 1);
+        return getSalesBetween(first.atDay(1), first.plusMonths(2).atEndOfMonth());
+    }
+
+    /**
+     * @param from First day of the period, inclusive
+     * @param to Last day of the period, inclusive
+     * @return Count and sum of the sales in the period
+     */
+    public synchronized Totals getTotalsBetween(LocalDate from, LocalDate to) {
+        return contents().getTotalsBetween(from, to);
+    }
+}
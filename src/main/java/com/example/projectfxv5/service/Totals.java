@@ -0,0 +1,36 @@
+package com.example.projectfxv5.service;
+
+/**
+ * A count of sales and the sum of their amounts.
+ */
+public final class Totals {
+    public static final Totals EMPTY = new Totals(0, 0);
+
+    private final long count;
+    private final double sum;
+
+    public Totals(long count, double sum) {
+        this.count = count;
+        this.sum = sum;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * @return The average amount, or 0 if there are no sales
+     */
+    public double getAverage() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    @Override
+    public String toString() {
+        return "Count: " + count + ", Sum: " + sum;
+    }
+}
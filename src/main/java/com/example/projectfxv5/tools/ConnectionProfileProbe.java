@@ -0,0 +1,220 @@
+package com.example.projectfxv5.tools;
+
+import com.example.projectfxv5.DatabaseConfig;
+import com.example.projectfxv5.dao.SaleDAO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares UCanAccess connection profiles on one Access file. Each profile
+ * runs in a fresh JVM, which opens the database through {@link DatabaseConfig}
+ * with the profile's db.ucanaccess.* options and reports:
+ * <ul>
+ *     <li>open: time to the first pooled connection, i.e. loading the mirror</li>
+ *     <li>query: time of the first SaleDAO.getAll</li>
+ *     <li>heap: heap in use after a full GC with the connection open</li>
+ *     <li>closed: heap in use after a full GC once the pool is shut down</li>
+ * </ul>
+ * Profiles are given as comma separated option=value lists; without any,
+ * a standard set is compared. A profile with keepMirror runs twice, the
+ * second time reusing the mirror the first one left behind.
+ *
+ * <pre>
+ * java com.example.projectfxv5.tools.ConnectionProfileProbe --db big.accdb [--xmx 2g] ["memory=false,skipIndexes=true" ...]
+ * </pre>
+ */
+public class ConnectionProfileProbe {
+
+    private static final String CHILD = "--child";
+    private static final String RESULT = "RESULT ";
+
+    /**
+     * The profiles compared when none are given. An empty keepMirror is
+     * filled in with a folder in the system temp directory.
+     */
+    private static final List<String> DEFAULT_PROFILES = List.of(
+            "",
+            "skipIndexes=true",
+            "memory=false",
+            "memory=false,skipIndexes=true",
+            "immediatelyReleaseResources=true",
+            "memory=false,keepMirror=");
+
+    private static double heapUsedMb(MemoryMXBean memory) {
+        memory.gc();
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed() / (1024.0 * 1024.0);
+    }
+
+    /**
+     * Opens the configured database once and prints the measurements on a
+     * single RESULT line for the parent process.
+     */
+    private static void measure() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long start = System.nanoTime();
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.getMetaData();
+        }
+        long open = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int sales = new SaleDAO().getAll().size();
+        long query = System.nanoTime() - start;
+        double heap = heapUsedMb(memory);
+
+        DatabaseConfig.shutdown();
+        double closed = heapUsedMb(memory);
+        System.out.printf("%s%.0f %.0f %.0f %.0f %d%n", RESULT, open / 1e6, query / 1e6, heap, closed, sales);
+    }
+
+    /**
+     * @return The class path for the child JVMs. Under exec:java the app is
+     *         loaded by its own class loader, not from java.class.path.
+     */
+    private static String classpath() throws URISyntaxException {
+        ClassLoader loader = ConnectionProfileProbe.class.getClassLoader();
+        if (loader instanceof URLClassLoader) {
+            List<String> entries = new ArrayList<>();
+            for (URL url : ((URLClassLoader) loader).getURLs()) {
+                entries.add(Paths.get(url.toURI()).toString());
+            }
+            return String.join(File.pathSeparator, entries);
+        }
+        return System.getProperty("java.class.path");
+    }
+
+    private static String run(String java, String classpath, String xmx, String db, String profile)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add("-Xmx" + xmx);
+        command.add("-cp");
+        command.add(classpath);
+        command.add("-Ddb.backend=ucanaccess");
+        command.add("-Ddb.path=" + db);
+        for (String option : profile.split(",")) {
+            if (!option.isBlank()) {
+                int eq = option.indexOf('=');
+                command.add("-Ddb.ucanaccess." + option.substring(0, eq).trim() + "=" + option.substring(eq + 1).trim());
+            }
+        }
+        command.add(ConnectionProfileProbe.class.getName());
+        command.add(CHILD);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String result = null;
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT)) {
+                    result = line.substring(RESULT.length());
+                } else {
+                    output.append(line).append(System.lineSeparator());
+                }
+            }
+        }
+        if (process.waitFor() != 0 || result == null) {
+            System.err.print(output);
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * @return true if every non-blank option of the profile has the form name=value
+     */
+    private static boolean isProfile(String profile) {
+        for (String option : profile.split(",")) {
+            int eq = option.indexOf('=');
+            if (!option.isBlank() && (eq < 0 || option.substring(0, eq).isBlank())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void usage() {
+        System.err.println("Usage: ConnectionProfileProbe --db <file.accdb> [--xmx 2g] [\"option=value,...\" ...]");
+        System.exit(2);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1 && args[0].equals(CHILD)) {
+            measure();
+            System.exit(0);
+        }
+
+        String db = null;
+        String xmx = "2g";
+        List<String> profiles = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--db":
+                    db = i + 1 < args.length ? args[++i] : null;
+                    break;
+                case "--xmx":
+                    if (i + 1 == args.length) {
+                        usage();
+                    }
+                    xmx = args[++i];
+                    break;
+                default:
+                    if (!isProfile(args[i])) {
+                        System.err.println("Malformed option in profile: " + args[i]);
+                        usage();
+                    }
+                    profiles.add(args[i]);
+                    break;
+            }
+        }
+        if (db == null || !Files.exists(Paths.get(db))) {
+            usage();
+        }
+
+        if (profiles.isEmpty()) {
+            profiles.addAll(DEFAULT_PROFILES);
+        }
+        Path mirror = Files.createTempDirectory("ucanaccess-probe");
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = classpath();
+        System.out.printf("%-48s %8s %8s %8s %9s%n", "profile", "open ms", "query ms", "heap MB", "closed MB");
+        for (String profile : profiles) {
+            // An empty keepMirror gets a fresh folder, shown as <temp>
+            String options = profile.endsWith("keepMirror=")
+                    ? profile + mirror.resolve("mirror" + profiles.indexOf(profile)) : profile;
+            int runs = profile.contains("keepMirror") ? 2 : 1;
+            for (int run = 1; run <= runs; run++) {
+                String result = run(java, classpath, xmx, db, options);
+                String label = (profile.isEmpty() ? "(default)" : profile.endsWith("keepMirror=") ? profile + "<temp>" : profile)
+                        + (runs > 1 ? " #" + run : "");
+                if (result == null) {
+                    System.out.printf("%-48s failed%n", label);
+                    continue;
+                }
+                String[] values = result.split(" ");
+                System.out.printf("%-48s %8s %8s %8s %9s%n", label, values[0], values[1], values[2], values[3]);
+            }
+        }
+
+        try (var files = Files.walk(mirror)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+}
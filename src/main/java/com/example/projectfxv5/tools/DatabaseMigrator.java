@@ -0,0 +1,224 @@
+package com.example.projectfxv5.tools;
+
+import com.example.projectfxv5.DatabaseBackend;
+import com.example.projectfxv5.DatabaseConfig;
+import com.example.projectfxv5.dao.DatabaseSchema;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies an Access database into a new native HSQLDB database, so the app
+ * can run with db.backend=hsqldb. The target gets the tables of
+ * {@link DatabaseSchema}; every row of the source is copied and the row
+ * counts of both sides are compared at the end. The source is only read.
+ *
+ * <pre>
+ * java com.example.projectfxv5.tools.DatabaseMigrator [--from file.accdb] [--to database/AutomotiveInventory] [--force]
+ * </pre>
+ * Without --from and --to, db.path and db.hsqldb.path from config.properties are used.
+ */
+public class DatabaseMigrator {
+
+    private static final int BATCH_SIZE = 1000;
+    // The files HSQLDB keeps for a database; a .tmp directory may sit beside them
+    private static final String[] HSQLDB_FILES = {".properties", ".script", ".data", ".log", ".backup", ".lck"};
+
+    private final String source;
+    private final String target;
+
+    /**
+     * @param source The Access file to read
+     * @param target The HSQLDB database to create, as a path without extension
+     */
+    public DatabaseMigrator(String source, String target) {
+        this.source = source;
+        this.target = target;
+    }
+
+    /**
+     * Creates the target database and copies every table into it. If the
+     * copy fails, the partly written target is deleted again.
+     *
+     * @return The number of rows copied per table
+     * @throws IllegalStateException if the target database already exists
+     * @throws SQLException if a database error occurs or the row counts differ afterwards
+     * @throws ClassNotFoundException if a database driver cannot be loaded
+     */
+    public Map<String, Integer> migrate() throws SQLException, ClassNotFoundException {
+        if (exists(target)) {
+            throw new IllegalStateException("An HSQLDB database already exists at " + target);
+        }
+        Class.forName(DatabaseBackend.UCANACCESS.getDriverClass());
+        Class.forName(DatabaseBackend.HSQLDB.getDriverClass());
+
+        Map<String, Integer> copied = new LinkedHashMap<>();
+        boolean complete = false;
+        // shutdown=true closes the database with the connection, so a failed copy can be deleted
+        try (Connection from = DriverManager.getConnection(DatabaseBackend.UCANACCESS.url(source));
+             Connection to = DriverManager.getConnection("jdbc:hsqldb:file:" + target + ";shutdown=true")) {
+            try (Statement stmt = to.createStatement()) {
+                // Cached tables are read from disk on demand, so opening the database does not load every row
+                stmt.execute("SET DATABASE DEFAULT TABLE TYPE CACHED");
+                // Access compares text without regard to case; keep lookups such as the login behaving the same
+                stmt.execute("SET IGNORECASE TRUE");
+                // Write each commit to disk at once, like the Access file, instead of up to half a second later
+                stmt.execute("SET FILES WRITE DELAY FALSE");
+                // Room for a few hundred thousand rows, so whole-table reads come from memory once warm
+                stmt.execute("SET FILES CACHE ROWS 250000");
+                stmt.execute("SET FILES CACHE SIZE 100000");
+            }
+            DatabaseSchema.create(to);
+
+            to.setAutoCommit(false);
+            for (String table : DatabaseSchema.TABLES) {
+                copied.put(table, copyTable(from, to, table));
+            }
+            for (Map.Entry<String, Integer> entry : copied.entrySet()) {
+                int stored = count(to, entry.getKey());
+                if (stored != entry.getValue()) {
+                    throw new SQLException("Copied " + entry.getValue() + " rows of " + entry.getKey()
+                            + " but the new database holds " + stored);
+                }
+            }
+            to.setAutoCommit(true);
+
+            try (Statement stmt = to.createStatement()) {
+                stmt.execute("SHUTDOWN COMPACT");
+            }
+            complete = true;
+        } finally {
+            // Never leave a half-filled database where the app would open it
+            if (!complete) {
+                discard(target);
+            }
+        }
+        return copied;
+    }
+
+    private static int copyTable(Connection from, Connection to, String table) throws SQLException {
+        // Read only the columns the schema knows, so extra columns in the Access file are left behind
+        List<String> columns = new ArrayList<>();
+        try (Statement stmt = to.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM " + table + " WHERE 1 = 0")) {
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                columns.add(meta.getColumnName(i));
+            }
+        }
+        String columnList = String.join(", ", columns);
+        String insert = "INSERT INTO " + table + " (" + columnList + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+
+        int rows = 0;
+        try (Statement select = from.createStatement();
+             ResultSet rs = select.executeQuery("SELECT " + columnList + " FROM " + table);
+             PreparedStatement stmt = to.prepareStatement(insert)) {
+            while (rs.next()) {
+                for (int i = 1; i <= columns.size(); i++) {
+                    stmt.setObject(i, rs.getObject(i));
+                }
+                stmt.addBatch();
+                if (++rows % BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                    to.commit();
+                }
+            }
+            if (rows % BATCH_SIZE != 0) {
+                stmt.executeBatch();
+            }
+            to.commit();
+        }
+        return rows;
+    }
+
+    private static int count(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static boolean exists(String database) {
+        return Files.exists(Paths.get(database + ".properties")) || Files.exists(Paths.get(database + ".script"));
+    }
+
+    private static void delete(String database) throws IOException {
+        for (String suffix : HSQLDB_FILES) {
+            Files.deleteIfExists(Paths.get(database + suffix));
+        }
+        Path temp = Paths.get(database + ".tmp");
+        if (Files.isDirectory(temp)) {
+            try (var files = Files.list(temp)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(temp);
+        }
+    }
+
+    private static void discard(String database) {
+        try {
+            delete(database);
+        } catch (IOException e) {
+            System.err.println("Could not remove the incomplete database at " + database + ": " + e.getMessage());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String from = DatabaseConfig.getDatabasePath(DatabaseBackend.UCANACCESS);
+        String to = DatabaseConfig.getDatabasePath(DatabaseBackend.HSQLDB);
+        boolean force = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--from":
+                    from = args[++i];
+                    break;
+                case "--to":
+                    to = args[++i];
+                    break;
+                case "--force":
+                    force = true;
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Usage: DatabaseMigrator [--from <file.accdb>] [--to <hsqldb path>] [--force]");
+                    System.exit(2);
+            }
+        }
+        if (!Files.exists(Paths.get(from))) {
+            System.err.println("No Access database at " + from);
+            System.exit(1);
+        }
+        if (exists(to)) {
+            if (!force) {
+                System.err.println("An HSQLDB database already exists at " + to + "; use --force to replace it");
+                System.exit(1);
+            }
+            delete(to);
+        }
+
+        long start = System.nanoTime();
+        Map<String, Integer> copied = new DatabaseMigrator(from, to).migrate();
+        copied.forEach((table, rows) -> System.out.printf("%-10s %8d rows%n", table, rows));
+        System.out.printf("Migrated %s to %s in %.1f s. Set db.backend=hsqldb and db.hsqldb.path=%s to use it.%n",
+                from, to, (System.nanoTime() - start) / 1e9, to);
+    }
+}
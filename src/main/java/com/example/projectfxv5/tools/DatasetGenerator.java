@@ -0,0 +1,437 @@
+package com.example.projectfxv5.tools;
+
+import com.example.projectfxv5.dao.DatabaseSchema;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Fills a new Access database with a synthetic dealership at a chosen scale,
+ * for load tests, benchmarks and trying the UI on large data.
+ * The same seed and counts always produce the same database. The data is
+ * skewed the way a real dealership is: a few models make up most of the
+ * stock, a few star salespeople close most of the sales, some customers buy
+ * more than once, and business grows over time with busier weekends.
+ * Rows are written with JDBC batches, one transaction per batch.
+ *
+ * <pre>
+ * java com.example.projectfxv5.tools.DatasetGenerator --out big.accdb --sales 100000 [--seed 42]
+ *      [--cars N] [--customers N] [--employees N] [--force]
+ * </pre>
+ */
+public class DatasetGenerator {
+
+    public static final long DEFAULT_SEED = 42;
+
+    private static final int BATCH_SIZE = 1000;
+    // Sales are spread over the three years up to this day
+    private static final LocalDate LAST_SALE_DAY = LocalDate.of(2025, 6, 30);
+    private static final int SALE_DAYS = 3 * 365;
+
+    /**
+     * A model on sale, with its typical price and body type.
+     */
+    private static final class Model {
+        final String name;
+        final String type;
+        final double basePrice;
+        final double baseWeight;
+
+        Model(String name, String type, double basePrice, double baseWeight) {
+            this.name = name;
+            this.type = type;
+            this.basePrice = basePrice;
+            this.baseWeight = baseWeight;
+        }
+    }
+
+    // Most popular first; popularity falls off along the list
+    private static final Model[] MODELS = {
+            new Model("Toyota Camry", "Sedan", 32000, 1550),
+            new Model("Honda Accord", "Sedan", 31000, 1500),
+            new Model("Toyota RAV4", "SUV", 36000, 1650),
+            new Model("Nissan Altima", "Sedan", 29000, 1480),
+            new Model("Honda CR-V", "SUV", 35000, 1600),
+            new Model("Hyundai Sonata", "Sedan", 28000, 1470),
+            new Model("Ford F-150", "Truck", 48000, 2100),
+            new Model("Chevrolet Malibu", "Sedan", 27000, 1490),
+            new Model("Toyota Corolla", "Hatchback", 24000, 1320),
+            new Model("Lexus ES", "Sedan", 46000, 1680),
+            new Model("BMW 3 Series", "Sedan", 47000, 1600),
+            new Model("Mercedes C-Class", "Sedan", 50000, 1650),
+            new Model("Audi A4", "Sedan", 45000, 1580),
+            new Model("Subaru Outback", "Wagon", 33000, 1700),
+            new Model("Mazda MX-5", "Convertible", 31000, 1080),
+            new Model("Ford Mustang", "Coupe", 38000, 1700),
+            new Model("Toyota Sienna", "Van", 40000, 2000),
+            new Model("Volkswagen Golf", "Hatchback", 26000, 1350),
+    };
+    // Cheapest trim first
+    private static final String[] VARIANTS = {
+            "Base", "LE", "SE", "Sport", "Touring", "XLE", "Limited", "Premium", "Luxury"};
+    // Most common first
+    private static final String[] COLORS = {
+            "White", "Black", "Silver", "Grey", "Blue", "Red", "Green", "Brown", "Orange", "Yellow"};
+    private static final String[] FIRST_NAMES = {
+            "Aiden", "Amelia", "Ava", "Benjamin", "Charlotte", "Daniel", "Emma", "Ethan", "Grace", "Harper",
+            "Hiroshi", "Isabella", "James", "Kenji", "Liam", "Lucas", "Mia", "Noah", "Olivia", "Sakura",
+            "Sophia", "William", "Yuki", "Zoe"};
+    private static final String[] LAST_NAMES = {
+            "Anderson", "Brown", "Davis", "Garcia", "Harris", "Ito", "Jackson", "Johnson", "Jones", "Kato",
+            "Lee", "Martin", "Miller", "Moore", "Sato", "Smith", "Suzuki", "Takahashi", "Tanaka", "Taylor",
+            "Thomas", "White", "Wilson", "Yamamoto"};
+    private static final String[] MAIL_DOMAINS = {
+            "gmail.com", "outlook.com", "icloud.com", "yahoo.com", "protonmail.com"};
+
+    private final long seed;
+    private final int sales;
+    private int cars;
+    private int customers;
+    private int employees;
+
+    /**
+     * Creates a generator for the given number of sales. By default there is
+     * one car per sale plus 10% unsold stock, one customer per 1.25 sales,
+     * and one employee per 2,000 sales (at least 10).
+     *
+     * @param seed The random seed
+     * @param sales The number of sales
+     */
+    public DatasetGenerator(long seed, int sales) {
+        if (sales < 0) {
+            throw new IllegalArgumentException("Number of sales must not be negative: " + sales);
+        }
+        this.seed = seed;
+        this.sales = sales;
+        this.cars = sales + sales / 10 + 10;
+        this.customers = Math.max(20, sales * 4 / 5);
+        this.employees = Math.max(10, sales / 2000);
+    }
+
+    /**
+     * @param cars The number of cars; at least the number of sales, as each sale sells one car
+     * @return This generator
+     */
+    public DatasetGenerator cars(int cars) {
+        if (cars < sales) {
+            throw new IllegalArgumentException("Need at least one car per sale: " + cars + " < " + sales);
+        }
+        this.cars = cars;
+        return this;
+    }
+
+    /**
+     * @param customers The number of customers, at least 1
+     * @return This generator
+     */
+    public DatasetGenerator customers(int customers) {
+        this.customers = requirePositive("customers", customers);
+        return this;
+    }
+
+    /**
+     * @param employees The number of employees, at least 1
+     * @return This generator
+     */
+    public DatasetGenerator employees(int employees) {
+        this.employees = requirePositive("employees", employees);
+        return this;
+    }
+
+    /**
+     * Writes the dataset to a new database file. The file only appears once
+     * it is complete.
+     *
+     * @param file The database to create; must not exist
+     * @throws IOException if the file exists or cannot be written
+     * @throws SQLException if a row cannot be written
+     */
+    public void generate(Path file) throws IOException, SQLException {
+        if (Files.exists(file)) {
+            throw new IOException("File already exists: " + file);
+        }
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        // UCanAccess creates the database itself, so only a free name is reserved here
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".part.accdb");
+        Files.delete(temp);
+
+        boolean done = false;
+        try {
+            try (Connection conn = DriverManager.getConnection(
+                    "jdbc:ucanaccess://" + temp.toAbsolutePath() + ";newdatabaseversion=V2010")) {
+                DatabaseSchema.create(conn);
+                conn.setAutoCommit(false);
+                write(conn);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            done = true;
+        } finally {
+            if (!done) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private void write(Connection conn) throws SQLException {
+        Random random = new Random(seed);
+        double[] carPrices = new double[cars + 1];
+        WeightedPicker modelPicker = new WeightedPicker(MODELS.length, 1.1);
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO Cars (id, model, variant, price, mileage, color, type, weight, numberPlate, "
+                        + "chassisNumber) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= cars; i++) {
+                Model model = MODELS[modelPicker.pick(random)];
+                int variant = random.nextInt(VARIANTS.length);
+                // A third of the stock is new; higher trims cost more and used cars lose value with mileage
+                double mileage = random.nextInt(3) == 0
+                        ? random.nextInt(50)
+                        : Math.round(Math.abs(random.nextGaussian()) * 45000);
+                double price = Math.round(model.basePrice * (1 + variant * 0.06)
+                        * (1 - Math.min(0.5, mileage / 300000)) * (0.9 + random.nextDouble() * 0.2));
+                carPrices[i] = price;
+
+                stmt.setString(1, carId(i));
+                stmt.setString(2, model.name);
+                stmt.setString(3, VARIANTS[variant]);
+                stmt.setDouble(4, price);
+                stmt.setDouble(5, mileage);
+                stmt.setString(6, COLORS[Math.min(COLORS.length - 1, (int) Math.abs(random.nextGaussian() * 3))]);
+                stmt.setString(7, model.type);
+                stmt.setDouble(8, Math.round(model.baseWeight + random.nextGaussian() * 60));
+                stmt.setString(9, String.format("%c%c%c%04d", letter(random), letter(random), letter(random), i % 10000));
+                stmt.setString(10, String.format("CH%07d", i));
+                addToBatch(conn, stmt, i);
+            }
+            finishBatch(conn, stmt, cars);
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO Customers (id, name, phone, email) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= customers; i++) {
+                String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                stmt.setString(1, customerId(i));
+                stmt.setString(2, first + " " + last);
+                stmt.setString(3, String.format("555-%03d-%04d", random.nextInt(1000), random.nextInt(10000)));
+                stmt.setString(4, (first + "." + last + i + "@"
+                        + MAIL_DOMAINS[random.nextInt(MAIL_DOMAINS.length)]).toLowerCase());
+                addToBatch(conn, stmt, i);
+            }
+            finishBatch(conn, stmt, customers);
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO Employees (id, name, salary, commissionRate) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= employees; i++) {
+                stmt.setString(1, employeeId(i));
+                stmt.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                        + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                stmt.setDouble(3, 30000 + random.nextInt(50) * 1000);
+                stmt.setDouble(4, 0.05 + random.nextInt(6) * 0.01);
+                addToBatch(conn, stmt, i);
+            }
+            finishBatch(conn, stmt, employees);
+        }
+
+        // A few star salespeople close most of the sales; which employees they
+        // are is shuffled, so they are not always the first IDs. Buyers are
+        // picked evenly, which still gives a share of repeat customers.
+        WeightedPicker employeePicker = new WeightedPicker(employees, 1.0);
+        int[] employeeOrder = shuffledIds(employees, random);
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO Sales (id, carId, customerId, employeeId, amount, date) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= sales; i++) {
+                stmt.setString(1, String.format("SALE%06d", i));
+                // The first cars are the sold ones; their models are already skewed
+                stmt.setString(2, carId(i));
+                stmt.setString(3, customerId(1 + random.nextInt(customers)));
+                stmt.setString(4, employeeId(employeeOrder[employeePicker.pick(random)]));
+                stmt.setDouble(5, Math.round(carPrices[i] * (0.92 + random.nextDouble() * 0.08) * 100) / 100.0);
+                stmt.setString(6, saleDay(random).toString());
+                addToBatch(conn, stmt, i);
+            }
+            finishBatch(conn, stmt, sales);
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO users (username, password) VALUES (?, ?)")) {
+            stmt.setString(1, "admin");
+            stmt.setString(2, "admin");
+            stmt.executeUpdate();
+            conn.commit();
+        }
+    }
+
+    /**
+     * Picks a sale day. Later days are up to twice as likely as the first,
+     * and weekends half as likely again as weekdays.
+     */
+    private static LocalDate saleDay(Random random) {
+        while (true) {
+            int daysBack = random.nextInt(SALE_DAYS);
+            LocalDate day = LAST_SALE_DAY.minusDays(daysBack);
+            double weight = (2.0 - (double) daysBack / SALE_DAYS) / 2.0;
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                weight *= 1.5;
+            }
+            if (random.nextDouble() * 1.5 < weight) {
+                return day;
+            }
+        }
+    }
+
+    private static int[] shuffledIds(int count, Random random) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    private static void addToBatch(Connection conn, PreparedStatement stmt, int row) throws SQLException {
+        stmt.addBatch();
+        if (row % BATCH_SIZE == 0) {
+            stmt.executeBatch();
+            conn.commit();
+        }
+    }
+
+    private static void finishBatch(Connection conn, PreparedStatement stmt, int rows) throws SQLException {
+        // The driver rejects executing an empty batch
+        if (rows % BATCH_SIZE != 0) {
+            stmt.executeBatch();
+            conn.commit();
+        }
+    }
+
+    private static String carId(int number) {
+        return String.format("CAR%06d", number);
+    }
+
+    private static String customerId(int number) {
+        return String.format("CUS%06d", number);
+    }
+
+    private static String employeeId(int number) {
+        return String.format("EMP%03d", number);
+    }
+
+    private static char letter(Random random) {
+        return (char) ('A' + random.nextInt(26));
+    }
+
+    private static int requirePositive(String what, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Number of " + what + " must be at least 1: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Picks 0 to n-1 with Zipf weights 1/(k+1)^exponent, so the first few
+     * values come up far more often than the rest.
+     */
+    private static final class WeightedPicker {
+        private final double[] cumulative;
+
+        WeightedPicker(int n, double exponent) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int k = 0; k < n; k++) {
+                total += 1 / Math.pow(k + 1, exponent);
+                cumulative[k] = total;
+            }
+        }
+
+        int pick(Random random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int index = Arrays.binarySearch(cumulative, target);
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path out = null;
+        long seed = DEFAULT_SEED;
+        int sales = 10000;
+        Integer cars = null;
+        Integer customers = null;
+        Integer employees = null;
+        boolean force = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out":
+                    out = Paths.get(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--sales":
+                    sales = Integer.parseInt(args[++i]);
+                    break;
+                case "--cars":
+                    cars = Integer.parseInt(args[++i]);
+                    break;
+                case "--customers":
+                    customers = Integer.parseInt(args[++i]);
+                    break;
+                case "--employees":
+                    employees = Integer.parseInt(args[++i]);
+                    break;
+                case "--force":
+                    force = true;
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    out = null;
+                    i = args.length;
+                    break;
+            }
+        }
+        if (out == null) {
+            System.err.println("Usage: DatasetGenerator --out <file.accdb> [--sales N] [--seed N] "
+                    + "[--cars N] [--customers N] [--employees N] [--force]");
+            System.exit(2);
+        }
+
+        DatasetGenerator generator = new DatasetGenerator(seed, sales);
+        if (cars != null) {
+            generator.cars(cars);
+        }
+        if (customers != null) {
+            generator.customers(customers);
+        }
+        if (employees != null) {
+            generator.employees(employees);
+        }
+        if (force) {
+            Files.deleteIfExists(out);
+        }
+
+        long start = System.nanoTime();
+        generator.generate(out);
+        System.out.printf("Wrote %d cars, %d customers, %d employees and %d sales to %s in %.1f s%n",
+                generator.cars, generator.customers, generator.employees, sales, out,
+                (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -2,6 +2,7 @@ module com.example.projectfxv5 {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.sql;
+    requires java.management;
 
     requires org.controlsfx.controls;
     requires com.dlsc.formsfx;
@@ -11,4 +12,6 @@ module com.example.projectfxv5 {
 
     opens com.example.projectfxv5 to javafx.fxml;
     exports com.example.projectfxv5;
+    // DaoMetrics is published as an MXBean, whose interface and data types JMX reads reflectively
+    exports com.example.projectfxv5.dao to java.management;
 }
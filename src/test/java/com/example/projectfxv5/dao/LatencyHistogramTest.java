@@ -0,0 +1,127 @@
+package com.example.projectfxv5.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    private static final double[] PERCENTILES = {1, 10, 50, 90, 95, 99, 99.9, 100};
+
+    /**
+     * @return The duration at the given percentile, by the same rank rule as the histogram
+     */
+    private static long exact(long[] sorted, double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(sorted.length * percentile / 100));
+        return sorted[(int) rank - 1];
+    }
+
+    /**
+     * A reported percentile is never below the true one and at most one
+     * bucket above it: an eighth, or two microseconds for calls under one.
+     */
+    private static void assertWithinBucket(long expected, long reported, String message) {
+        assertTrue(reported >= expected, message + ": " + reported + " < " + expected);
+        assertTrue(reported <= expected + Math.max(expected / 8, 2048),
+                message + ": " + reported + " too far above " + expected);
+    }
+
+    private static void assertPercentiles(long[] durations) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos : durations) {
+            histogram.record(nanos, 1, false);
+        }
+        long[] sorted = durations.clone();
+        Arrays.sort(sorted);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        for (double p : PERCENTILES) {
+            assertWithinBucket(exact(sorted, p), snapshot.percentile(p), "p" + p);
+        }
+        assertEquals(sorted[sorted.length - 1], snapshot.percentile(100));
+    }
+
+    @Test
+    void singleCallIsReportedExactly() {
+        // The percentile is capped by the maximum, so one call reads back as itself
+        for (long nanos = 1; nanos < 10_000_000_000_000L; nanos = nanos * 3 + 7) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(nanos, 0, false);
+            assertEquals(nanos, histogram.snapshot().percentile(50), "duration " + nanos);
+        }
+    }
+
+    @Test
+    void shortCallsStayWithinTheirBucket() {
+        long[] durations = new long[2_000];
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = i * 5;
+        }
+        assertPercentiles(durations);
+    }
+
+    @Test
+    void percentilesStayWithinOneBucketOfTheTruth() {
+        Random random = new Random(3);
+        for (int run = 0; run < 20; run++) {
+            long[] durations = new long[1 + random.nextInt(5_000)];
+            for (int i = 0; i < durations.length; i++) {
+                // Log-uniform from a microsecond to about 15 minutes
+                durations[i] = (long) Math.pow(2, 10 + random.nextDouble() * 40);
+            }
+            assertPercentiles(durations);
+        }
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.count);
+        assertEquals(0, snapshot.percentile(50));
+        assertEquals(0, snapshot.percentile(100));
+    }
+
+    @Test
+    void countsRowsErrorsAndTotals() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_000, 10, false);
+        histogram.record(3_000_000, 0, true);
+        histogram.record(-5, 2, false);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(3, snapshot.count);
+        assertEquals(12, snapshot.rows);
+        assertEquals(1, snapshot.errors);
+        assertEquals(4_000_000, snapshot.totalNanos);
+        assertEquals(3_000_000, snapshot.maxNanos);
+    }
+
+    @Test
+    void intervalHoldsOnlyTheCallsBetweenSnapshots() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) {
+            histogram.record(50_000_000, 1, false);
+        }
+        LatencyHistogram.Snapshot before = histogram.snapshot();
+        long[] later = new long[50];
+        for (int i = 0; i < later.length; i++) {
+            later[i] = 100_000 + i * 1_000;
+            histogram.record(later[i], 2, i == 0);
+        }
+
+        LatencyHistogram.Snapshot interval = histogram.snapshot().since(before);
+        assertEquals(50, interval.count);
+        assertEquals(100, interval.rows);
+        assertEquals(1, interval.errors);
+        // The slow calls before the interval must not raise its percentiles or maximum
+        for (double p : PERCENTILES) {
+            assertWithinBucket(exact(later, p), interval.percentile(p), "p" + p);
+        }
+        assertWithinBucket(later[later.length - 1], interval.maxNanos, "max");
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.projectfxv5.dao;
+
+import com.example.projectfxv5.model.Sale;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SaleDAOTest {
+
+    @BeforeAll
+    static void createDatabase() throws Exception {
+        TestDatabase.create(
+                "CREATE TABLE Cars (id VARCHAR(10) PRIMARY KEY)",
+                "CREATE TABLE Sales (id VARCHAR(10) PRIMARY KEY, carId VARCHAR(10), customerId VARCHAR(10), "
+                        + "employeeId VARCHAR(10), amount DOUBLE, date VARCHAR(10))");
+        TestDatabase.execute("INSERT INTO Cars (id) VALUES ('CAR1')");
+        TestDatabase.execute("INSERT INTO Cars (id) VALUES ('CAR2')");
+    }
+
+    @AfterAll
+    static void dropDatabase() throws Exception {
+        TestDatabase.drop();
+    }
+
+    @AfterEach
+    void emptySales() throws Exception {
+        TestDatabase.execute("DELETE FROM Sales");
+    }
+
+    private static Sale sale(String id, String carId) {
+        return new Sale(id, carId, "CUS1", "EMP1", 20_000, LocalDate.of(2024, 5, 1));
+    }
+
+    @Test
+    void carIsSoldOnlyOnce() throws Exception {
+        SaleDAO sales = new SaleDAO();
+
+        assertTrue(sales.addSaleIfUnsold(sale("SALE01", "CAR1")));
+        assertFalse(sales.addSaleIfUnsold(sale("SALE02", "CAR1")));
+        assertTrue(sales.isCarSold("CAR1"));
+        assertEquals(1, sales.countSales());
+    }
+
+    @Test
+    void sellsNoCarThatIsMissing() throws Exception {
+        assertFalse(new SaleDAO().addSaleIfUnsold(sale("SALE01", "CAR9")));
+    }
+
+    @Test
+    void seesSalesAddedByAnotherDAO() throws Exception {
+        SaleDAO first = new SaleDAO();
+        SaleDAO second = new SaleDAO();
+        // Loads the sold cars before the other DAO's sale
+        assertFalse(second.isCarSold("CAR2"));
+
+        assertTrue(first.addSaleIfUnsold(sale("SALE01", "CAR2")));
+        assertFalse(second.addSaleIfUnsold(sale("SALE02", "CAR2")));
+    }
+
+    @Test
+    void concurrentSalesOfOneCarAddOneRow() throws Exception {
+        SaleDAO sales = new SaleDAO();
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Sale sale = sale(String.format("SALE%02d", i), "CAR1");
+            attempts.add(() -> sales.addSaleIfUnsold(sale));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(attempts.size());
+        int added = 0;
+        try {
+            for (Future<Boolean> attempt : executor.invokeAll(attempts)) {
+                if (attempt.get()) {
+                    added++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, added);
+        assertEquals(1, sales.countSales());
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.projectfxv5.dao;
+
+import com.example.projectfxv5.DatabaseConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the SQL helpers through DatabaseConfig against a new Access file
+ * holding one Items table.
+ */
+class SqlUtilsTest {
+
+    private static final String SELECT = "SELECT id, price FROM Items";
+    private static final Map<String, String> SORT_COLUMNS = Map.of("id", "id", "price", "price");
+
+    /**
+     * One row of the Items table.
+     */
+    private static final class Item {
+        final String id;
+        final Integer price;
+
+        Item(String id, Integer price) {
+            this.id = id;
+            this.price = price;
+        }
+
+        @Override
+        public String toString() {
+            return id + "=" + price;
+        }
+    }
+
+    // Five NULL prices and repeated values, so pages end inside the NULL block and inside ties
+    private static final List<Item> ITEMS = List.of(
+            new Item("I01", 300), new Item("I02", null), new Item("I03", 100), new Item("I04", null),
+            new Item("I05", 200), new Item("I06", 100), new Item("I07", null), new Item("I08", 300),
+            new Item("I09", null), new Item("I10", 200), new Item("I11", null), new Item("I12", 100));
+
+    private static final SqlUtils.StatementBinder<Item> INSERT = (stmt, item) -> {
+        stmt.setString(1, item.id);
+        // UCanAccess cannot infer the type of a null passed to setObject
+        if (item.price == null) {
+            stmt.setNull(2, Types.INTEGER);
+        } else {
+            stmt.setInt(2, item.price);
+        }
+    };
+
+    @BeforeAll
+    static void createDatabase() throws Exception {
+        TestDatabase.create("CREATE TABLE Items (id VARCHAR(10) PRIMARY KEY, price INTEGER)");
+    }
+
+    @AfterAll
+    static void dropDatabase() throws Exception {
+        TestDatabase.drop();
+    }
+
+    @BeforeEach
+    void fillTable() throws Exception {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("INSERT INTO Items (id, price) VALUES (?, ?)")) {
+            for (Item item : ITEMS) {
+                INSERT.bind(stmt, item);
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    @AfterEach
+    void emptyTable() throws Exception {
+        TestDatabase.execute("DELETE FROM Items");
+    }
+
+    private static Page<String> page(Page.Key after, int limit, Sort sort) throws SQLException {
+        return SqlUtils.queryPage(SELECT, "id", SORT_COLUMNS, after, limit, sort, rs -> rs.getString("id"));
+    }
+
+    /**
+     * Follows the next keys from the first page to the last.
+     */
+    private static List<String> allPages(int limit, Sort sort) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        Page.Key after = null;
+        do {
+            Page<String> page = page(after, limit, sort);
+            assertTrue(page.getItems().size() <= limit);
+            ids.addAll(page.getItems());
+            after = page.getNextKey();
+        } while (after != null);
+        return ids;
+    }
+
+    private static List<String> expected(Comparator<Item> order) {
+        return ITEMS.stream().sorted(order).map(item -> item.id).collect(Collectors.toList());
+    }
+
+    @Test
+    void pagesByIdInBothDirections() throws SQLException {
+        List<String> ascending = expected(Comparator.comparing(item -> item.id));
+        List<String> descending = new ArrayList<>(ascending);
+        Collections.reverse(descending);
+
+        assertEquals(ascending, allPages(5, Sort.byId()));
+        assertEquals(descending, allPages(5, Sort.byId().descending()));
+    }
+
+    @Test
+    void ascendingPagesStartWithTheNullsAndBreakTiesById() throws SQLException {
+        List<String> order = expected(Comparator.comparing((Item item) -> item.price,
+                Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(item -> item.id));
+
+        for (int limit = 1; limit <= ITEMS.size() + 1; limit++) {
+            assertEquals(order, allPages(limit, Sort.by("price")), "page size " + limit);
+        }
+    }
+
+    @Test
+    void descendingPagesEndWithTheNullsAndBreakTiesById() throws SQLException {
+        List<String> order = expected(Comparator.comparing((Item item) -> item.price,
+                Comparator.nullsLast(Comparator.<Integer>reverseOrder())).thenComparing(item -> item.id));
+
+        for (int limit = 1; limit <= ITEMS.size() + 1; limit++) {
+            assertEquals(order, allPages(limit, Sort.by("price").descending()), "page size " + limit);
+        }
+    }
+
+    @Test
+    void pageInsideTheNullBlockCarriesANullSortValue() throws SQLException {
+        Page<String> first = page(null, 3, Sort.by("price"));
+
+        assertEquals(List.of("I02", "I04", "I07"), first.getItems());
+        assertTrue(first.hasMore());
+        assertNull(first.getNextKey().getSortValue());
+        assertEquals("I07", first.getNextKey().getId());
+        assertEquals(List.of("I09", "I11", "I03"), page(first.getNextKey(), 3, Sort.by("price")).getItems());
+    }
+
+    @Test
+    void lastPageHasNoNextKey() throws SQLException {
+        Page<String> all = page(null, ITEMS.size(), Sort.by("price"));
+
+        assertEquals(ITEMS.size(), all.getItems().size());
+        assertFalse(all.hasMore());
+        assertNull(all.getNextKey());
+    }
+
+    @Test
+    void rejectsUnknownSortColumnsAndEmptyPages() {
+        assertThrows(IllegalArgumentException.class, () -> page(null, 10, Sort.by("name")));
+        assertThrows(IllegalArgumentException.class, () -> page(null, 0, Sort.byId()));
+    }
+
+    @Test
+    void queryByIdsSkipsMissingDuplicateAndNullIds() throws SQLException {
+        List<String> ids = new ArrayList<>(Arrays.asList("I01", "I02", "I01", null, "X99"));
+        for (int i = 0; i < SqlUtils.IN_CLAUSE_CHUNK_SIZE; i++) {
+            ids.add("Y" + i);
+        }
+        ids.add("I12");
+
+        // The IDs span two chunks, the last one holding only I12
+        Map<String, Item> found = SqlUtils.queryByIds("Items", ids,
+                rs -> new Item(rs.getString("id"), (Integer) rs.getObject("price")), item -> item.id);
+
+        assertEquals(Set.of("I01", "I02", "I12"), found.keySet());
+        assertEquals(300, found.get("I01").price);
+        assertNull(found.get("I02").price);
+        assertTrue(SqlUtils.queryByIds("Items", List.of(), rs -> rs.getString("id"), id -> id).isEmpty());
+    }
+
+    private static List<String> storedIds() throws Exception {
+        List<String> ids = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id FROM Items ORDER BY id")) {
+            while (rs.next()) {
+                ids.add(rs.getString(1));
+            }
+        }
+        return ids;
+    }
+
+    @Test
+    void batchCarriesOnAfterARejectedRow() throws Exception {
+        // The duplicate sits in the middle of the second batch of four
+        List<Item> intake = new ArrayList<>();
+        for (int i = 20; i < 25; i++) {
+            intake.add(new Item("I" + i, i));
+        }
+        intake.add(new Item("I03", 1));
+        for (int i = 25; i < 30; i++) {
+            intake.add(new Item("I" + i, i));
+        }
+
+        BatchResult<Item> result = SqlUtils.executeBatch(
+                "INSERT INTO Items (id, price) VALUES (?, ?)", intake, INSERT);
+
+        assertEquals(10, result.getSuccessCount());
+        assertEquals(1, result.getFailureCount());
+        assertEquals("I03", result.getFailures().get(0).getEntity().id);
+        assertEquals(ITEMS.size() + 10, storedIds().size());
+        assertTrue(storedIds().containsAll(Arrays.asList("I20", "I24", "I25", "I29")));
+    }
+
+    @Test
+    void batchReportsUpdatesThatMatchNothing() throws SQLException {
+        List<Item> updates = List.of(new Item("I01", 1), new Item("X99", 2), new Item("I03", 3));
+
+        BatchResult<Item> result = SqlUtils.executeBatch("UPDATE Items SET price = ? WHERE id = ?", updates,
+                (stmt, item) -> {
+                    stmt.setInt(1, item.price);
+                    stmt.setString(2, item.id);
+                });
+
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(1, result.getFailureCount());
+        BatchResult.Failure<Item> failure = result.getFailures().get(0);
+        assertEquals("X99", failure.getEntity().id);
+        assertEquals("No matching row", failure.getMessage());
+    }
+}
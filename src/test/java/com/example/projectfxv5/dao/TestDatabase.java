@@ -0,0 +1,60 @@
+package com.example.projectfxv5.dao;
+
+import com.example.projectfxv5.DatabaseConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The Access file the test config.properties points db.path at. Each test
+ * class that needs a database creates it with its own tables and drops it
+ * afterwards, so the classes never see each other's rows.
+ */
+final class TestDatabase {
+
+    private static final Path FILE = Paths.get("target", "test-db", "test.accdb");
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Creates a new, empty database file and runs the given statements on it.
+     *
+     * @param ddl The CREATE TABLE statements
+     */
+    static void create(String... ddl) throws Exception {
+        Files.createDirectories(FILE.getParent());
+        Files.deleteIfExists(FILE);
+        Class.forName("net.ucanaccess.jdbc.UcanaccessDriver");
+        try (Connection conn = DriverManager.getConnection(
+                "jdbc:ucanaccess://" + FILE.toAbsolutePath() + ";newDatabaseVersion=V2010");
+             Statement stmt = conn.createStatement()) {
+            for (String sql : ddl) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * Closes the pooled connections and deletes the file.
+     */
+    static void drop() throws Exception {
+        DatabaseConfig.shutdown();
+        Files.deleteIfExists(FILE);
+    }
+
+    /**
+     * Runs one statement through DatabaseConfig, as the DAOs do.
+     */
+    static void execute(String sql) throws SQLException, ClassNotFoundException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
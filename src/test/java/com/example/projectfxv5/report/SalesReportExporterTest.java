@@ -0,0 +1,111 @@
+package com.example.projectfxv5.report;
+
+import com.example.projectfxv5.model.Sale;
+import com.example.projectfxv5.model.SaleView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SalesReportExporterTest {
+
+    @TempDir
+    Path dir;
+
+    private static Stream<SaleView> sales(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> new SaleView(
+                new Sale(String.format("SALE%04d", i), "CAR" + i, "CUS" + i, "EMP1", 1000 + i,
+                        LocalDate.of(2024, 1, 1).plusDays(i % 300)),
+                "Car " + i, "Customer, " + i, "Employee"));
+    }
+
+    /**
+     * Records progress reports and cancels once the given number of rows is written.
+     */
+    private static final class RecordingProgress implements SalesReportExporter.Progress {
+        final List<Long> reports = new ArrayList<>();
+        final long cancelAfter;
+
+        RecordingProgress(long cancelAfter) {
+            this.cancelAfter = cancelAfter;
+        }
+
+        @Override
+        public void rowsWritten(long rowsWritten) {
+            reports.add(rowsWritten);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return !reports.isEmpty() && reports.get(reports.size() - 1) >= cancelAfter;
+        }
+    }
+
+    @Test
+    void exportsMoreRowsThanOneChunkAsCsv() throws IOException {
+        int count = SalesReportExporter.CHUNK_ROWS * 3 + 7;
+        Path file = dir.resolve("sales.csv");
+        RecordingProgress progress = new RecordingProgress(Long.MAX_VALUE);
+
+        long written = new SalesReportExporter(SalesReportExporter.Format.CSV).export(sales(count), file, progress);
+
+        assertEquals(count, written);
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(count + 1, lines.size());
+        assertEquals("ID,Car,Customer,Employee,Amount,Date", lines.get(0));
+        assertEquals("SALE0001,Car 1,\"Customer, 1\",Employee,1001.00,2024-01-02", lines.get(1));
+        assertEquals(List.of(500L, 1000L, 1500L, (long) count), progress.reports);
+    }
+
+    @Test
+    void exportsMoreRowsThanOneChunkAsText() throws IOException {
+        int count = SalesReportExporter.CHUNK_ROWS + 1;
+        Path file = dir.resolve("sales.txt");
+
+        long written = new SalesReportExporter(SalesReportExporter.Format.TXT)
+                .export(sales(count), file, new RecordingProgress(Long.MAX_VALUE));
+
+        assertEquals(count, written);
+        // Header, dashes, then one line per sale
+        assertEquals(count + 2, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void cancellingPartwayLeavesNoFileBehind() throws IOException {
+        Path file = dir.resolve("sales.csv");
+        RecordingProgress progress = new RecordingProgress(SalesReportExporter.CHUNK_ROWS * 2);
+
+        assertThrows(CancellationException.class, () -> new SalesReportExporter(SalesReportExporter.Format.CSV)
+                .export(sales(SalesReportExporter.CHUNK_ROWS * 10), file, progress));
+
+        assertEquals(List.of(500L, 1000L), progress.reports);
+        assertFalse(Files.exists(file));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.findAny().isEmpty(), "temporary file was not removed");
+        }
+    }
+
+    @Test
+    void cancellingKeepsAnExistingReport() throws IOException {
+        Path file = dir.resolve("sales.csv");
+        Files.writeString(file, "previous report");
+
+        assertThrows(CancellationException.class, () -> new SalesReportExporter(SalesReportExporter.Format.CSV)
+                .export(sales(SalesReportExporter.CHUNK_ROWS * 2), file, new RecordingProgress(0)));
+
+        assertEquals("previous report", Files.readString(file));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.projectfxv5.service;
+
+import com.example.projectfxv5.dao.DAO;
+import com.example.projectfxv5.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerSearchIndexTest extends SeededIndexTest<Customer, CustomerSearchIndex> {
+
+    private static final List<Customer> CUSTOMERS = List.of(
+            new Customer("C001", "Ann Lee", "0412 555 123", "ann.lee@example.com"),
+            new Customer("C002", "Annabel Smith", "(02) 9876 5432", "annabel@example.com"),
+            new Customer("C003", "John Annett", "0400 111 222", "jannett@example.com"),
+            new Customer("C004", "Zoë Brown", "0412 999 000", "zoe@example.org"),
+            new Customer("C005", "Brown Annie", null, null));
+
+    @Override
+    List<Customer> rows(Random random) {
+        return CUSTOMERS;
+    }
+
+    @Override
+    CustomerSearchIndex newIndex(DAO<Customer, String> source) {
+        return new CustomerSearchIndex(source);
+    }
+
+    @Override
+    Customer newRow(int number) {
+        return new Customer("C" + number, "Newcomer " + number, null, null);
+    }
+
+    @Override
+    boolean finds(CustomerSearchIndex index, Customer customer) {
+        return index.search(customer.getId(), 10).contains(customer);
+    }
+
+    private List<String> ids(String query, int limit) {
+        return index.search(query, limit).stream().map(Customer::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void wholeWordRanksAbovePrefix() {
+        // "ann" is a whole word of C001 and starts a word of the others
+        List<String> found = ids("ann", 10);
+
+        assertEquals("C001", found.get(0));
+        assertEquals(List.of("C001", "C002", "C005", "C003"), found);
+    }
+
+    @Test
+    void equalMatchesAreAlphabetical() {
+        // Both are whole-word matches on "brown"
+        assertEquals(List.of("C005", "C004"), ids("brown", 10));
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        assertEquals(List.of("C002"), ids("ann smith", 10));
+        assertEquals(List.of("C005"), ids("Annie Brown", 10));
+        assertTrue(ids("ann zzz", 10).isEmpty());
+    }
+
+    @Test
+    void limitKeepsTheBestMatches() {
+        assertEquals(List.of("C001"), ids("ann", 1));
+        assertEquals(List.of("C001", "C002"), ids("ann", 2));
+    }
+
+    @Test
+    void findsByIdIgnoringCase() {
+        assertEquals(List.of("C003"), ids("c003", 10));
+    }
+
+    @Test
+    void findsByStartOrEndOfThePhoneNumberWhateverTheFormatting() {
+        assertEquals(List.of("C001", "C004"), ids("0412", 10));
+        assertEquals(List.of("C001"), ids("(0412) 555", 10));
+        assertEquals(List.of("C002"), ids("5432", 10));
+        // Fewer than three digits is not a phone search
+        assertTrue(ids("04", 10).isEmpty());
+    }
+
+    @Test
+    void findsByEmailPrefix() {
+        assertEquals(List.of("C002"), ids("annabel@ex", 10));
+        assertEquals(List.of("C004"), ids("zoe@", 10));
+    }
+
+    @Test
+    void ignoresAccents() {
+        assertEquals(List.of("C004"), ids("zoe brown", 10));
+        assertEquals(List.of("C004"), ids("ZOË", 10));
+    }
+
+    @Test
+    void typoFindsTheNearestWordBelowExactMatches() {
+        assertEquals(List.of("C003"), ids("jonh", 10));
+        // "smoth" is one edit from "smith"
+        assertEquals(List.of("C002"), ids("smoth", 10));
+        // Two-letter terms are not corrected
+        assertTrue(ids("zz", 10).isEmpty());
+    }
+
+    @Test
+    void blankQueryFindsNothing() {
+        assertTrue(ids("   ", 10).isEmpty());
+        assertTrue(ids(null, 10).isEmpty());
+        assertTrue(ids("ann", 0).isEmpty());
+    }
+
+    @Test
+    void followsAddsUpdatesAndDeletes() {
+        add(new Customer("C006", "Annika Stone", "0499 000 111", null));
+        assertTrue(ids("annika", 10).contains("C006"));
+
+        Customer before = rows.get(0);
+        update(0, new Customer("C001", "Ann Carter", before.getPhone(), before.getEmail()));
+        assertTrue(ids("lee", 10).isEmpty());
+        assertEquals(List.of("C001"), ids("carter", 10));
+
+        delete(rows.get(1));
+        assertTrue(ids("smith", 10).isEmpty());
+        assertEquals(rows.size(), index.size());
+
+        // The freed slot is reused without mixing up the postings
+        add(new Customer("C007", "Sam Smith", null, null));
+        assertEquals(List.of("C007"), ids("smith", 10));
+        assertEquals(List.of("C001"), ids("carter", 10));
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.projectfxv5.service;
+
+import com.example.projectfxv5.dao.DAO;
+import com.example.projectfxv5.model.Car;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryFilterIndexTest extends SeededIndexTest<Car, InventoryFilterIndex> {
+
+    private static final String[] COLORS = {"Red", "Blue", "White", "Black"};
+    private static final String[] TYPES = {"Sedan", "SUV", "Hatch"};
+    private static final String[] MODELS = {"Corolla", "Civic", "Mazda3", "Golf", "Ranger"};
+
+    private static Car car(String id, String model, double price, double mileage, String color, String type,
+                           double weight) {
+        return new Car(id, model, "Base", price, mileage, color, type, weight, "PL" + id, "CH" + id);
+    }
+
+    @Override
+    List<Car> rows(Random random) {
+        // Prices and mileages on a coarse grid, so range bounds often fall on a value shared by several cars
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            cars.add(car(String.format("CAR%04d", i), MODELS[random.nextInt(MODELS.length)],
+                    10_000 + 1_000 * random.nextInt(40), 5_000 * random.nextInt(30),
+                    COLORS[random.nextInt(COLORS.length)], TYPES[random.nextInt(TYPES.length)],
+                    1_000 + 50 * random.nextInt(20)));
+        }
+        return cars;
+    }
+
+    @Override
+    InventoryFilterIndex newIndex(DAO<Car, String> source) {
+        return new InventoryFilterIndex(source);
+    }
+
+    @Override
+    Car newRow(int number) {
+        return car(String.format("CAR%04d", number), "Tesla", 99_500, 0, "Silver", "Sedan", 1_900);
+    }
+
+    @Override
+    boolean finds(InventoryFilterIndex index, Car car) {
+        return index.getAll().contains(car);
+    }
+
+    private static boolean within(double value, Double min, Double max) {
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+
+    private static boolean oneOf(String value, Set<String> values) {
+        return values.isEmpty() || values.contains(value.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * The filter checked car by car, to compare the index against.
+     */
+    private static boolean matches(Car car, CarFilter filter) {
+        return within(car.getPrice(), filter.getMinPrice(), filter.getMaxPrice())
+                && within(car.getMileage(), filter.getMinMileage(), filter.getMaxMileage())
+                && within(car.getWeight(), filter.getMinWeight(), filter.getMaxWeight())
+                && oneOf(car.getColor(), filter.getColors())
+                && oneOf(car.getType(), filter.getTypes())
+                && oneOf(car.getModel(), filter.getModels());
+    }
+
+    private static List<String> ids(List<Car> cars) {
+        return cars.stream().map(Car::getId).sorted().collect(Collectors.toList());
+    }
+
+    private void assertFinds(CarFilter filter) {
+        List<String> expected = ids(rows.stream().filter(car -> matches(car, filter)).collect(Collectors.toList()));
+        assertEquals(expected, ids(index.find(filter)), filter.toString());
+
+        Predicate<Car> predicate = index.predicate(filter);
+        assertEquals(expected, ids(rows.stream().filter(predicate).collect(Collectors.toList())), filter.toString());
+    }
+
+    @Test
+    void anyFilterFindsEveryCar() {
+        assertEquals(rows.size(), index.find(CarFilter.ANY).size());
+        assertEquals(ids(rows), ids(index.getAll()));
+    }
+
+    @Test
+    void rangeBoundsAreInclusive() {
+        assertFinds(CarFilter.ANY.withPrice(20_000.0, 20_000.0));
+        assertFinds(CarFilter.ANY.withPrice(20_000.0, 25_000.0));
+        assertFinds(CarFilter.ANY.withPrice(null, 10_000.0));
+        assertFinds(CarFilter.ANY.withPrice(49_000.0, null));
+        assertFinds(CarFilter.ANY.withMileage(0.0, 0.0));
+        assertFinds(CarFilter.ANY.withWeight(1_200.0, 1_400.0));
+    }
+
+    @Test
+    void rangesBetweenOrOutsideTheValuesFindNothing() {
+        assertTrue(index.find(CarFilter.ANY.withPrice(20_001.0, 20_999.0)).isEmpty());
+        assertTrue(index.find(CarFilter.ANY.withPrice(1_000_000.0, null)).isEmpty());
+        assertTrue(index.find(CarFilter.ANY.withPrice(30_000.0, 20_000.0)).isEmpty());
+    }
+
+    @Test
+    void valuesOfOneAttributeAreAlternatives() {
+        assertFinds(CarFilter.ANY.withColors(List.of("Red")));
+        assertFinds(CarFilter.ANY.withColors(List.of("red", "BLUE")));
+        assertFinds(CarFilter.ANY.withModels(List.of("Golf", "Civic", "Tesla")));
+        assertTrue(index.find(CarFilter.ANY.withTypes(List.of("Van"))).isEmpty());
+    }
+
+    @Test
+    void criteriaAreCombined() {
+        // Few value matches, so the ranges are checked car by car
+        assertFinds(CarFilter.ANY.withColors(List.of("Red")).withTypes(List.of("SUV")).withModels(List.of("Golf"))
+                .withPrice(15_000.0, 35_000.0));
+        // Many value matches and narrow ranges, so the ranges are intersected as bitmaps
+        assertFinds(CarFilter.ANY.withColors(List.of("Red", "Blue", "White")).withPrice(30_000.0, 31_000.0)
+                .withMileage(null, 50_000.0));
+        assertFinds(CarFilter.ANY.withTypes(List.of("Sedan", "Hatch")).withPrice(12_000.0, 40_000.0)
+                .withMileage(20_000.0, 100_000.0).withWeight(1_100.0, 1_800.0));
+    }
+
+    @Test
+    void randomFiltersMatchACarByCarCheck() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            CarFilter filter = CarFilter.ANY;
+            if (random.nextBoolean()) {
+                double min = 10_000 + 1_000 * random.nextInt(40);
+                filter = filter.withPrice(random.nextBoolean() ? min : null, min + 1_000 * random.nextInt(15));
+            }
+            if (random.nextBoolean()) {
+                filter = filter.withMileage(null, 5_000.0 * random.nextInt(30));
+            }
+            if (random.nextInt(4) == 0) {
+                filter = filter.withWeight(1_000.0 + 50 * random.nextInt(20), null);
+            }
+            if (random.nextBoolean()) {
+                filter = filter.withColors(List.of(COLORS[random.nextInt(COLORS.length)],
+                        COLORS[random.nextInt(COLORS.length)]));
+            }
+            if (random.nextInt(3) == 0) {
+                filter = filter.withTypes(List.of(TYPES[random.nextInt(TYPES.length)]));
+            }
+            if (random.nextInt(3) == 0) {
+                filter = filter.withModels(List.of(MODELS[random.nextInt(MODELS.length)]));
+            }
+            assertFinds(filter);
+        }
+    }
+
+    @Test
+    void followsAddsUpdatesAndDeletes() {
+        Car added = newRow(9000);
+        add(added);
+        assertEquals(List.of("CAR9000"), ids(index.find(CarFilter.ANY.withPrice(99_000.0, null))));
+        assertTrue(index.getModels().contains("Tesla"));
+
+        Car before = rows.get(0);
+        Car repriced = car(before.getId(), before.getModel(), 99_900, before.getMileage(), before.getColor(),
+                before.getType(), before.getWeight());
+        update(0, repriced);
+        assertFinds(CarFilter.ANY.withPrice(99_000.0, null));
+        assertFinds(CarFilter.ANY.withPrice(before.getPrice(), before.getPrice()));
+
+        delete(added);
+        assertEquals(List.of(repriced.getId()), ids(index.find(CarFilter.ANY.withPrice(99_000.0, null))));
+        assertFalse(index.getModels().contains("Tesla"));
+        assertFalse(index.predicate(CarFilter.ANY).test(added));
+        assertFinds(CarFilter.ANY.withColors(List.of("Black")).withPrice(null, 30_000.0));
+    }
+
+    @Test
+    void listsDistinctValuesSorted() {
+        assertEquals(List.of("Black", "Blue", "Red", "White"), index.getColors());
+        assertEquals(List.of("Hatch", "Sedan", "SUV"), index.getTypes());
+    }
+}
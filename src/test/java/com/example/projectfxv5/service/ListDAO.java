@@ -0,0 +1,87 @@
+package com.example.projectfxv5.service;
+
+import com.example.projectfxv5.dao.BatchResult;
+import com.example.projectfxv5.dao.DAO;
+import com.example.projectfxv5.dao.Page;
+import com.example.projectfxv5.dao.Sort;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A read-only DAO over a fixed list, for seeding the in-memory indexes
+ * without a database. Only the reads the indexes use are supported.
+ *
+ * @param <T> The entity type
+ */
+final class ListDAO<T> implements DAO<T, String> {
+    private final List<T> entities;
+    private Runnable onScan = () -> { };
+
+    ListDAO(List<T> entities) {
+        this.entities = new ArrayList<>(entities);
+    }
+
+    /**
+     * Runs an action whenever {@link #stream()} has taken its rows but not yet
+     * returned them, as a change made while an index is seeding would.
+     */
+    void onScan(Runnable action) {
+        onScan = action;
+    }
+
+    @Override
+    public List<T> getAll() {
+        return new ArrayList<>(entities);
+    }
+
+    @Override
+    public Stream<T> stream() {
+        Stream<T> rows = new ArrayList<>(entities).stream();
+        onScan.run();
+        return rows;
+    }
+
+    @Override
+    public T getById(String id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Map<String, T> getByIds(Collection<String> ids) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Page<T> getPage(Page.Key after, int limit, Sort sort) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void add(T entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void update(T entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BatchResult<T> addAll(Collection<T> entities) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BatchResult<T> updateAll(Collection<T> entities) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int delete(String id) {
+        throw new UnsupportedOperationException();
+    }
+}
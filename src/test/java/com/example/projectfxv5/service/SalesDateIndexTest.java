@@ -0,0 +1,137 @@
+package com.example.projectfxv5.service;
+
+import com.example.projectfxv5.dao.DAO;
+import com.example.projectfxv5.model.Sale;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SalesDateIndexTest extends SeededIndexTest<Sale, SalesDateIndex> {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private static Sale sale(int number, LocalDate date, double amount) {
+        return new Sale(String.format("SALE%04d", number), "CAR" + number, "CUS1", "EMP1", amount, date);
+    }
+
+    @Override
+    List<Sale> rows(Random random) {
+        // Several sales on most days of 2024, given to the index out of order, and a few without a date
+        List<Sale> sales = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            LocalDate date = i % 100 == 99 ? null : START.plusDays(random.nextInt(366));
+            sales.add(sale(i, date, 1_000 + random.nextInt(50_000)));
+        }
+        return sales;
+    }
+
+    @Override
+    SalesDateIndex newIndex(DAO<Sale, String> source) {
+        return new SalesDateIndex(source);
+    }
+
+    @Override
+    Sale newRow(int number) {
+        return sale(number, START.plusDays(number % 366), 12_345);
+    }
+
+    @Override
+    boolean finds(SalesDateIndex index, Sale sale) {
+        return index.getSalesBetween(sale.getDate(), sale.getDate()).contains(sale);
+    }
+
+    private List<Sale> expected(LocalDate from, LocalDate to) {
+        return rows.stream()
+                .filter(sale -> sale.getDate() != null && !sale.getDate().isBefore(from) && !sale.getDate().isAfter(to))
+                .sorted((a, b) -> a.getDate().equals(b.getDate())
+                        ? a.getId().compareTo(b.getId()) : a.getDate().compareTo(b.getDate()))
+                .collect(Collectors.toList());
+    }
+
+    private void assertPeriod(LocalDate from, LocalDate to) {
+        List<Sale> expected = expected(from, to);
+        assertEquals(expected, index.getSalesBetween(from, to), from + ".." + to);
+
+        Totals totals = index.getTotalsBetween(from, to);
+        assertEquals(expected.size(), totals.getCount(), from + ".." + to);
+        assertEquals(expected.stream().mapToDouble(Sale::getAmount).sum(), totals.getSum(), 0.001, from + ".." + to);
+    }
+
+    @Test
+    void skipsSalesWithoutADate() {
+        assertEquals(990, index.size());
+    }
+
+    @Test
+    void periodsIncludeBothEndDays() {
+        assertPeriod(START, START);
+        assertPeriod(START, START.plusDays(6));
+        assertPeriod(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 1));
+        assertPeriod(LocalDate.of(2024, 12, 31), LocalDate.of(2024, 12, 31));
+        assertPeriod(LocalDate.of(2023, 1, 1), LocalDate.of(2025, 12, 31));
+    }
+
+    @Test
+    void randomPeriodsMatchAFullScan() {
+        Random random = new Random(5);
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = START.plusDays(random.nextInt(380) - 7);
+            assertPeriod(from, from.plusDays(random.nextInt(120)));
+        }
+    }
+
+    @Test
+    void periodsOutsideTheSalesAreEmpty() {
+        assertEquals(0, index.getTotalsBetween(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31)).getCount());
+        assertEquals(0, index.getTotalsBetween(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 5, 1)).getCount());
+        assertEquals(List.of(), index.getSalesBetween(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 5, 1)));
+    }
+
+    @Test
+    void monthsAndQuartersCoverTheirDays() {
+        assertEquals(expected(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)),
+                index.getSalesInMonth(YearMonth.of(2024, 2)));
+        assertEquals(expected(LocalDate.of(2024, 10, 1), LocalDate.of(2024, 12, 31)),
+                index.getSalesInQuarter(2024, 4));
+        assertThrows(IllegalArgumentException.class, () -> index.getSalesInQuarter(2024, 5));
+    }
+
+    @Test
+    void followsAddsUpdatesAndDeletes() {
+        LocalDate day = LocalDate.of(2024, 3, 15);
+        Sale added = sale(5000, day, 12_345);
+        add(added);
+        assertPeriod(day, day);
+
+        // Moved to another day; the index must find it under the day it was filed under
+        Sale before = rows.get(0);
+        update(0, new Sale(before.getId(), before.getCarId(), before.getCustomerId(), before.getEmployeeId(),
+                before.getAmount() + 1, day));
+        assertPeriod(day, day);
+        assertPeriod(START, START.plusDays(365));
+
+        delete(added);
+        assertPeriod(day, day);
+        assertEquals(990, index.size());
+    }
+
+    @Test
+    void deletesASaleWhoseDateChangedAfterItWasIndexed() {
+        Sale sale = rows.get(1);
+        LocalDate filed = sale.getDate();
+        sale.setDate(filed.plusDays(1));
+
+        delete(sale);
+        sale.setDate(filed);
+        assertPeriod(filed, filed);
+        assertEquals(989, index.size());
+    }
+}
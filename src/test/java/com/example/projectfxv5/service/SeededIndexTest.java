@@ -0,0 +1,135 @@
+package com.example.projectfxv5.service;
+
+import com.example.projectfxv5.dao.DAO;
+import com.example.projectfxv5.dao.SeededIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds an index from a list of rows before each test, and checks the
+ * seeding lifecycle every {@link SeededIndex} shares. Subclasses change the
+ * rows through {@link #add}, {@link #update} and {@link #delete}, which tell
+ * the index as the DAO would, and compare the index against the rows.
+ *
+ * @param <T> The entity type
+ * @param <I> The index type
+ */
+abstract class SeededIndexTest<T, I extends SeededIndex<T, ?>> {
+
+    protected List<T> rows;
+    protected ListDAO<T> source;
+    protected I index;
+
+    /**
+     * @param random Fixed-seed source for generated rows
+     * @return The rows the index is seeded with
+     */
+    abstract List<T> rows(Random random);
+
+    abstract I newIndex(DAO<T, String> source);
+
+    /**
+     * @return A row that is not among the seeded ones
+     */
+    abstract T newRow(int number);
+
+    /**
+     * @return true if a query of the index finds the row
+     */
+    abstract boolean finds(I index, T row);
+
+    @BeforeEach
+    void seed() throws SQLException {
+        rows = new ArrayList<>(rows(new Random(42)));
+        source = new ListDAO<>(rows);
+        index = newIndex(source);
+        index.seed();
+    }
+
+    protected void add(T row) {
+        rows.add(row);
+        index.added(row);
+    }
+
+    protected void update(int position, T after) {
+        T before = rows.set(position, after);
+        index.updated(before, after);
+    }
+
+    protected void delete(T row) {
+        rows.remove(row);
+        index.deleted(row);
+    }
+
+    @Test
+    void changesBeforeSeedingAreIgnored() throws SQLException {
+        I fresh = newIndex(source);
+        T early = newRow(9000);
+        fresh.added(early);
+        assertFalse(fresh.isSeeded());
+        fresh.seed();
+
+        assertTrue(fresh.isSeeded());
+        assertEquals(index.size(), fresh.size());
+        assertFalse(finds(fresh, early));
+    }
+
+    @Test
+    void changesDuringASeedAreKept() throws SQLException {
+        I fresh = newIndex(source);
+        T added = newRow(9001);
+        T deleted = rows.get(0);
+        // The scan has already read the rows when the changes arrive
+        source.onScan(() -> {
+            fresh.added(added);
+            fresh.deleted(deleted);
+        });
+        fresh.seed();
+
+        assertTrue(finds(fresh, added));
+        assertFalse(finds(fresh, deleted));
+        assertEquals(index.size(), fresh.size());
+    }
+
+    @Test
+    void queriesDoNotWaitForASeed() throws SQLException {
+        int seeded = index.size();
+        T added = newRow(9002);
+        // Asked from another thread while this one is in the middle of seeding again
+        source.onScan(() -> {
+            assertTrue(index.isSeeded());
+            assertEquals(seeded, assertTimeoutPreemptively(Duration.ofSeconds(5), () -> index.size()));
+            index.added(added);
+        });
+        index.seed();
+
+        assertTrue(finds(index, added));
+        assertEquals(seeded + 1, index.size());
+    }
+
+    @Test
+    void ensureSeededScansOnlyOnce() throws SQLException {
+        AtomicInteger scans = new AtomicInteger();
+        source.onScan(scans::incrementAndGet);
+        index.ensureSeeded();
+        assertEquals(0, scans.get());
+
+        I fresh = newIndex(source);
+        fresh.ensureSeeded();
+        fresh.ensureSeeded();
+        assertEquals(1, scans.get());
+        assertEquals(index.size(), fresh.size());
+    }
+}